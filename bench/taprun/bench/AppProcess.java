@@ -0,0 +1,191 @@
+package taprun.bench;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 부하 테스트용으로 띄운 게임 프로세스(taprun.Main) 하나.
+ * - 표준 입력으로 줄을 보내고, 표준 출력(+에러)은 읽기 스레드가 도착하는 즉시 시각(nanoTime)을 찍어 모아 둔다.
+ * - expect(...)는 커서 이후에 패턴 중 하나가 나타날 때까지 기다렸다가 커서를 그 뒤로 옮긴다(프롬프트 대기).
+ * - find/arrivalNs로 이미 받은 출력에서 특정 문자열이 처음 도착한 시각을 찾는다(프레임 지연 계산용).
+ * - await(...)는 커서와 상관없이 주어진 위치 이후에 패턴이 나타날 때까지 기다린다(다른 스레드가 찍는 줄 대기용).
+ * - 모든 오프셋은 UTF-8 바이트 기준
+ */
+class AppProcess implements AutoCloseable {
+
+    private final Process process;
+    private final OutputStream stdin;
+    private final Thread reader;
+
+    // 받은 출력 전체와, 읽기 묶음마다의 (끝 오프셋, 도착 시각)
+    private byte[] data = new byte[1 << 16];
+    private int length;
+    private int[] chunkEnds = new int[1024];
+    private long[] chunkTimes = new long[1024];
+    private int chunks;
+    private boolean eof;
+
+    private int cursor; // expect가 다음에 찾기 시작할 위치
+    private int matchStart; // 마지막 expect 일치 시작 위치
+
+    AppProcess(List<String> command, Path workDir) throws IOException {
+        process = new ProcessBuilder(command).directory(workDir.toFile()).redirectErrorStream(true).start();
+        stdin = process.getOutputStream();
+        reader = new Thread(() -> readLoop(process.getInputStream()), "load-output");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    private void readLoop(InputStream in) {
+        byte[] chunk = new byte[8192];
+        try {
+            int n;
+            while ((n = in.read(chunk)) > 0) {
+                long now = System.nanoTime();
+                synchronized (this) {
+                    if (length + n > data.length) data = Arrays.copyOf(data, Math.max(length + n, data.length * 2));
+                    System.arraycopy(chunk, 0, data, length, n);
+                    length += n;
+                    if (chunks == chunkEnds.length) {
+                        chunkEnds = Arrays.copyOf(chunkEnds, chunks * 2);
+                        chunkTimes = Arrays.copyOf(chunkTimes, chunks * 2);
+                    }
+                    chunkEnds[chunks] = length;
+                    chunkTimes[chunks] = now;
+                    chunks++;
+                    notifyAll();
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("게임 출력 읽기 실패: " + e.getMessage());
+        } finally {
+            synchronized (this) {
+                eof = true;
+                notifyAll();
+            }
+        }
+    }
+
+    // 한 줄 전송. 쓰기 직전 시각을 반환
+    long send(String line) throws IOException {
+        byte[] bytes = (line + "\n").getBytes(StandardCharsets.UTF_8);
+        long now = System.nanoTime();
+        stdin.write(bytes);
+        stdin.flush();
+        return now;
+    }
+
+    // 커서 이후에 패턴 중 하나가 나타날 때까지 대기. 가장 먼저 나타난 패턴의 번호를 반환하고 커서를 그 뒤로 옮긴다
+    synchronized int expect(long timeoutMs, String... patterns) throws IOException {
+        byte[][] bytes = new byte[patterns.length][];
+        for (int i = 0; i < patterns.length; i++) bytes[i] = patterns[i].getBytes(StandardCharsets.UTF_8);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        while (true) {
+            int best = -1, bestAt = Integer.MAX_VALUE;
+            for (int i = 0; i < bytes.length; i++) {
+                int at = indexOf(bytes[i], cursor, length);
+                if (at >= 0 && at < bestAt) {
+                    best = i;
+                    bestAt = at;
+                }
+            }
+            if (best >= 0) {
+                matchStart = bestAt;
+                cursor = bestAt + bytes[best].length;
+                return best;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (eof || remaining <= 0) {
+                throw new IOException((eof ? "게임이 종료됨" : "시간 초과") + ", 기다린 출력: " + Arrays.toString(patterns)
+                        + "\n--- 마지막 출력 ---\n" + text(Math.max(cursor, length - 1500), length));
+            }
+            try {
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("대기 중단");
+            }
+        }
+    }
+
+    // from 이후에 pattern이 나타날 때까지 대기(커서는 그대로). 나타난 오프셋을 반환
+    synchronized int await(String pattern, int from, long timeoutMs) throws IOException {
+        byte[] bytes = pattern.getBytes(StandardCharsets.UTF_8);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        while (true) {
+            int at = indexOf(bytes, from, length);
+            if (at >= 0) return at;
+            long remaining = deadline - System.nanoTime();
+            if (eof || remaining <= 0) {
+                throw new IOException((eof ? "게임이 종료됨" : "시간 초과") + ", 기다린 출력: " + pattern
+                        + "\n--- 마지막 출력 ---\n" + text(Math.max(from, length - 1500), length));
+            }
+            try {
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("대기 중단");
+            }
+        }
+    }
+
+    synchronized int position() { return cursor; }
+    synchronized int lastMatchStart() { return matchStart; }
+
+    // [from, to) 안에서 pattern이 처음 나타나는 오프셋(to < 0이면 끝까지). 없으면 -1
+    synchronized int find(String pattern, int from, int to) {
+        return indexOf(pattern.getBytes(StandardCharsets.UTF_8), from, to < 0 ? length : to);
+    }
+
+    // offset 바이트가 도착한 시각
+    synchronized long arrivalNs(int offset) {
+        int lo = 0, hi = chunks - 1;
+        while (lo < hi) { // chunkEnds[i] > offset인 첫 묶음
+            int mid = (lo + hi) >>> 1;
+            if (chunkEnds[mid] > offset) hi = mid;
+            else lo = mid + 1;
+        }
+        return chunkTimes[lo];
+    }
+
+    synchronized String text(int from, int to) {
+        return new String(data, from, Math.max(0, to - from), StandardCharsets.UTF_8);
+    }
+
+    private int indexOf(byte[] pattern, int from, int to) {
+        outer:
+        for (int i = from; i <= to - pattern.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (data[i + j] != pattern[j]) continue outer;
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    // 표준 입력을 닫고 종료를 기다린다. 종료 코드 반환(시간 초과면 강제 종료 후 -1)
+    int waitFor(long timeoutMs) throws InterruptedException {
+        try {
+            stdin.close();
+        } catch (IOException e) {
+            System.err.println("게임 입력 닫기 실패: " + e.getMessage());
+        }
+        if (!process.waitFor(timeoutMs, TimeUnit.MILLISECONDS)) {
+            process.destroyForcibly();
+            return -1;
+        }
+        reader.join(1000);
+        return process.exitValue();
+    }
+
+    @Override
+    public void close() {
+        process.destroyForcibly();
+    }
+}
@@ -0,0 +1,31 @@
+package taprun.bench;
+
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import taprun.core.ConsoleInput;
+
+// 읽을 때마다 빈 줄("\n")로 버퍼를 채워 주는 입력(끝없는 연타). stop() 이후에는 끝(-1)
+public class EndlessTaps extends InputStream {
+
+    private volatile boolean stopped;
+
+    @Override
+    public int read() {
+        return stopped ? -1 : '\n';
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+        if (stopped) return -1;
+        Arrays.fill(b, off, off + len, (byte) '\n');
+        return len;
+    }
+
+    // 입력을 끝내고, 가득 찬 링 버퍼에 막혀 있는 입력 스레드를 남은 줄을 비워 풀어 준다
+    public void stop(ConsoleInput input) {
+        stopped = true;
+        while (!input.isClosed()) input.pollTap(100, TimeUnit.MILLISECONDS);
+    }
+}
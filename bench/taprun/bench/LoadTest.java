@@ -0,0 +1,450 @@
+package taprun.bench;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+import taprun.core.Settings;
+
+/*
+ * 끝에서 끝까지(end-to-end) 부하 테스트. taprun.Main을 별도 프로세스로 띄우고 파이프로 메뉴/이름/탭을 보낸다.
+ * - 탭은 정해진 속도와 흔들림 패턴(TapSchedule)으로 보내고, 출력에 해당 탭이 반영된 프레임이 도착한 시각을 찾아
+ *   입력 → 화면 지연을 잰다(같은 프로세스의 nanoTime으로 보낸 시각/받은 시각을 비교).
+ *   파이프 출력이라 게임은 ANSI 대신 매 프레임 전체를 새 줄로 출력하므로 프레임마다 카운터 값이 그대로 보인다.
+ *   · 달리기: 트랙 줄의 "n/20", 몬스터: 상태 줄의 "HP/최대", VsAI: 거리 줄의 "이름: n.00m"
+ * - 누락(dropped): 반영되어야 할 탭 수 - 화면에 나타난 최종 카운터
+ *   병합(merged): 한 번도 화면에 나오지 않고 건너뛴 카운터 값(여러 탭이 한 프레임에 묶임. VsAI는 고정 FPS라 정상)
+ *   VsAI는 보낸 시각에 quiet gap을 적용해 인정될 탭을 예측한다(실제 도착 시각과 달라 1~2개 차이는 날 수 있음).
+ * - 랭킹 저장 시간: 결과 화면 머리줄 → 플레이어별 저장 결과 줄("이름님: ...")까지. 게임은 저장을 기다리지 않고
+ *   결과 줄은 저장이 끝난 뒤 랭킹 스레드가 찍으므로, 메뉴보다 늦게 올 수 있어 이름으로 찾는다.
+ * - 랭킹 파일은 임시 작업 디렉터리에 만든다(--preload로 미리 기록을 채워 큰 랭킹에서의 저장 시간을 볼 수 있음).
+ *
+ * 실행(저장소 루트, ./gradlew jmhClasses로 빌드):
+ *   java -cp build/classes/java/main:build/classes/java/jmh taprun.bench.LoadTest [옵션]
+ *   --modes race,monster,vsai   돌릴 모드(기본 전부)
+ *   --games N                   모드별 판 수(기본 3)
+ *   --rate HZ                   탭 속도(기본 30)
+ *   --pattern P                 steady | uniform | gaussian | burst (기본 uniform)
+ *   --jitter J                  간격 흔들림 비율(기본 0.2)
+ *   --difficulty 1|2|3          VsAI 난이도(기본 3)
+ *   --preload N                 모드별 랭킹 파일에 미리 채울 기록 수(기본 0)
+ *   --seed S                    탭 간격 난수 시드(기본 1)
+ *   --out FILE / --baseline FILE  결과 TSV 저장 / 이전 결과와 비교
+ */
+public class LoadTest {
+
+    private static final long PROMPT_TIMEOUT_MS = 15_000;
+
+    // 모드 하나의 누적 결과
+    private static class ModeStats {
+        final String mode;
+        int games;
+        long sent; // 게임 중 보낸 탭
+        long expected; // 반영되어야 할 탭(VsAI는 quiet gap 예측 후)
+        long counted; // 화면에 나타난 최종 카운터 합
+        long merged;
+        long rejected; // VsAI: quiet gap으로 거부될 것으로 예측된 탭
+        final List<Double> latencyMs = new ArrayList<>();
+        final List<Double> saveMs = new ArrayList<>();
+        final List<Double> gameSec = new ArrayList<>();
+
+        ModeStats(String mode) {
+            this.mode = mode;
+        }
+    }
+
+    private final AppProcess app;
+    private final TapSchedule schedule;
+    private final int difficulty;
+    private int gameNo;
+
+    private LoadTest(AppProcess app, TapSchedule schedule, int difficulty) {
+        this.app = app;
+        this.schedule = schedule;
+        this.difficulty = difficulty;
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> modes = Arrays.asList("race", "monster", "vsai");
+        int games = 3;
+        double rate = 30;
+        TapSchedule.Pattern pattern = TapSchedule.Pattern.UNIFORM;
+        double jitter = 0.2;
+        int difficulty = 3;
+        int preload = 0;
+        long seed = 1;
+        Path out = null;
+        Path baselinePath = null;
+
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : "";
+            switch (args[i]) {
+                case "--modes": modes = Arrays.asList(value.split(",")); i++; break;
+                case "--games": games = Integer.parseInt(value); i++; break;
+                case "--rate": rate = Double.parseDouble(value); i++; break;
+                case "--pattern": pattern = TapSchedule.parsePattern(value); i++; break;
+                case "--jitter": jitter = Double.parseDouble(value); i++; break;
+                case "--difficulty": difficulty = Integer.parseInt(value); i++; break;
+                case "--preload": preload = Integer.parseInt(value); i++; break;
+                case "--seed": seed = Long.parseLong(value); i++; break;
+                case "--out": out = Paths.get(value); i++; break;
+                case "--baseline": baselinePath = Paths.get(value); i++; break;
+                default:
+                    System.err.println("알 수 없는 옵션: " + args[i]);
+                    return;
+            }
+        }
+
+        TapSchedule schedule = new TapSchedule(rate, pattern, jitter, seed);
+        Path workDir = Files.createTempDirectory("taprun-load");
+        if (preload > 0) preloadRankings(workDir, preload);
+
+        List<String> command = Arrays.asList(
+                Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                "-Dfile.encoding=UTF-8", "-cp", absoluteClasspath(), "taprun.Main");
+
+        Map<String, ModeStats> stats = new LinkedHashMap<>();
+        for (String mode : modes) stats.put(mode.trim(), new ModeStats(mode.trim()));
+        double startupMs, shutdownMs;
+        int exitCode;
+        try (AppProcess app = new AppProcess(command, workDir)) {
+            long launched = System.nanoTime();
+            LoadTest test = new LoadTest(app, schedule, difficulty);
+            test.awaitMainMenu();
+            startupMs = (app.arrivalNs(app.lastMatchStart()) - launched) / 1e6;
+
+            for (int g = 0; g < games; g++) {
+                for (ModeStats s : stats.values()) {
+                    long started = System.nanoTime();
+                    switch (s.mode) {
+                        case "race": test.playRace(s); break;
+                        case "monster": test.playMonster(s); break;
+                        case "vsai": test.playVsAi(s); break;
+                        default: throw new IllegalArgumentException("알 수 없는 모드: " + s.mode);
+                    }
+                    s.games++;
+                    s.gameSec.add((System.nanoTime() - started) / 1e9);
+                    test.backToMainMenu();
+                }
+            }
+
+            long quitNs = app.send("5");
+            exitCode = app.waitFor(PROMPT_TIMEOUT_MS);
+            shutdownMs = (System.nanoTime() - quitNs) / 1e6; // 종료 시 랭킹 플러시 포함
+        } finally {
+            deleteTree(workDir);
+        }
+
+        Map<String, String[]> baseline = baselinePath == null ? new HashMap<>() : readTsv(baselinePath);
+        printReport(stats, schedule, preload, startupMs, shutdownMs, exitCode, baseline);
+        if (out != null) {
+            writeTsv(out, stats);
+            System.out.println("\n결과 저장: " + out);
+        }
+    }
+
+    private void playRace(ModeStats s) throws IOException {
+        String tag = nextTag();
+        app.send("1");
+        rollDice();
+        app.expect(PROMPT_TIMEOUT_MS, "이름을 입력하세요: ");
+        app.send(tag + "a");
+        app.expect(PROMPT_TIMEOUT_MS, "이름을 입력하세요: ");
+        app.send(tag + "b");
+
+        int taps = Settings.RACE_TAP_COUNT;
+        for (int turn = 0; turn < 2; turn++) {
+            String key = turn == 0 ? "1" : "2";
+            app.expect(PROMPT_TIMEOUT_MS, "'" + key + "'를 입력한 후 Enter를 누르세요.");
+            app.send(key);
+            app.expect(PROMPT_TIMEOUT_MS, "준비 완료!");
+            int from = app.position();
+            long[] sent = tap(taps, null, from);
+            app.expect(PROMPT_TIMEOUT_MS, "님의 기록: ");
+            collectFrames(s, from, app.lastMatchStart(), v -> "| " + v + "/" + taps, taps, identity(sent.length), sent);
+            s.expected += sent.length;
+        }
+        app.expect(PROMPT_TIMEOUT_MS, "=== 결과 ===");
+        recordSave(s, app.lastMatchStart(), tag + "a", tag + "b");
+    }
+
+    private void playMonster(ModeStats s) throws IOException {
+        String tag = nextTag();
+        app.send("2");
+        rollDice();
+        app.expect(PROMPT_TIMEOUT_MS, "이름을 입력하세요: ");
+        app.send(tag + "a");
+        app.expect(PROMPT_TIMEOUT_MS, "이름을 입력하세요: ");
+        app.send(tag + "b");
+        app.expect(PROMPT_TIMEOUT_MS, "시작하려면 Enter를 누르세요...");
+        app.send("");
+
+        for (int round = 0; round < 3; round++) {
+            for (int turn = 0; turn < 2; turn++) {
+                String key = turn == 0 ? "1" : "2";
+                app.expect(PROMPT_TIMEOUT_MS, "'" + key + "'" + (turn == 0 ? "을" : "를") + " 입력한 후 엔터를 누르세요.");
+                app.send(key);
+                app.expect(PROMPT_TIMEOUT_MS, "(HP: ");
+                int at = app.position();
+                app.expect(PROMPT_TIMEOUT_MS, ")");
+                int hp = Integer.parseInt(app.text(at, app.lastMatchStart()).trim());
+                app.expect(PROMPT_TIMEOUT_MS, "시작하려면 Enter를 누르세요!");
+                app.send("");
+
+                int from = app.position();
+                int taps = (hp + Settings.MONSTER_DAMAGE_PER_HIT - 1) / Settings.MONSTER_DAMAGE_PER_HIT;
+                long[] sent = tap(taps, "시간 초과", from);
+                app.expect(PROMPT_TIMEOUT_MS, "몬스터를 물리쳤습니다", "시간 초과");
+                collectFrames(s, from, app.lastMatchStart(),
+                        v -> " " + Math.max(0, hp - v * Settings.MONSTER_DAMAGE_PER_HIT) + "/" + hp + " |",
+                        taps, identity(sent.length), sent);
+                s.expected += sent.length;
+            }
+            if (round < 2) {
+                app.expect(PROMPT_TIMEOUT_MS, "다음 라운드를 진행하려면 Enter를 누르세요...");
+                app.send("");
+            }
+        }
+        app.expect(PROMPT_TIMEOUT_MS, "경기 결과 요약");
+        int resultAt = app.lastMatchStart();
+        app.expect(PROMPT_TIMEOUT_MS, "1. 메인 메뉴로 돌아가기");
+        // 3경기를 모두 완주한 플레이어만 저장 대상("이름의 3경기 합계 시간")
+        List<String> ranked = new ArrayList<>();
+        for (String name : new String[] {tag + "a", tag + "b"}) {
+            if (app.find(name + "의 3경기 합계 시간", resultAt, app.lastMatchStart()) >= 0) ranked.add(name);
+        }
+        recordSave(s, resultAt, ranked.toArray(new String[0]));
+    }
+
+    private void playVsAi(ModeStats s) throws IOException {
+        String name = nextTag();
+        app.send("3");
+        app.expect(PROMPT_TIMEOUT_MS, "플레이어 이름을 입력하세요: ");
+        app.send(name);
+        app.expect(PROMPT_TIMEOUT_MS, "난이도 번호 입력: ");
+        app.send(String.valueOf(difficulty));
+        app.expect(PROMPT_TIMEOUT_MS, "시작하려면 Enter!");
+        long startNs = app.send("");
+
+        int from = app.position();
+        int steps = (int) Math.round(Settings.VSAI_TRACK_LENGTH_M / Settings.VSAI_STEP_PER_TAP_M);
+        long[] sent = tap(Integer.MAX_VALUE, "=== 결과 ===", from);
+        app.expect(PROMPT_TIMEOUT_MS, "=== 결과 ===");
+        int to = app.lastMatchStart();
+        long resultNs = app.arrivalNs(to);
+
+        // 보낸 시각에 quiet gap을 적용해 몇 번째 탭이 몇 m째 전진이 될지 예측(결과가 나오기 전에 보낸 탭만)
+        long quietGapNs = (long) (Settings.VSAI_QUIET_GAP_SEC * 1_000_000_000L);
+        int[] tapOfStep = new int[steps];
+        int accepted = 0, inGame = 0;
+        long lastAccepted = startNs;
+        for (int i = 0; i < sent.length && sent[i] < resultNs; i++) {
+            inGame++;
+            if (accepted < steps && sent[i] - lastAccepted >= quietGapNs) {
+                tapOfStep[accepted++] = i;
+                lastAccepted = sent[i];
+            }
+        }
+        s.rejected += inGame - accepted;
+        s.expected += accepted;
+        collectFrames(s, from, to, v -> name + ": " + v + ".00m", steps, Arrays.copyOf(tapOfStep, accepted),
+                Arrays.copyOf(sent, inGame));
+        s.sent -= sent.length - inGame; // 결과 뒤에 도착한 탭은 게임 밖
+        app.expect(PROMPT_TIMEOUT_MS, "1. 메인 메뉴로 돌아가기");
+        boolean ranked = app.find("랭킹에 등록되지 않았습니다", to, app.lastMatchStart()) < 0;
+        recordSave(s, to, ranked ? new String[] {name} : new String[0]);
+    }
+
+    private String nextTag() {
+        return "load" + (++gameNo);
+    }
+
+    private void awaitMainMenu() throws IOException {
+        app.expect(PROMPT_TIMEOUT_MS, "5. 게임 종료");
+        app.expect(PROMPT_TIMEOUT_MS, "선택하세요: ");
+    }
+
+    // 게임 뒤 "1. 메인 메뉴로 돌아가기"를 고르고 메인 메뉴 대기
+    private void backToMainMenu() throws IOException {
+        app.expect(PROMPT_TIMEOUT_MS, "선택하세요: ");
+        app.send("1");
+        app.expect(PROMPT_TIMEOUT_MS, "5. 게임 종료");
+        app.expect(PROMPT_TIMEOUT_MS, "선택하세요: ");
+    }
+
+    // 주사위: 동점이면 다시 굴리라는 안내가 반복되므로 선공이 정해질 때까지 Enter
+    private void rollDice() throws IOException {
+        while (app.expect(PROMPT_TIMEOUT_MS, "주사위를 굴리세요: ", "선공입니다!") == 0) app.send("");
+    }
+
+    // 탭을 일정에 맞춰 최대 count번 보낸다. stopPattern이 from 이후에 나타나면 멈춘다. 보낸 시각들을 반환
+    private long[] tap(int count, String stopPattern, int from) throws IOException {
+        long[] sent = new long[64];
+        int n = 0;
+        long due = System.nanoTime();
+        while (n < count) {
+            due += schedule.nextGapNs();
+            long wait;
+            while ((wait = due - System.nanoTime()) > 0) LockSupport.parkNanos(wait);
+            if (stopPattern != null && app.find(stopPattern, from, -1) >= 0) break;
+            if (n == sent.length) sent = Arrays.copyOf(sent, n * 2);
+            sent[n++] = app.send("");
+        }
+        return Arrays.copyOf(sent, n);
+    }
+
+    // [from, to) 출력에서 카운터 1..max가 처음 나타난 프레임을 찾아 지연/병합/누락을 더한다
+    // tapOfValue[v-1] = 카운터 v를 만든 탭의 번호(sent 인덱스)
+    private void collectFrames(ModeStats s, int from, int to, IntFunction<String> frameText, int max,
+            int[] tapOfValue, long[] sent) {
+        int highest = 0, missing = 0;
+        long[] seenNs = new long[max + 1];
+        for (int v = 1; v <= max; v++) {
+            String text = frameText.apply(v);
+            int at = app.find(text, from, to);
+            if (at < 0) {
+                missing++;
+                continue;
+            }
+            highest = v;
+            seenNs[v] = app.arrivalNs(at + text.getBytes(StandardCharsets.UTF_8).length - 1);
+        }
+        for (int v = 1; v <= highest; v++) {
+            if (seenNs[v] == 0 || v > tapOfValue.length) continue;
+            long latency = seenNs[v] - sent[tapOfValue[v - 1]];
+            if (latency >= 0) s.latencyMs.add(latency / 1e6);
+        }
+        s.sent += sent.length;
+        s.counted += highest;
+        s.merged += missing - (max - highest); // 최종값 뒤의(도달하지 못한) 값은 병합이 아님
+    }
+
+    private static int[] identity(int n) {
+        int[] a = new int[n];
+        for (int i = 0; i < n; i++) a[i] = i;
+        return a;
+    }
+
+    // 결과 머리줄 도착 시각부터 플레이어별 저장 결과 줄("이름님: ...")까지. 결과 줄은 랭킹 스레드가 찍어
+    // 메뉴보다 늦게 올 수 있으므로 커서와 상관없이 결과 머리줄 이후에서 기다린다
+    private void recordSave(ModeStats s, int resultAt, String... names) throws IOException {
+        long resultNs = app.arrivalNs(resultAt);
+        for (String name : names) {
+            int at = app.await(name + "님: ", resultAt, PROMPT_TIMEOUT_MS);
+            s.saveMs.add((app.arrivalNs(at) - resultNs) / 1e6);
+        }
+    }
+
+    // 작업 디렉터리의 rankings/에 모드별로 n개씩 기록을 미리 채운다(게임이 쓰는 텍스트 형식 그대로)
+    private static void preloadRankings(Path workDir, int n) throws IOException {
+        Path dir = Files.createDirectories(workDir.resolve("rankings"));
+        String date = "2024-12-22 14:30:52";
+        for (String file : new String[] {"Ranking_RaceMode.txt", "Ranking_MonsterMode.txt", "Ranking_VsAiMode.txt"}) {
+            boolean vsAi = file.contains("VsAi");
+            try (BufferedWriter writer = Files.newBufferedWriter(dir.resolve(file), StandardCharsets.UTF_8)) {
+                if (vsAi) {
+                    writer.write("=== HARD 난이도 랭킹 ===");
+                    writer.newLine();
+                }
+                for (int i = 0; i < n; i++) {
+                    writer.write(String.format(Locale.ROOT, "[%d위] pre%d - %.2f초 (%s)", i + 1, i, 100 + i * 0.01, date));
+                    writer.newLine();
+                }
+            }
+        }
+    }
+
+    // 자식 프로세스는 작업 디렉터리가 다르므로 클래스패스를 절대 경로로 바꾼다
+    private static String absoluteClasspath() {
+        StringBuilder sb = new StringBuilder();
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            if (sb.length() > 0) sb.append(File.pathSeparator);
+            sb.append(Paths.get(entry).toAbsolutePath());
+        }
+        return sb.toString();
+    }
+
+    private static double percentile(List<Double> values, double q) {
+        if (values.isEmpty()) return Double.NaN;
+        double[] sorted = values.stream().mapToDouble(Double::doubleValue).sorted().toArray();
+        int index = (int) Math.ceil(q * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static void printReport(Map<String, ModeStats> stats, TapSchedule schedule, int preload,
+            double startupMs, double shutdownMs, int exitCode, Map<String, String[]> baseline) {
+        System.out.println();
+        System.out.printf("=== 부하 테스트: %s, 미리 채운 기록 %d개 ===%n", schedule, preload);
+        System.out.printf(Locale.ROOT, "시작 %.0fms, 종료(랭킹 플러시 포함) %.0fms, 종료 코드 %d%n%n",
+                startupMs, shutdownMs, exitCode);
+        System.out.printf("%5s %6s %6s %6s %6s %6s | %7s %7s %7s %7s | %7s %7s | %7s  %s%n",
+                "games", "sent", "count", "drop", "merge", "qgap", "p50", "p90", "p99", "max", "save50", "saveMax",
+                "game(s)", "모드 (지연/저장 단위 ms)");
+        for (ModeStats s : stats.values()) {
+            System.out.printf(Locale.ROOT, "%5d %6d %6d %6d %6d %6d | %7.1f %7.1f %7.1f %7.1f | %7.1f %7.1f | %7.2f  %s%s%n",
+                    s.games, s.sent, s.counted, s.expected - s.counted, s.merged, s.rejected,
+                    percentile(s.latencyMs, 0.50), percentile(s.latencyMs, 0.90), percentile(s.latencyMs, 0.99),
+                    percentile(s.latencyMs, 1.0), percentile(s.saveMs, 0.50), percentile(s.saveMs, 1.0),
+                    percentile(s.gameSec, 0.50), s.mode, compare(s, baseline.get(s.mode)));
+        }
+    }
+
+    // 기준선 대비 지연 p99/저장 p50 변화(기준선에 없으면 빈 문자열)
+    private static String compare(ModeStats s, String[] base) {
+        if (base == null) return "";
+        return String.format(Locale.ROOT, "  (기준 대비 지연 p99 %+.1fms, 저장 p50 %+.1fms, 누락 %+d)",
+                percentile(s.latencyMs, 0.99) - Double.parseDouble(base[10]),
+                percentile(s.saveMs, 0.50) - Double.parseDouble(base[12]),
+                (s.expected - s.counted) - Long.parseLong(base[5]));
+    }
+
+    private static final String TSV_HEADER = "mode\tgames\tsent\texpected\tcounted\tdropped\tmerged\trejected"
+            + "\tlat_p50_ms\tlat_p90_ms\tlat_p99_ms\tlat_max_ms\tsave_p50_ms\tsave_max_ms\tgame_p50_sec";
+
+    private static void writeTsv(Path file, Map<String, ModeStats> stats) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(TSV_HEADER);
+            writer.newLine();
+            for (ModeStats s : stats.values()) {
+                writer.write(String.format(Locale.ROOT, "%s\t%d\t%d\t%d\t%d\t%d\t%d\t%d\t%.3f\t%.3f\t%.3f\t%.3f\t%.3f\t%.3f\t%.3f",
+                        s.mode, s.games, s.sent, s.expected, s.counted, s.expected - s.counted, s.merged, s.rejected,
+                        percentile(s.latencyMs, 0.50), percentile(s.latencyMs, 0.90), percentile(s.latencyMs, 0.99),
+                        percentile(s.latencyMs, 1.0), percentile(s.saveMs, 0.50), percentile(s.saveMs, 1.0),
+                        percentile(s.gameSec, 0.50)));
+                writer.newLine();
+            }
+        }
+    }
+
+    // 모드 → TSV 한 줄의 열들
+    private static Map<String, String[]> readTsv(Path file) throws IOException {
+        Map<String, String[]> rows = new HashMap<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            String[] cols = line.split("\t");
+            if (cols.length < 16 || line.startsWith("mode\t")) continue;
+            rows.put(cols[0], cols);
+        }
+        return rows;
+    }
+
+    private static void deleteTree(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+}
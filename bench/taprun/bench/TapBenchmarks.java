@@ -0,0 +1,95 @@
+package taprun.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import taprun.core.ConsoleInput;
+import taprun.engine.VsAiEngine;
+
+/*
+ * 탭 처리 벤치마크(quiet gap 판정 루프). AI 속도(난이도)는 @Param aiTps.
+ * - engine: 엔진만. 미리 정한 간격(quiet gap 앞뒤가 섞임)으로 시각을 만들어 tap() 반복, 경기가 끝나면 다시 시작
+ * - input: 입력 스레드 → 링 버퍼 → pollTap → engine.tap 전체 경로. 입력은 빈 줄을 끝없이 내는 스트림
+ *   (시각은 실제 도착 시각이라 대부분 quiet gap에 걸려 거부된다 — 판정 비용 자체를 재는 목적)
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TapBenchmarks {
+
+    // 탭 간격(ns): quiet gap(60ms) 미만/이상이 섞인 연타
+    private static final long[] GAPS_NS = {
+        40_000_000L, 90_000_000L, 55_000_000L, 120_000_000L, 61_000_000L, 30_000_000L, 75_000_000L, 100_000_000L
+    };
+
+    // 합성 시각으로 엔진만 돌린다
+    @State(Scope.Thread)
+    public static class EngineLoop {
+        @Param({"3.0", "5.0", "9.0"}) // Settings.VSAI_AI_TPS_EASY/NORMAL/HARD
+        public double aiTps;
+
+        VsAiEngine engine;
+        long now;
+        int i;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            engine = new VsAiEngine(aiTps);
+            engine.start(0);
+        }
+    }
+
+    // 입력 스레드가 끝없이 빈 줄을 넣는 실제 입력 경로
+    @State(Scope.Thread)
+    public static class InputLoop {
+        @Param({"3.0", "5.0", "9.0"}) // Settings.VSAI_AI_TPS_EASY/NORMAL/HARD
+        public double aiTps;
+
+        VsAiEngine engine;
+        EndlessTaps taps;
+        ConsoleInput input;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            engine = new VsAiEngine(aiTps);
+            taps = new EndlessTaps();
+            input = new ConsoleInput(taps);
+            engine.start(System.nanoTime());
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            taps.stop(input);
+        }
+    }
+
+    @Benchmark
+    public boolean engine(EngineLoop s) {
+        s.now += GAPS_NS[s.i++ & (GAPS_NS.length - 1)];
+        if (s.engine.isOver() || s.now >= s.engine.deadlineNs()) s.engine.start(s.now);
+        return s.engine.tap(s.now);
+    }
+
+    @Benchmark
+    public boolean input(InputLoop s) {
+        if (!s.input.pollTap(1, TimeUnit.SECONDS)) throw new IllegalStateException("입력이 끊겼습니다.");
+        long tapNs = s.input.lastTimestamp();
+        if (s.engine.isOver() || tapNs >= s.engine.deadlineNs()) s.engine.start(tapNs);
+        return s.engine.tap(tapNs);
+    }
+}
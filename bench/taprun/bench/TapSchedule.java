@@ -0,0 +1,76 @@
+package taprun.bench;
+
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/*
+ * 부하 테스트의 합성 탭 간격(매크로 패드/연타 흉내). 평균 속도는 rateHz로 같고 흔들림 모양만 다르다.
+ * - steady: 일정 간격
+ * - uniform: 간격 × (1 ± jitter) 균등 분포
+ * - gaussian: 간격 × (1 + jitter·N(0,1)), 1ms 미만은 1ms
+ * - burst: 4타를 두 배 속도로 몰아친 뒤 쉬어 평균을 맞춤(묶음 안 간격에도 jitter 적용)
+ */
+class TapSchedule {
+
+    enum Pattern { STEADY, UNIFORM, GAUSSIAN, BURST }
+
+    private static final int BURST_LENGTH = 4;
+    private static final long MIN_GAP_NS = 1_000_000L;
+
+    private final Pattern pattern;
+    private final double periodNs;
+    private final double jitter;
+    private final SplittableRandom random;
+    private int index;
+
+    TapSchedule(double rateHz, Pattern pattern, double jitter, long seed) {
+        if (rateHz <= 0) throw new IllegalArgumentException("탭 속도는 0보다 커야 합니다.");
+        this.pattern = pattern;
+        this.periodNs = 1_000_000_000.0 / rateHz;
+        this.jitter = jitter;
+        this.random = new SplittableRandom(seed);
+    }
+
+    static Pattern parsePattern(String text) {
+        return Pattern.valueOf(text.trim().toUpperCase(Locale.ROOT));
+    }
+
+    // 다음 탭까지의 간격(나노초)
+    long nextGapNs() {
+        double gap;
+        switch (pattern) {
+            case STEADY:
+                gap = periodNs;
+                break;
+            case UNIFORM:
+                gap = periodNs * (1 + jitter * (2 * random.nextDouble() - 1));
+                break;
+            case GAUSSIAN:
+                gap = periodNs * (1 + jitter * gaussian());
+                break;
+            case BURST: {
+                // 묶음 안은 절반 간격, 묶음 사이는 나머지를 한 번에 쉼 → 4타 합계는 steady와 같음
+                boolean lastInBurst = index % BURST_LENGTH == BURST_LENGTH - 1;
+                double base = lastInBurst ? periodNs * (BURST_LENGTH + 1) / 2.0 : periodNs / 2;
+                gap = base * (1 + jitter * (2 * random.nextDouble() - 1));
+                break;
+            }
+            default:
+                throw new IllegalStateException("알 수 없는 패턴: " + pattern);
+        }
+        index++;
+        return Math.max(MIN_GAP_NS, (long) gap);
+    }
+
+    private double gaussian() {
+        double u1 = 1.0 - random.nextDouble();
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%.1f Hz %s, jitter %.2f", 1e9 / periodNs,
+                pattern.name().toLowerCase(Locale.ROOT), jitter);
+    }
+}
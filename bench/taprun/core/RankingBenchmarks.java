@@ -0,0 +1,124 @@
+package taprun.core;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * 랭킹 벤치마크(파일 로드/저장, 상주 보드 업서트). 기록 수는 @Param size.
+ * - 파일은 임시 디렉터리에 만들고 끝나면 지운다(rankings/ 폴더는 건드리지 않음).
+ * - 로드는 실제 경로 그대로 측정한다(RANKING_PARALLEL_LOAD_MIN_BYTES 이상이면 병렬 파서).
+ * - 업서트는 항상 더 좋은 기록으로 들어오는 최악의 경우(정렬 인덱스에서 빼고 맨 앞에 다시 넣기)
+ * - 10⁷건은 기본 목록에서 뺐다(힙 4GB 이상): ./gradlew jmh -Pjmh.includes=Ranking -Pjmh.sizes=10000000
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Xmx4g")
+public class RankingBenchmarks {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2024, 12, 22, 14, 30, 52);
+
+    // 스냅샷 파일 하나(로드/저장 공용)
+    @State(Scope.Thread)
+    public static class RankingFile {
+        @Param({"1000", "10000", "100000", "1000000"})
+        public int size;
+
+        Path dir;
+        Path file;
+        List<RankingManager.RankingEntry> entries;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            dir = Files.createTempDirectory("taprun-bench");
+            file = dir.resolve("Ranking_RaceMode.txt");
+            entries = entries(size);
+            if (!RankingManager.saveRankings(file, entries, false)) throw new IOException("준비 실패");
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            deleteTree(dir);
+        }
+    }
+
+    // 상주 보드(업서트용)
+    @State(Scope.Thread)
+    public static class Board {
+        @Param({"1000", "10000", "100000", "1000000"})
+        public int size;
+
+        Leaderboard board;
+        String[] names;
+        SplittableRandom random;
+        double best;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            List<RankingManager.RankingEntry> list = entries(size);
+            board = new Leaderboard("Ranking_RaceMode.txt", false, list);
+            names = list.stream().map(RankingManager.RankingEntry::getPlayerName).toArray(String[]::new);
+            random = new SplittableRandom(42);
+            best = 100;
+        }
+    }
+
+    @Benchmark
+    public List<RankingManager.RankingEntry> load(RankingFile f) {
+        return RankingManager.loadRankings(f.file, false);
+    }
+
+    @Benchmark
+    public boolean save(RankingFile f) {
+        return RankingManager.saveRankings(f.file, f.entries, false);
+    }
+
+    // 저장 요청 1건 = 기록 객체 1개 생성 + 업서트(게임 종료 시 실제 경로와 같음)
+    @Benchmark
+    public boolean upsert(Board b) {
+        b.best -= 1e-9; // 매번 지금까지의 최고 기록보다 조금 더 빠름
+        String name = b.names[b.random.nextInt(b.size)];
+        return b.board.upsert(new RankingManager.RankingEntry(name, b.best, DATE));
+    }
+
+    // 이름이 모두 다르고 기록이 정렬된 목록(파일에 저장되는 모양 그대로)
+    private static List<RankingManager.RankingEntry> entries(int size) {
+        SplittableRandom random = new SplittableRandom(size);
+        List<RankingManager.RankingEntry> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(new RankingManager.RankingEntry("player" + i, 100 + random.nextDouble() * 100, DATE));
+        }
+        list.sort(Comparator.comparingDouble(RankingManager.RankingEntry::getTime));
+        return list;
+    }
+
+    private static void deleteTree(Path dir) throws IOException {
+        if (dir == null) return;
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+}
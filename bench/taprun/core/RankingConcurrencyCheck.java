@@ -0,0 +1,189 @@
+package taprun.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Stream;
+
+/*
+ * 여러 프로세스가 같은 rankings/ 폴더에 동시에 저장할 때 기록이 사라지지 않는지 검사. 하나라도 빠지면 종료 코드 1.
+ * 1) 저널 회전(결정적 재현): 프로세스 A가 저널을 읽은 뒤, B가 컴팩션(회전 → .old 삭제)하고, C가 새 저널에
+ *    A가 읽었던 위치보다 길게 덧붙인다. A의 readNew는 C의 기록을 모두 돌려줘야 한다(옛 위치로 새 저널 중간부터 읽으면 유실).
+ *    컴팩션이 두 번 연달아 일어나 삭제된 저널의 inode 번호가 새 저널에 다시 쓰이는 경우도 같이 본다.
+ * 2) 다중 프로세스: 프로세스 N개가 RankingManager로 각자 서로 다른 이름의 기록을 저장한다.
+ *    일부는 저장 몇 번마다 flushAll로 컴팩션(전체 저장 모드면 전체 저장)해, 다른 프로세스가 옛 읽기 위치를 들고 있는 동안
+ *    저널이 바뀌게 만든다. 모두 끝난 뒤 스냅샷 + 저널에 모든 이름이 남아 있어야 한다.
+ *    저널/바이너리/전체 저장 모드는 Settings를 따른다(모드별로 바꿔 다시 실행).
+ *
+ * 실행(저장소 루트, ./gradlew jmhClasses로 빌드):
+ *   java -cp build/classes/java/main:build/classes/java/jmh taprun.core.RankingConcurrencyCheck [옵션]
+ *   --processes N   동시에 띄울 프로세스 수(기본 8)
+ *   --saves N       프로세스마다 저장할 기록 수(기본 50)
+ *   --compact N     컴팩션하는 프로세스가 flushAll을 부르는 저장 간격(기본 5, 홀수 번째 프로세스만)
+ */
+public class RankingConcurrencyCheck {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2024, 12, 22, 14, 30, 52);
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("--child")) {
+            child(Integer.parseInt(args[1]), Integer.parseInt(args[2]), Integer.parseInt(args[3]));
+            return;
+        }
+        int processes = 8;
+        int saves = 50;
+        int compact = 5;
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : "";
+            switch (args[i]) {
+                case "--processes": processes = Integer.parseInt(value); i++; break;
+                case "--saves": saves = Integer.parseInt(value); i++; break;
+                case "--compact": compact = Integer.parseInt(value); i++; break;
+                default:
+                    System.err.println("알 수 없는 옵션: " + args[i]);
+                    System.exit(2);
+            }
+        }
+
+        boolean ok = checkRotation();
+        ok &= checkProcesses(processes, saves, compact);
+        if (!ok) {
+            System.out.println("실패: 동시 저장 중 기록이 유실되었습니다.");
+            System.exit(1);
+        }
+    }
+
+    // 1) 저널 회전 뒤 옛 읽기 위치로 새 저널을 읽는 경우
+    private static boolean checkRotation() throws IOException {
+        Path dir = Files.createTempDirectory("taprun-journal");
+        try {
+            Path path = dir.resolve("Ranking_RaceMode.journal");
+            RankingJournal a = new RankingJournal(path);
+            RankingJournal b = new RankingJournal(path);
+            RankingJournal c = new RankingJournal(path);
+
+            a.readAll(false);
+            a.appendAll(entries("a", 5)); // A의 읽기 위치 = 레코드 5줄 뒤
+            boolean ok = true;
+            for (int round = 1; round <= 2; round++) {
+                b.readAll(false);
+                b.rotate();
+                b.completeCompaction(); // B의 컴팩션(스냅샷 쓰기는 이 검사와 무관)
+                c.readAll(false);
+                c.appendAll(entries("c" + round, 20)); // 새 저널이 A의 옛 위치보다 길어진다
+
+                Set<String> seen = names(a.readNew(false));
+                int missing = 0;
+                for (RankingManager.RankingEntry e : entries("c" + round, 20)) {
+                    if (!seen.contains(e.getPlayerName())) missing++;
+                }
+                System.out.printf("저널 회전 %d회 뒤 다른 프로세스의 기록 20건 중 누락 %d건  %s%n",
+                        round, missing, missing == 0 ? "OK" : "유실");
+                ok &= missing == 0;
+            }
+            return ok;
+        } finally {
+            deleteTree(dir);
+        }
+    }
+
+    // 2) 프로세스 여러 개가 같은 폴더에 동시에 저장
+    private static boolean checkProcesses(int processes, int saves, int compact)
+            throws IOException, InterruptedException {
+        Path workDir = Files.createTempDirectory("taprun-ranking");
+        try {
+            List<Process> children = new ArrayList<>();
+            for (int id = 0; id < processes; id++) {
+                int every = id % 2 == 1 ? compact : 0; // 홀수 번째 프로세스만 중간 컴팩션
+                children.add(new ProcessBuilder(
+                        Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                        "-Dfile.encoding=UTF-8", "-cp", absoluteClasspath(), RankingConcurrencyCheck.class.getName(),
+                        "--child", String.valueOf(id), String.valueOf(saves), String.valueOf(every))
+                        .directory(workDir.toFile()).inheritIO().start());
+            }
+            boolean exited = true;
+            for (Process p : children) exited &= p.waitFor() == 0;
+
+            Path rankings = workDir.resolve("rankings");
+            List<RankingManager.RankingEntry> stored = new ArrayList<>();
+            Path binPath = rankings.resolve("Ranking_RaceMode.bin");
+            if (Settings.RANKING_USE_BINARY && Files.exists(binPath)) {
+                stored.addAll(RankingBinaryFile.read(binPath, false));
+            } else {
+                stored.addAll(RankingManager.loadRankings(rankings.resolve("Ranking_RaceMode.txt"), false));
+            }
+            stored.addAll(new RankingJournal(rankings.resolve("Ranking_RaceMode.journal")).readAll(false));
+
+            Set<String> seen = names(stored);
+            int missing = 0;
+            for (int id = 0; id < processes; id++) {
+                for (int i = 0; i < saves; i++) {
+                    if (!seen.contains(name(id, i))) missing++;
+                }
+            }
+            int total = processes * saves;
+            boolean ok = exited && missing == 0;
+            System.out.printf("프로세스 %d개 × 저장 %d건(저널 %s, 바이너리 %s): 남은 기록 %d/%d  %s%n",
+                    processes, saves, Settings.RANKING_USE_JOURNAL, Settings.RANKING_USE_BINARY,
+                    total - missing, total, ok ? "OK" : exited ? "유실" : "자식 프로세스 실패");
+            return ok;
+        } finally {
+            deleteTree(workDir);
+        }
+    }
+
+    // 자식 프로세스: 서로 다른 이름으로 saves건 저장. compactEvery > 0이면 그 간격마다 flushAll(컴팩션/전체 저장)
+    private static void child(int id, int saves, int compactEvery) throws InterruptedException {
+        try {
+            for (int i = 0; i < saves; i++) {
+                RankingManager.saveRaceModeRankingQuiet(name(id, i), 10 + i * 0.01).get();
+                if (compactEvery > 0 && (i + 1) % compactEvery == 0) RankingManager.flushAll();
+            }
+        } catch (ExecutionException e) {
+            System.err.println("랭킹 저장 실패: " + e.getCause().getMessage());
+            System.exit(1);
+        }
+        RankingManager.flushAll();
+    }
+
+    private static String name(int process, int save) {
+        return "p" + process + "-" + save;
+    }
+
+    private static List<RankingManager.RankingEntry> entries(String prefix, int count) {
+        List<RankingManager.RankingEntry> list = new ArrayList<>();
+        for (int i = 0; i < count; i++) list.add(new RankingManager.RankingEntry(prefix + "-" + i, 10 + i, DATE));
+        return list;
+    }
+
+    private static Set<String> names(List<RankingManager.RankingEntry> entries) {
+        Set<String> names = new HashSet<>();
+        for (RankingManager.RankingEntry e : entries) names.add(e.getPlayerName());
+        return names;
+    }
+
+    // 자식 프로세스는 작업 디렉터리가 다르므로 클래스패스를 절대 경로로 바꾼다
+    private static String absoluteClasspath() {
+        StringBuilder sb = new StringBuilder();
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            if (sb.length() > 0) sb.append(File.pathSeparator);
+            sb.append(Paths.get(entry).toAbsolutePath());
+        }
+        return sb.toString();
+    }
+
+    private static void deleteTree(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package taprun.modes;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import taprun.core.ConsoleWriter;
+import taprun.core.Settings;
+
+/*
+ * 화면 문자열 벤치마크.
+ * - buildLane: 레인 한 줄 생성(경기 시작 전 미리 만드는 COLS+1가지 모양 중 하나씩 돌아가며)
+ * - battleStatus: 상태 줄 조립 + 출력(displayBattleStatus와 같은 경로, 출력은 버리는 스트림으로). 몬스터 최대 HP는 @Param maxHp
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class RenderBenchmarks {
+
+    private int pos;
+
+    // 몬스터 상태 줄: 조립용 버퍼와 버리는 출력
+    @State(Scope.Thread)
+    public static class BattleStatus {
+        @Param({"100", "350"})
+        public int maxHp;
+
+        final StringBuilder status = new StringBuilder(96);
+        ConsoleWriter out;
+        int hp;
+
+        @Setup
+        public void setUp() {
+            out = new ConsoleWriter(new PrintStream(OutputStream.nullOutputStream(), false, StandardCharsets.UTF_8),
+                    StandardCharsets.UTF_8);
+            hp = maxHp;
+        }
+    }
+
+    @Benchmark
+    public String buildLane() {
+        pos = (pos + 1) % (Settings.VSAI_TRACK_COLS + 1);
+        boolean finished = pos == Settings.VSAI_TRACK_COLS;
+        return VsAiMode.buildLaneRightToLeft("Player", finished ? 0 : pos, Settings.VSAI_PLAYER_MARK_EMOJI, finished);
+    }
+
+    @Benchmark
+    public int battleStatus(BattleStatus s) {
+        s.hp = s.hp <= 0 ? s.maxHp : s.hp - Settings.MONSTER_DAMAGE_PER_HIT;
+        s.status.setLength(0);
+        MonsterMode.Battle.appendBattleStatus(s.status, "골렘", s.hp, s.maxHp, (s.maxHp - s.hp) * 0.02);
+        s.out.write(s.status);
+        s.out.flush();
+        return s.status.length();
+    }
+}
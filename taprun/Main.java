@@ -3,19 +3,23 @@ package taprun;
 import taprun.modes.MonsterMode;
 import taprun.modes.RaceMode;
 import taprun.modes.VsAiMode;
+import taprun.modes.Warmup;
+import taprun.core.ConsoleInput;
+import taprun.core.Difficulty;
+import taprun.core.Metrics;
 import taprun.core.Settings;
 import taprun.core.RankingManager;
 
 import java.util.InputMismatchException;
-import java.util.Scanner;
 
 public class Main {
 
     public static void main(String[] args) {
 
-    	// 표준 입력용 Scanner 하나를 앱 생명주기 전체에서 재사용
-    	// Scanner를 여러 번 만들면 System.in 버퍼 처리/개행 잔여 문제로 혼란이 생길 수 있음.
-        Scanner scanner = new Scanner(System.in);
+    	// 표준 입력(입력 스레드 + 도착 시각 기록) 하나를 앱 생명주기 전체에서 재사용
+    	// 여러 개를 만들면 System.in 읽기가 엇갈려 입력이 섞일 수 있음.
+        ConsoleInput input = new ConsoleInput(System.in);
+        Warmup.start(); // 메뉴를 보는 동안 백그라운드에서 탭 처리/화면 출력 코드를 미리 컴파일시킨다
 
         Settings settings = new Settings();
         boolean exitRequested = false;
@@ -28,28 +32,29 @@ public class Main {
             System.out.println("3. 대전 모드 (vs AI)");
             System.out.println("4. 랭킹 보기");
             System.out.println("5. 게임 종료");
+            System.out.println("6. 계측 보기");
             System.out.print("선택하세요: ");
 
             int choice = 0;
 
             try {
-                choice = scanner.nextInt();
-                scanner.nextLine(); // 남아있는 개행을 제거
+                choice = input.nextInt(); // 한 줄을 통째로 읽어 해석(개행 잔여 없음)
+                if (choice >= 1 && choice <= 3) Warmup.awaitFinished(); // 게임 타이밍이 예열과 겹치지 않게
 
                 if (choice == 1) { // 달리기 경주 모드
                     RaceMode raceMode = new RaceMode(settings);
-                    // 이 모드 내부에서 엔터 입력을 명확히 받도록 scanner 전달
-                    raceMode.start(scanner);
+                    // 이 모드 내부에서 엔터 입력을 명확히 받도록 입력 전달
+                    raceMode.start(input);
 
                 } else if (choice == 2) { // 몬스터 죽이기 모드
                     MonsterMode monsterMode = new MonsterMode(settings);
-                    monsterMode.start(scanner);
+                    monsterMode.start(input);
 
                 } else if (choice == 3) { // 대전 모드(vs AI)
                     String playerName;
                     while (true) {
                         System.out.print("플레이어 이름을 입력하세요: ");
-                        playerName = scanner.nextLine().trim();
+                        playerName = input.nextLine().trim();
                         if (!playerName.isEmpty()) break;
                         System.out.println("이름은 1자 이상이어야 합니다.");
                     }
@@ -60,8 +65,7 @@ public class Main {
                     while (true) {
                         System.out.print("난이도 번호 입력: ");
                         try {
-                            diffNum = scanner.nextInt();
-                            scanner.nextLine(); // 남아있는 개행을 제거
+                            diffNum = input.nextInt();
                             if (diffNum >= 1 && diffNum <= 3) {
                                 break;
                             } else {
@@ -69,35 +73,36 @@ public class Main {
                             }
                         } catch (InputMismatchException e) { // 숫자가 아닌 입력 방어
                             System.out.println("숫자를 입력해야 합니다.");
-                            scanner.next(); // 잘못된 토큰 소비
                         }
                     }
 
                     // 사용자가 입력한 난이도 번호(1~3)를 열거형 값(EASY/NORMAL/HARD)으로 매핑한다.
-                    VsAiMode.Difficulty difficulty = VsAiMode.Difficulty.EASY;
-                    if (diffNum == 2) difficulty = VsAiMode.Difficulty.NORMAL;
-                    else if (diffNum == 3) difficulty = VsAiMode.Difficulty.HARD;
+                    Difficulty difficulty = Difficulty.EASY;
+                    if (diffNum == 2) difficulty = Difficulty.NORMAL;
+                    else if (diffNum == 3) difficulty = Difficulty.HARD;
 
                     // 모드 시작
                     VsAiMode vsAiMode = new VsAiMode(playerName, difficulty);
-                    vsAiMode.start(scanner);
+                    vsAiMode.start(input);
 
                 } else if (choice == 4) {
-                    showRankingMenu(scanner); // 랭킹 모드
+                    showRankingMenu(input); // 랭킹 모드
 
                 } else if (choice == 5) {
                     System.out.println("게임을 종료합니다."); // 프로그램 종료
                     exitRequested = true;
 
+                } else if (choice == 6) {
+                    Metrics.dump(); // 탭 간격/화면 출력/입력 대기 분포(모드별 누적)
+
                 } else {
                     // 지정된 메뉴 범위 이외의 숫자 처리
-                    System.out.println("잘못된 입력입니다. 1~5 사이의 숫자를 입력해주세요.");
+                    System.out.println("잘못된 입력입니다. 1~6 사이의 숫자를 입력해주세요.");
                 }
 
             } catch (InputMismatchException e) {
                 System.out.println("오류: 숫자를 입력해야 합니다!");
-                scanner.next(); // 잘못된 토큰 소비
-                continue; // 메인 메뉴 재표시
+                continue; // 메인 메뉴 재표시(잘못된 줄은 이미 소비됨)
             }
 
             // 게임 모드(1~3번) 실행이 끝난 뒤 사용자에게 다음 동작을 물어본다.
@@ -108,7 +113,7 @@ public class Main {
                     System.out.println("2. 종료");
                     System.out.print("선택하세요: ");
 
-                    String again = scanner.nextLine();
+                    String again = input.nextLine();
 
                     if (again.trim().equals("1")) {
                         break;
@@ -122,11 +127,12 @@ public class Main {
                 }
             }
         }
-        scanner.close();
+        RankingManager.flushAll(); // 대기 중인 저장 요청과 아직 파일에 내려가지 않은 변경분을 종료 전에 저장
+        input.close(); // 원시 입력 모드였다면 터미널 설정 복구(예외 종료 경로는 셧다운 훅이 복구)
     }
 
     // 랭킹 메뉴
-    private static void showRankingMenu(Scanner scanner) {
+    private static void showRankingMenu(ConsoleInput input) {
 
         while (true) {
             System.out.println("\n==== 랭킹 보기 ====");
@@ -137,8 +143,7 @@ public class Main {
             System.out.print("선택하세요: ");
 
             try {
-                int choice = scanner.nextInt();
-                scanner.nextLine(); // 남아있는 개행을 제거
+                int choice = input.nextInt();
 
                 // 모드별 랭킹 표시
                 if (choice == 1) {
@@ -155,11 +160,10 @@ public class Main {
 
                 // 사용자에게 결과를 확인할 시간을 주기 위한 일시 정지
                 System.out.println("\n계속하려면 Enter를 누르세요...");
-                scanner.nextLine(); // 남아있는 개행을 제거
+                input.nextLine(); // Enter 대기
 
             } catch (InputMismatchException e) {
                 System.out.println("오류: 숫자를 입력해야 합니다!");
-                scanner.next(); // 잘못된 토큰 소비
             }
         }
     }
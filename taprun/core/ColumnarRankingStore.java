@@ -0,0 +1,128 @@
+package taprun.core;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * 랭킹 기록의 열(column) 단위 저장소.
+ * - 기록 1건을 객체로 두지 않고 행 번호(row id)로 여러 원시 배열에 나눠 담는다.
+ *     double[] 기록(초) | long[] 기록 시각(epoch 초) | int[] 이름 ID | long[] 갱신 순번
+ * - 저장소 하나는 난이도 하나만 담는다(Leaderboard 파티션 단위). 난이도는 행마다 두지 않고 toEntry에서 붙인다.
+ * - 이름은 사전(dictionary)으로 한 번만 보관하고 행에는 ID만 저장
+ * - 이름 ID → 행 번호 조회는 원시 int 배열 기반 해시 테이블(오픈 어드레싱)
+ * - RankingEntry 객체는 화면 출력/파일 저장 같은 API 경계에서만 만들어진다(toEntry).
+ */
+public class ColumnarRankingStore {
+
+    private double[] times = new double[16];
+    private long[] epochSeconds = new long[16];
+    private int[] nameIds = new int[16];
+    private long[] seqs = new long[16];
+    private int size;
+
+    private final Map<String, Integer> nameIdByName = new HashMap<>(); // 이름 사전
+    private final List<String> names = new ArrayList<>();
+
+    private int[] slots = new int[32]; // 이름 ID 해시 → 행 번호 + 1 (0 = 빈 칸)
+
+    public int size() { return size; }
+    public double time(int row) { return times[row]; }
+    public String name(int row) { return names.get(nameIds[row]); }
+
+    // 이름으로 행 번호 조회. 없으면 -1 (이름이 사전에 없으면 해시 조회도 생략)
+    public int find(String name) {
+        Integer nameId = nameIdByName.get(name);
+        if (nameId == null) return -1;
+        int mask = slots.length - 1;
+        for (int i = hash(nameId) & mask; slots[i] != 0; i = (i + 1) & mask) {
+            int row = slots[i] - 1;
+            if (nameIds[row] == nameId) return row;
+        }
+        return -1;
+    }
+
+    // 새 행 추가(호출자가 find로 중복이 없음을 확인한 뒤 호출)
+    public int add(String name, double time, LocalDateTime dateTime, long seq) {
+        if (size == times.length) grow();
+        int row = size++;
+        Integer nameId = nameIdByName.get(name);
+        if (nameId == null) {
+            nameId = names.size();
+            names.add(name);
+            nameIdByName.put(name, nameId);
+        }
+        nameIds[row] = nameId;
+        set(row, time, dateTime, seq);
+        if (size * 2 > slots.length) rehash();
+        else insertSlot(row);
+        return row;
+    }
+
+    // 기존 행의 기록 교체(이름은 그대로)
+    public void set(int row, double time, LocalDateTime dateTime, long seq) {
+        times[row] = time;
+        epochSeconds[row] = dateTime.toEpochSecond(ZoneOffset.UTC);
+        seqs[row] = seq;
+    }
+
+    // 정렬 순서: 기록 → 갱신 순번(같은 기록이면 먼저 들어온 행이 앞)
+    public int compare(int a, int b) {
+        int c = Double.compare(times[a], times[b]);
+        if (c != 0) return c;
+        return Long.compare(seqs[a], seqs[b]);
+    }
+
+    // API 경계용 가벼운 객체 뷰. difficulty는 저장소(파티션)의 난이도(난이도 없는 모드는 null)
+    public RankingManager.RankingEntry toEntry(int row, Difficulty difficulty) {
+        LocalDateTime dateTime = LocalDateTime.ofEpochSecond(epochSeconds[row], 0, ZoneOffset.UTC);
+        return difficulty != null
+                ? new RankingManager.RankingEntry(name(row), times[row], difficulty, dateTime)
+                : new RankingManager.RankingEntry(name(row), times[row], dateTime);
+    }
+
+    // 행 번호 배열의 앞 n개를 정렬 순서로 정렬(박싱 없는 병합 정렬, 안정 정렬)
+    public void sortRows(int[] rows, int n) {
+        int[] tmp = new int[n];
+        for (int width = 1; width < n; width *= 2) {
+            for (int lo = 0; lo < n - width; lo += width * 2) {
+                int mid = lo + width;
+                int hi = Math.min(lo + width * 2, n);
+                if (compare(rows[mid - 1], rows[mid]) <= 0) continue; // 이미 정렬된 구간
+                System.arraycopy(rows, lo, tmp, lo, hi - lo);
+                int i = lo, j = mid, k = lo;
+                while (i < mid && j < hi) rows[k++] = compare(tmp[j], tmp[i]) < 0 ? tmp[j++] : tmp[i++];
+                while (i < mid) rows[k++] = tmp[i++];
+                while (j < hi) rows[k++] = tmp[j++];
+            }
+        }
+    }
+
+    private static int hash(int nameId) {
+        return nameId * 0x9E3779B9 ^ (nameId >>> 16);
+    }
+
+    private void insertSlot(int row) {
+        int mask = slots.length - 1;
+        int i = hash(nameIds[row]) & mask;
+        while (slots[i] != 0) i = (i + 1) & mask;
+        slots[i] = row + 1;
+    }
+
+    private void rehash() {
+        slots = new int[slots.length * 2];
+        for (int row = 0; row < size; row++) insertSlot(row);
+    }
+
+    private void grow() {
+        int newLength = times.length * 2;
+        times = Arrays.copyOf(times, newLength);
+        epochSeconds = Arrays.copyOf(epochSeconds, newLength);
+        nameIds = Arrays.copyOf(nameIds, newLength);
+        seqs = Arrays.copyOf(seqs, newLength);
+    }
+}
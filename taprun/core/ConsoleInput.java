@@ -0,0 +1,238 @@
+package taprun.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 표준 입력 전용 스레드 + 타임스탬프 링 버퍼 기반의 콘솔 입력.
+ * - 입력 스레드가 줄이 도착하는 즉시 System.nanoTime()을 찍어 (시각, 빈 줄 여부, 내용)을 링 버퍼에 발행한다.
+ * - 게임 스레드는 화면을 그리는 동안에도 시각이 이미 기록되어 있으므로, 출력 속도가 기록 시간에 섞이지 않는다.
+ * - Scanner 대신 앱 전체에서 하나만 만들어 공유(여러 개를 만들면 System.in 읽기가 엇갈림)
+ * - nextInt()는 Scanner와 달리 한 줄을 통째로 읽어 해석한다(개행 잔여 처리가 필요 없음).
+ * - 입력은 바이트 단위로 읽어 재사용 버퍼에 모으고, 문자열은 nextLine()/lastLine()이 요청할 때만 만든다.
+ *   연타 루프(nextTap + lastLineEmpty)는 정규식 토큰화도, 줄마다의 String 할당도 없다.
+ * - 원시 입력 모드(Settings.INPUT_RAW_MODE, 유닉스 계열 터미널 전용)에서는 터미널의 줄 버퍼링을 끄고
+ *   바이트 단위로 읽어, Enter 키가 눌린 순간의 시각을 기록한다. 에코/백스페이스는 여기서 직접 처리한다.
+ */
+public class ConsoleInput {
+
+    private static final int BUFFER_CAPACITY = 1024; // 게임 스레드가 늦어도 버틸 수 있는 미처리 입력 수
+    private static final int READ_CHUNK_BYTES = 4096; // 한 번에 읽는 최대 바이트
+    // 원시 모드에서 직접 해석하는 제어 바이트
+    private static final byte BACKSPACE = 0x08;
+    private static final byte DELETE = 0x7f; // 대부분의 터미널에서 Backspace 키가 보내는 값
+    private static final byte END_OF_TRANSMISSION = 0x04; // Ctrl+D(빈 줄에서 누르면 입력 종료)
+
+    private final TapRingBuffer buffer = new TapRingBuffer(BUFFER_CAPACITY);
+    private final Thread reader;
+
+    private final Charset charset = Charset.defaultCharset();
+
+    // 마지막으로 소비한 줄 정보(nextTap 이후 조회). 내용은 재사용 버퍼에 복사해 두고 문자열은 요청 시 생성
+    private long lastTimestamp;
+    private byte[] lastBytes = new byte[64];
+    private int lastLength;
+    private String lastText = ""; // lastBytes를 해석한 문자열 캐시(null이면 아직 안 만듦)
+
+    public ConsoleInput(InputStream in) {
+        if (Settings.INPUT_RAW_MODE && in == System.in && RawTerminal.enable()) {
+            reader = new Thread(() -> readRawLoop(in), "console-input");
+        } else {
+            reader = new Thread(() -> readLoop(in), "console-input");
+        }
+        reader.setDaemon(true); // 입력 대기 중에도 게임 종료를 막지 않도록 데몬 스레드
+        reader.start();
+    }
+
+    // 입력 스레드: 바이트 묶음을 읽어 줄로 나누고, 도착 시각을 바로 찍어 발행(끝의 \r은 제거)
+    // - 줄이 읽기 묶음 경계에 걸치면 line 버퍼에 이어 붙인다. 버퍼들은 모두 재사용
+    private void readLoop(InputStream in) {
+        byte[] chunk = new byte[READ_CHUNK_BYTES];
+        byte[] line = new byte[256];
+        int length = 0;
+        try {
+            int n;
+            while ((n = in.read(chunk)) > 0) {
+                long now = System.nanoTime();
+                int start = 0;
+                for (int i = 0; i < n; i++) {
+                    if (chunk[i] != '\n') continue;
+                    int end = i;
+                    if (length == 0) {
+                        if (end > start && chunk[end - 1] == '\r') end--;
+                        buffer.put(now, chunk, start, end - start); // 묶음 안에서 끝난 줄은 복사 없이 바로 발행
+                    } else {
+                        line = append(line, length, chunk, start, end - start);
+                        length += end - start;
+                        if (length > 0 && line[length - 1] == '\r') length--;
+                        buffer.put(now, line, 0, length);
+                        length = 0;
+                    }
+                    start = i + 1;
+                }
+                if (start < n) { // 아직 Enter가 오지 않은 줄 조각
+                    line = append(line, length, chunk, start, n - start);
+                    length += n - start;
+                }
+            }
+            if (length > 0) buffer.put(System.nanoTime(), line, 0, length); // 개행 없이 끝난 마지막 줄
+        } catch (IOException e) {
+            System.err.println("콘솔 입력 읽기 실패: " + e.getMessage());
+        } finally {
+            buffer.close();
+        }
+    }
+
+    // 원시 모드 입력 스레드: 도착한 바이트 묶음마다 시각을 찍고, 그 안의 Enter마다 한 줄(탭)로 발행
+    private void readRawLoop(InputStream in) {
+        byte[] chunk = new byte[256];
+        byte[] line = new byte[256];
+        int length = 0;
+        boolean afterCr = false; // "\r\n"(붙여넣기 등)을 Enter 두 번으로 세지 않기 위함
+        try {
+            int n;
+            while ((n = in.read(chunk)) > 0) {
+                long now = System.nanoTime(); // 키 입력이 도착한 시각(줄 버퍼링 지연 없음)
+                for (int i = 0; i < n; i++) {
+                    byte b = chunk[i];
+                    boolean skipLf = afterCr && b == '\n';
+                    afterCr = b == '\r';
+                    if (skipLf) continue;
+                    if (b == '\n' || b == '\r') {
+                        echo('\n');
+                        buffer.put(now, line, 0, length);
+                        length = 0;
+                    } else if (b == DELETE || b == BACKSPACE) {
+                        length = eraseLastChar(line, length);
+                    } else if (b == END_OF_TRANSMISSION) {
+                        if (length == 0) return;
+                    } else {
+                        line = append(line, length, chunk, i, 1);
+                        length++;
+                        echo(b);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("콘솔 입력 읽기 실패: " + e.getMessage());
+        } finally {
+            buffer.close();
+            RawTerminal.restore();
+        }
+    }
+
+    // 마지막 글자(UTF-8 다중 바이트 포함)를 지우고 화면에서도 지운다. 남은 길이 반환
+    private static int eraseLastChar(byte[] line, int length) {
+        if (length == 0) return 0;
+        int start = length - 1;
+        while (start > 0 && (line[start] & 0xC0) == 0x80) start--; // 연속 바이트(10xxxxxx) 건너뛰기
+        boolean wide = (line[start] & 0x80) != 0; // 비 ASCII(한글 등)는 화면에서 2칸으로 간주
+        System.out.print(wide ? "\b\b  \b\b" : "\b \b");
+        System.out.flush();
+        return start;
+    }
+
+    // dst[0, length) 뒤에 src 조각을 붙인다. 공간이 모자랄 때만 더 큰 배열로 바꿔 반환
+    private static byte[] append(byte[] dst, int length, byte[] src, int offset, int count) {
+        if (length + count > dst.length) dst = Arrays.copyOf(dst, Math.max(length + count, dst.length * 2));
+        System.arraycopy(src, offset, dst, length, count);
+        return dst;
+    }
+
+    private static void echo(int b) {
+        System.out.write(b);
+        System.out.flush();
+    }
+
+    // 원시 모드였다면 터미널 설정을 원래대로 돌린다(종료 시 호출, 셧다운 훅에서도 복구됨)
+    public void close() {
+        RawTerminal.restore();
+    }
+
+    // 연타 루프용: 다음 줄을 소비하고 그 줄이 도착한 시각(nanoTime)을 반환. 입력이 끝났으면 NoSuchElementException
+    // 기다린 시간은 입력 대기로 계측한다
+    public long nextTap() {
+        long waitStart = System.nanoTime();
+        boolean available = buffer.await();
+        Metrics.record(Metrics.Kind.INPUT_WAIT, System.nanoTime() - waitStart);
+        return take(available);
+    }
+
+    // nextTap()과 같지만 계측하지 않는다. 시작 신호/안내 응답처럼 사람이 생각하는 시간이 섞인 대기용
+    public long nextSignal() {
+        return take(buffer.await());
+    }
+
+    private long take(boolean available) {
+        if (!available) throw new NoSuchElementException("입력이 종료되었습니다.");
+        consumeHead();
+        return lastTimestamp;
+    }
+
+    // 연타 루프용: 최대 timeout 동안 다음 줄을 기다려 소비한다. 소비했으면 true, 시간 초과/입력 종료면 false
+    // (시각/내용은 nextTap()과 같이 lastTimestamp()/lastLineEmpty()/lastLine()으로 조회)
+    public boolean pollTap(long timeout, TimeUnit unit) {
+        long waitStart = System.nanoTime();
+        boolean available = buffer.await(timeout, unit);
+        Metrics.record(Metrics.Kind.INPUT_WAIT, System.nanoTime() - waitStart);
+        if (!available) return false;
+        consumeHead();
+        return true;
+    }
+
+    // 입력이 끝났고 남은 줄도 없는지
+    public boolean isClosed() {
+        return buffer.isClosed();
+    }
+
+    // 지금까지 도착했지만 아직 처리하지 않은 줄을 모두 버린다(라운드 종료 후 남은 연타가 다음 안내의 답으로 읽히지 않게)
+    public void discardPending() {
+        while (buffer.available()) buffer.advance();
+    }
+
+    // head 칸을 재사용 버퍼로 옮기고 칸을 돌려준다(빈 Enter면 복사할 것도 없음)
+    private void consumeHead() {
+        lastTimestamp = buffer.headTimestamp();
+        lastLength = buffer.headLength();
+        if (lastLength > lastBytes.length) lastBytes = new byte[Math.max(lastLength, lastBytes.length * 2)];
+        System.arraycopy(buffer.headBytes(), 0, lastBytes, 0, lastLength);
+        lastText = lastLength == 0 ? "" : null;
+        buffer.advance();
+    }
+
+    // 직전에 nextTap()으로 소비한 줄의 정보
+    public long lastTimestamp() { return lastTimestamp; }
+    public boolean lastLineEmpty() { return lastLength == 0; }
+
+    // 직전 줄의 내용. 처음 요청할 때 한 번만 문자열로 만든다
+    public String lastLine() {
+        if (lastText == null) lastText = new String(lastBytes, 0, lastLength, charset);
+        return lastText;
+    }
+
+    // Scanner.nextLine()과 같은 용도(줄 내용 반환, 계측하지 않음)
+    public String nextLine() {
+        nextSignal();
+        return lastLine();
+    }
+
+    // 다음 줄이 있을 때까지 기다린다. 입력이 끝났으면 false
+    public boolean hasNextLine() {
+        return buffer.await();
+    }
+
+    // 한 줄을 읽어 정수로 해석. 숫자가 아니면 그 줄은 소비된 상태로 InputMismatchException
+    public int nextInt() {
+        String line = nextLine().trim();
+        try {
+            return Integer.parseInt(line);
+        } catch (NumberFormatException e) {
+            throw new InputMismatchException(line);
+        }
+    }
+}
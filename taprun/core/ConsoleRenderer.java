@@ -0,0 +1,212 @@
+package taprun.core;
+
+import java.io.PrintStream;
+
+/*
+ * 고정 높이 화면(프레임)을 콘솔에 그리는 렌더러.
+ * - 직전 프레임의 줄들을 기억해 두고, 바뀐 줄에서도 달라진 칸 구간만 ANSI 커서 이동으로 덮어쓴다.
+ *   (앞뒤로 같은 부분은 건너뛰고, 화면 칸 위치는 글자 폭으로 계산: 한글/이모지 2칸, 결합 문자 0칸)
+ *   폭을 확신할 수 없는 이모지 결합(ZWJ) 시퀀스가 끼면 그 줄은 줄 앞/변경 지점부터 끝까지 다시 쓴다.
+ * - 한 프레임의 출력은 버퍼에 모아 한 번에 쓰고 flush한다.
+ * - 줄 내용은 줄마다 재사용하는 StringBuilder에 복사해 두고, 출력은 ConsoleWriter로 인코딩하므로
+ *   프레임을 그리는 동안 객체를 만들지 않는다(호출자도 String 대신 조립 버퍼를 바로 넘겨도 된다).
+ * - 시작 시 화면을 지우고 프레임을 맨 위에 고정(절대 위치 이동). Enter 에코로 커서가 내려가도 다음 프레임이
+ *   제자리를 찾는다. 프레임을 그린 뒤 커서는 항상 프레임 바로 아래 줄에 둔다.
+ * - 콘솔이 아니거나(파이프/리다이렉트) ANSI를 쓰지 않는 환경에서는 매 프레임 전체를 새 줄로 출력한다.
+ */
+public class ConsoleRenderer {
+
+    private static final String ESC = "\u001b[";
+
+    private final PrintStream out;
+    private final ConsoleWriter writer; // frame을 재사용 버퍼로 인코딩해 out에 쓴다
+    private final boolean ansi;
+    private final StringBuilder[] current; // 이번 프레임에 그릴 줄
+    private final StringBuilder[] shown; // 화면에 이미 그려진 줄
+    private final boolean[] drawn; // shown이 실제로 그려졌는지(false면 아직 안 그림)
+    private final StringBuilder frame = new StringBuilder(512); // 한 프레임 출력 버퍼(재사용)
+    private String header; // 프레임 위에 고정되는 안내 줄(ANSI 모드에서만 보관)
+    private boolean started;
+
+    public ConsoleRenderer(int rows) {
+        this(System.out, rows);
+    }
+
+    // 출력 스트림만 바꾸고 화면 방식(ANSI 여부)은 게임과 같게(예열처럼 같은 코드 경로를 버리는 출력으로 돌릴 때)
+    public ConsoleRenderer(PrintStream out, int rows) {
+        this(out, rows, Settings.CONSOLE_ANSI_RENDER && ansiSupported());
+    }
+
+    public ConsoleRenderer(PrintStream out, int rows, boolean ansi) {
+        this.out = out;
+        this.writer = new ConsoleWriter(out);
+        this.ansi = ansi;
+        this.current = new StringBuilder[rows];
+        this.shown = new StringBuilder[rows];
+        this.drawn = new boolean[rows];
+        for (int i = 0; i < rows; i++) {
+            current[i] = new StringBuilder(64);
+            shown[i] = new StringBuilder(64);
+        }
+    }
+
+    // 표준 출력이 ANSI 제어 문자를 해석하는 터미널인지(Windows 기본 콘솔은 제외)
+    private static boolean ansiSupported() {
+        if (System.console() == null) return false;
+        if ("dumb".equals(System.getenv("TERM"))) return false;
+        return !System.getProperty("os.name", "").toLowerCase().startsWith("windows");
+    }
+
+    public boolean isAnsi() {
+        return ansi;
+    }
+
+    // 프레임 위에 고정할 안내 줄. ANSI 모드에서는 화면 맨 위에 한 번 그리고, 전체 다시 그리기 모드에서는 지금 한 번 출력
+    public synchronized void header(String text) {
+        if (ansi) header = text;
+        else out.println(text);
+    }
+
+    // 이번 프레임의 row번째 줄 내용 지정(present 전까지는 화면에 반영되지 않음). 내용은 복사되므로 text는 바로 재사용해도 된다
+    public synchronized void line(int row, CharSequence text) {
+        current[row].setLength(0);
+        current[row].append(text);
+    }
+
+    // 이번 프레임을 화면에 반영. 출력한 글자 수(ANSI 제어 문자 포함)를 반환
+    public synchronized int present() {
+        long renderStart = System.nanoTime();
+        int written = presentFrame();
+        if (written > 0) Metrics.record(Metrics.Kind.FRAME_RENDER, System.nanoTime() - renderStart);
+        return written;
+    }
+
+    private int presentFrame() {
+        frame.setLength(0);
+        if (!ansi) { // 전체 다시 그리기
+            for (StringBuilder s : current) frame.append(s).append(System.lineSeparator());
+        } else {
+            int top = header == null ? 1 : 2; // 프레임 첫 줄의 화면 행 번호(1부터)
+            if (!started) { // 첫 프레임: 화면 지우기 + 안내 줄
+                frame.append(ESC).append("2J");
+                if (header != null) frame.append(ESC).append("1;1H").append(header);
+            }
+            boolean changed = false;
+            for (int row = 0; row < current.length; row++) {
+                if (drawn[row] && sameText(current[row], shown[row])) continue;
+                if (!drawn[row]) shown[row].setLength(0);
+                appendDamage(top + row, shown[row], current[row]);
+                shown[row].setLength(0);
+                shown[row].append(current[row]);
+                drawn[row] = true;
+                changed = true;
+            }
+            if (!changed && started) return 0; // 바뀐 게 없으면 쓰지 않음
+            frame.append(ESC).append(top + current.length).append(";1H"); // 커서를 프레임 아래로
+        }
+        started = true;
+        writer.write(frame);
+        writer.flush();
+        return frame.length();
+    }
+
+    private static boolean sameText(CharSequence a, CharSequence b) {
+        int n = a.length();
+        if (n != b.length()) return false;
+        for (int i = 0; i < n; i++) {
+            if (a.charAt(i) != b.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    // 화면 행 screenRow의 내용을 before → after로 바꾸는 최소 출력을 frame에 덧붙인다
+    private void appendDamage(int screenRow, CharSequence before, CharSequence after) {
+        // 1) 같은 앞부분: 건너뛰고 그 폭만큼 열을 계산
+        int start = 0;
+        int column = 0;
+        boolean columnKnown = true;
+        int common = Math.min(before.length(), after.length());
+        while (start < common && Character.codePointAt(before, start) == Character.codePointAt(after, start)) {
+            int cp = Character.codePointAt(after, start);
+            if (cp == ZWJ) columnKnown = false;
+            column += width(cp);
+            start += Character.charCount(cp);
+        }
+        // 결합 문자 한가운데서 끊기지 않도록 글자 경계까지 물러난다
+        while (start > 0 && (joinsPrevious(before, start) || joinsPrevious(after, start))) {
+            int cp = Character.codePointBefore(after, start);
+            column -= width(cp);
+            start -= Character.charCount(cp);
+        }
+        if (!columnKnown) { // 앞부분 폭을 믿을 수 없으면 줄 처음부터
+            start = 0;
+            column = 0;
+        }
+
+        // 2) 같은 뒷부분: 바뀐 구간의 폭이 같을 때만 건너뛴다(폭이 다르면 뒤쪽이 밀리므로 끝까지 다시 씀)
+        int endBefore = before.length();
+        int endAfter = after.length();
+        while (endBefore > start && endAfter > start
+                && Character.codePointBefore(before, endBefore) == Character.codePointBefore(after, endAfter)) {
+            int n = Character.charCount(Character.codePointBefore(after, endAfter));
+            endBefore -= n;
+            endAfter -= n;
+        }
+        while (endAfter < after.length() && joinsPrevious(after, endAfter)) { // 뒷부분이 결합 문자로 시작하면 포함
+            int n = Character.charCount(Character.codePointAt(after, endAfter));
+            endBefore += n;
+            endAfter += n;
+        }
+        int oldWidth = spanWidth(before, start, endBefore);
+        int newWidth = spanWidth(after, start, endAfter);
+        frame.append(ESC).append(screenRow).append(';').append(column + 1).append('H');
+        if (oldWidth >= 0 && oldWidth == newWidth) {
+            frame.append(after, start, endAfter);
+        } else { // 변경 지점부터 줄 끝까지 다시 쓰고 잔상 지우기
+            frame.append(after, start, after.length()).append(ESC).append('K');
+        }
+    }
+
+    private static final int ZWJ = 0x200D;
+
+    // s[index]가 앞 글자에 붙는 결합 문자이거나, 앞 글자가 ZWJ인지(그 사이에서 자르면 안 됨)
+    private static boolean joinsPrevious(CharSequence s, int index) {
+        if (index <= 0 || index >= s.length()) return false;
+        return width(Character.codePointAt(s, index)) == 0 || Character.codePointBefore(s, index) == ZWJ;
+    }
+
+    // 구간 [from, to)의 화면 폭. ZWJ 시퀀스가 있으면 터미널마다 달라 -1
+    private static int spanWidth(CharSequence s, int from, int to) {
+        int w = 0;
+        for (int i = from; i < to; ) {
+            int cp = Character.codePointAt(s, i);
+            if (cp == ZWJ) return -1;
+            w += width(cp);
+            i += Character.charCount(cp);
+        }
+        return w;
+    }
+
+    // 코드 포인트 하나가 터미널에서 차지하는 칸 수(이 게임 화면에 쓰이는 문자 기준의 간이 판정)
+    private static int width(int cp) {
+        if (cp == ZWJ || (cp >= 0xFE00 && cp <= 0xFE0F) || (cp >= 0x0300 && cp <= 0x036F)) return 0;
+        if ((cp >= 0x1100 && cp <= 0x115F) || (cp >= 0x2E80 && cp <= 0xA4CF) || (cp >= 0xAC00 && cp <= 0xD7A3)
+                || (cp >= 0xF900 && cp <= 0xFAFF) || (cp >= 0xFF00 && cp <= 0xFF60)
+                || (cp >= 0x1F300 && cp <= 0x1F64F) || (cp >= 0x1F900 && cp <= 0x1F9FF) || cp >= 0x20000) {
+            return 2;
+        }
+        return 1;
+    }
+
+    // 프레임 사용 종료. 프레임 아래(입력 에코, 차례 사이에 출력한 안내 등)를 지우고, 이후 일반 출력은 그 자리에서 이어진다
+    public synchronized void finish() {
+        if (ansi && started) {
+            out.print(ESC + ((header == null ? 1 : 2) + current.length) + ";1H" + ESC + "J");
+            out.println();
+            out.flush();
+        }
+        started = false;
+        header = null;
+        for (int i = 0; i < drawn.length; i++) drawn[i] = false;
+    }
+}
@@ -0,0 +1,76 @@
+package taprun.core;
+
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+
+/*
+ * 재사용 버퍼로 문자열을 바이트로 바꿔 PrintStream에 쓰는 출력기(프레임/상태 줄처럼 자주 쓰는 출력 전용).
+ * - 연타 중 탭마다 객체를 만들면 그 쓰레기가 GC를 불러 탭 타이밍이 흔들린다. 그래서 탭 루프(VsAiMode/MonsterMode)는
+ *   정상 상태에서 할당하지 않고, 화면 출력은 모두 이 클래스를 거친다(TapAllocationTest가 탭당 할당 예산을 검사).
+ * - PrintStream.print(CharSequence)는 호출마다 String과 인코딩용 버퍼 객체를 새로 만들므로, char/byte 버퍼와 인코더를 재사용한다.
+ * - char 버퍼는 더 긴 글이 들어올 때만 늘어난다(정상 상태에서는 할당 없음).
+ * - 바이트는 PrintStream.write(byte[], int, int)로 쓰므로 같은 스트림의 print/println 출력과 순서가 섞이지 않는다.
+ */
+public class ConsoleWriter {
+
+    private static final int BYTE_CHUNK = 1024; // 인코딩 결과를 모았다가 한 번에 쓰는 단위
+
+    private final PrintStream out;
+    private final CharsetEncoder encoder;
+    private final ByteBuffer bytes = ByteBuffer.allocate(BYTE_CHUNK);
+    private char[] chars = new char[256];
+    private CharBuffer charView = CharBuffer.wrap(chars);
+
+    public ConsoleWriter(PrintStream out) {
+        this(out, consoleCharset());
+    }
+
+    public ConsoleWriter(PrintStream out, Charset charset) {
+        this.out = out;
+        this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    // System.out이 쓰는 문자셋(JDK 19+는 stdout.encoding, 그 전에는 sun.stdout.encoding, 둘 다 없으면 기본 문자셋)
+    public static Charset consoleCharset() {
+        String name = System.getProperty("stdout.encoding", System.getProperty("sun.stdout.encoding"));
+        if (name != null) {
+            try {
+                return Charset.forName(name);
+            } catch (IllegalArgumentException e) {
+                System.err.println("콘솔 문자셋 확인 실패(기본 문자셋 사용): " + e.getMessage());
+            }
+        }
+        return Charset.defaultCharset();
+    }
+
+    // text 전체를 인코딩해 쓴다(flush는 호출자가)
+    public synchronized void write(StringBuilder text) {
+        int length = text.length();
+        if (length > chars.length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+            charView = CharBuffer.wrap(chars);
+        }
+        text.getChars(0, length, chars, 0);
+        charView.clear().limit(length);
+
+        encoder.reset();
+        while (encoder.encode(charView, bytes, true).isOverflow()) drain(); // 바이트 칸이 차면 내보내고 이어서
+        while (encoder.flush(bytes).isOverflow()) drain();
+        drain();
+    }
+
+    public void flush() {
+        out.flush();
+    }
+
+    private void drain() {
+        out.write(bytes.array(), 0, bytes.position());
+        bytes.clear();
+    }
+}
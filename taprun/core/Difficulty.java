@@ -0,0 +1,31 @@
+package taprun.core;
+
+/*
+ * 대전 모드(VsAI) 난이도. 게임/랭킹/저장 형식이 모두 이 열거형 하나를 쓴다.
+ * - 선언 순서(ordinal)가 곧 표시/저장 순서(EASY → NORMAL → HARD)
+ * - Leaderboard 파티션, RankingTopReader 섹션, 바이너리 랭킹 파일의 난이도 바이트는 ordinal로 구분한다
+ *   (새 난이도는 끝에 추가해야 기존 .bin 파일과 호환된다)
+ * - 텍스트 랭킹 파일/저널에는 이름(name())으로 저장한다
+ */
+public enum Difficulty {
+    EASY, NORMAL, HARD;
+
+    private static final Difficulty[] VALUES = values(); // values()는 호출마다 새 배열을 만든다
+
+    public static int count() {
+        return VALUES.length;
+    }
+
+    // ordinal → 난이도. 범위 밖이면 null
+    public static Difficulty ofOrdinal(int ordinal) {
+        return ordinal >= 0 && ordinal < VALUES.length ? VALUES[ordinal] : null;
+    }
+
+    // 이름 → 난이도. 알 수 없는 이름이면 null
+    public static Difficulty parse(String name) {
+        for (Difficulty d : VALUES) {
+            if (d.name().equals(name)) return d;
+        }
+        return null;
+    }
+}
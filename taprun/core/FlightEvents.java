@@ -0,0 +1,226 @@
+package taprun.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/*
+ * JFR(Java Flight Recorder) 사용자 이벤트. 녹화 중이면 GC/파일 I/O/스레드 이벤트와 같은 시간축에 남는다.
+ * - 게임 한 판(시작~끝 구간), 탭 1회(인정/거부), 몬스터 전투 1회, 랭킹 파일 로드/저장(소요 시간 + 항목 수), JIT 예열
+ * - 녹화가 꺼져 있으면 커밋하지 않는다. 탭마다 불리는 tap()은 꺼져 있을 때 객체도 만들지 않는다.
+ * - 예) 상시 녹화: java -XX:StartFlightRecording=disk=true,maxage=1h,filename=taprun.jfr taprun.Main
+ */
+public final class FlightEvents {
+
+    private FlightEvents() {
+    }
+
+    @Name("taprun.Game")
+    @Label("Game")
+    @Category("Tap Run")
+    @Description("게임 한 판(모드 시작 ~ 결과 출력)")
+    @StackTrace(false)
+    static final class GameEvent extends Event {
+        @Label("Mode")
+        String mode;
+
+        @Label("Result")
+        String result;
+    }
+
+    @Name("taprun.Tap")
+    @Label("Tap")
+    @Category("Tap Run")
+    @Description("게임 중 탭 1회. accepted=false는 quiet gap 미달/글자가 섞인 줄/마감 이후 탭")
+    @StackTrace(false)
+    static final class TapEvent extends Event {
+        @Label("Mode")
+        String mode;
+
+        @Label("Accepted")
+        boolean accepted;
+
+        @Label("Interval")
+        @Timespan(Timespan.NANOSECONDS)
+        long interval; // 직전 탭(또는 시작 신호)과의 도착 시각 차이
+    }
+
+    @Name("taprun.MonsterBattle")
+    @Label("Monster Battle")
+    @Category("Tap Run")
+    @Description("몬스터 모드에서 한 플레이어의 전투 1회 결과")
+    @StackTrace(false)
+    static final class MonsterBattleEvent extends Event {
+        @Label("Round")
+        int round;
+
+        @Label("Player")
+        String player;
+
+        @Label("Monster")
+        String monster;
+
+        @Label("Max HP")
+        int maxHp;
+
+        @Label("Remaining HP")
+        int remainingHp;
+
+        @Label("Killed")
+        boolean killed;
+
+        @Label("Record")
+        @Timespan(Timespan.NANOSECONDS)
+        long record; // 처치 시간(실패면 제한 시간)
+    }
+
+    @Name("taprun.RankingLoad")
+    @Label("Ranking Load")
+    @Category({"Tap Run", "Ranking"})
+    @Description("랭킹 파일 한 개 읽기")
+    public static final class RankingLoadEvent extends Event {
+        @Label("File")
+        String file;
+
+        @Label("Format")
+        String format;
+
+        @Label("Entries")
+        int entries;
+    }
+
+    @Name("taprun.RankingSave")
+    @Label("Ranking Save")
+    @Category({"Tap Run", "Ranking"})
+    @Description("랭킹 파일 한 개 쓰기(임시 파일 + 교체 포함)")
+    public static final class RankingSaveEvent extends Event {
+        @Label("File")
+        String file;
+
+        @Label("Format")
+        String format;
+
+        @Label("Entries")
+        int entries;
+
+        @Label("Success")
+        boolean success;
+    }
+
+    @Name("taprun.Warmup")
+    @Label("JIT Warmup")
+    @Category("Tap Run")
+    @Description("시작 시 JIT 예열. 이 구간의 Tap 이벤트는 예열용 합성 탭")
+    @StackTrace(false)
+    public static final class WarmupEvent extends Event {
+        @Label("Taps")
+        int taps;
+
+        @Label("JIT Compilation")
+        @Timespan(Timespan.MILLISECONDS)
+        long compilation; // 예열 동안 늘어난 JIT 컴파일 누적 시간(-1이면 측정 불가)
+    }
+
+    private static final EventType TAP_TYPE = EventType.getEventType(TapEvent.class);
+
+    private static GameEvent game; // 진행 중인 게임 구간(게임 스레드에서만 사용)
+
+    // 게임 시작: 구간 이벤트를 연다
+    public static void beginGame(Metrics.Mode mode) {
+        GameEvent event = new GameEvent();
+        event.mode = mode.name();
+        event.begin();
+        game = event;
+    }
+
+    // 게임 끝: 결과(승자 등)를 붙여 구간을 닫는다
+    public static void endGame(String result) {
+        GameEvent event = game;
+        game = null;
+        if (event == null) return;
+        event.end();
+        if (event.shouldCommit()) {
+            event.result = result;
+            event.commit();
+        }
+    }
+
+    // 탭 1회. 녹화가 꺼져 있으면 객체를 만들지 않는다
+    public static void tap(Metrics.Mode mode, boolean accepted, long intervalNs) {
+        if (!TAP_TYPE.isEnabled()) return;
+        TapEvent event = new TapEvent();
+        event.mode = mode.name();
+        event.accepted = accepted;
+        event.interval = intervalNs;
+        event.commit();
+    }
+
+    // 몬스터 전투 1회 결과(전투가 끝난 뒤 한 번)
+    public static void monsterBattle(int round, String player, String monster, int maxHp, int remainingHp,
+            boolean killed, double recordSec) {
+        MonsterBattleEvent event = new MonsterBattleEvent();
+        if (!event.isEnabled()) return;
+        event.round = round;
+        event.player = player;
+        event.monster = monster;
+        event.maxHp = maxHp;
+        event.remainingHp = remainingHp;
+        event.killed = killed;
+        event.record = (long) (recordSec * 1_000_000_000L);
+        event.commit();
+    }
+
+    public static WarmupEvent beginWarmup() {
+        WarmupEvent event = new WarmupEvent();
+        event.begin();
+        return event;
+    }
+
+    public static void finish(WarmupEvent event, int taps, long compileMs) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.taps = taps;
+            event.compilation = compileMs;
+            event.commit();
+        }
+    }
+
+    // 랭킹 로드/저장: 호출자가 begin() 직후 만들고, 끝나면 finish로 결과를 붙여 닫는다
+    public static RankingLoadEvent beginRankingLoad(String file, String format) {
+        RankingLoadEvent event = new RankingLoadEvent();
+        event.file = file;
+        event.format = format;
+        event.begin();
+        return event;
+    }
+
+    public static void finish(RankingLoadEvent event, int entries) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.entries = entries;
+            event.commit();
+        }
+    }
+
+    public static RankingSaveEvent beginRankingSave(String file, String format, int entries) {
+        RankingSaveEvent event = new RankingSaveEvent();
+        event.file = file;
+        event.format = format;
+        event.entries = entries;
+        event.begin();
+        return event;
+    }
+
+    public static void finish(RankingSaveEvent event, boolean success) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.success = success;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package taprun.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+ * 고정 메모리 로그 구간 히스토그램(나노초 값).
+ * - 2의 거듭제곱 구간마다 32칸으로 나눠 센다(상대 오차 최대 약 3%). 32 미만은 1ns 단위
+ * - 배열 크기가 고정(1888칸)이라 값의 범위와 관계없이 메모리가 늘지 않는다.
+ * - record()는 원자적 증가만 하므로 객체를 만들지 않고, 여러 스레드(게임/렌더/카운트다운)가 동시에 기록해도 된다.
+ * - 분위수는 해당 구간의 상한값(최대값을 넘지 않게)으로 돌려준다.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BITS = 5;
+    private static final int SUB_COUNT = 1 << SUB_BITS; // 거듭제곱 구간 하나의 칸 수
+    private static final int BUCKETS = (64 - SUB_BITS) * SUB_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long valueNs) {
+        if (valueNs < 0) valueNs = 0;
+        counts.incrementAndGet(bucketOf(valueNs));
+        total.incrementAndGet();
+        long m;
+        while (valueNs > (m = max.get()) && !max.compareAndSet(m, valueNs)) {
+            // 다른 스레드가 먼저 바꿨으면 다시 비교
+        }
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) counts.set(i, 0);
+        total.set(0);
+        max.set(0);
+    }
+
+    public long count() { return total.get(); }
+    public long max() { return max.get(); }
+
+    // q 분위수(0~1). 기록이 없으면 0
+    public long percentile(double q) {
+        long n = total.get();
+        if (n == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(q * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) return Math.min(upperBound(i), max.get());
+        }
+        return max.get();
+    }
+
+    private static int bucketOf(long value) {
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent < SUB_BITS) return (int) value;
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_COUNT - 1);
+        return (exponent - SUB_BITS + 1) * SUB_COUNT + sub;
+    }
+
+    private static long upperBound(int bucket) {
+        if (bucket < SUB_COUNT) return bucket;
+        int exponent = bucket / SUB_COUNT + SUB_BITS - 1;
+        int sub = bucket % SUB_COUNT;
+        long lower = (long) (SUB_COUNT + sub) << (exponent - SUB_BITS);
+        return lower + (1L << (exponent - SUB_BITS)) - 1;
+    }
+}
@@ -0,0 +1,201 @@
+package taprun.core;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/*
+ * 모드 하나의 상주(in-memory) 랭킹 보드.
+ * - 최초 접근 시 한 번만 파일에서 읽어 오고, 이후 업서트는 메모리에서 정렬 상태를 유지한 채 반영한다.
+ * - 기록은 열 단위 원시 배열(ColumnarRankingStore)에 두고, RankingEntry 객체는 조회 결과로만 만든다.
+ * - 이름 → 행 해시 인덱스 + 순위 인덱스(RankIndex)로 업서트/순위 조회/Top-K가 O(log n)
+ * - VsAI 보드는 난이도마다 독립 정렬된 파티션(Difficulty ordinal로 인덱싱한 배열)으로 나뉘어, 업서트는 자기 파티션만 건드리고
+ *   조회/저장은 EASY → NORMAL → HARD 순으로 파티션을 이어 읽기만 한다(재그룹/재정렬 없음).
+ * - 변경이 생기면 dirty 플래그만 세우고, 실제 파일 쓰기는 RankingManager의 백그라운드 플러셔가 담당한다.
+ * - 저널이 연결되어 있으면 업서트마다 변경분 1줄만 저널에 덧붙이고(RankingCommitter), 파일 전체 재작성은 컴팩션 때만 한다.
+ * - 모든 접근은 this 모니터로 동기화(게임 스레드와 플러셔 스레드가 동시에 접근)
+ */
+public class Leaderboard {
+
+    // 정렬 단위 하나(난이도 없는 모드는 보드 전체, VsAI는 난이도 하나)
+    private static class Partition {
+        // 행 저장소(열 단위 원시 배열). 같은 이름의 기록이 갱신되면 같은 행을 재사용
+        final ColumnarRankingStore store = new ColumnarRankingStore();
+        final RankIndex index = new RankIndex(store::compare); // (기록, 순번) 순 정렬 인덱스
+        final Difficulty difficulty; // 파티션의 난이도(난이도 없는 모드는 null)
+        long nextSeq; // 갱신 순번(같은 기록끼리는 먼저 들어온 행이 앞)
+
+        Partition(Difficulty difficulty) {
+            this.difficulty = difficulty;
+        }
+
+        // 동일 이름의 기록이 있으면 더 좋은(=더 작은) time일 때만 교체, 없으면 추가
+        // - 해시 인덱스로 기존 행을 찾고, 정렬 인덱스에서 빼고 다시 넣어 O(log n)에 정렬 상태를 유지
+        boolean upsert(RankingManager.RankingEntry newEntry) {
+            int row = store.find(newEntry.getPlayerName());
+            if (row >= 0) {
+                if (newEntry.getTime() > store.time(row)) {
+                    return false; // 기존이 더 좋음 → 변경 없음
+                }
+                index.remove(row); // 값이 바뀌기 전에 현재 위치에서 제거
+            }
+            row = putRow(newEntry);
+            index.insert(row);
+            return true;
+        }
+
+        // 열 저장소에 기록 반영(정렬 인덱스는 건드리지 않음). 기존 기록이 더 좋으면 그대로 두고 해당 행 반환
+        int putRow(RankingManager.RankingEntry e) {
+            int row = store.find(e.getPlayerName());
+            if (row < 0) return store.add(e.getPlayerName(), e.getTime(), e.getDateTime(), nextSeq++);
+            if (e.getTime() <= store.time(row)) store.set(row, e.getTime(), e.getDateTime(), nextSeq++);
+            return row;
+        }
+
+        // 대량 로드 후 행 번호를 원시 배열 정렬하고 정렬 인덱스를 O(n)에 한 번에 구성
+        void buildIndex() {
+            int[] rows = new int[store.size()];
+            for (int i = 0; i < rows.length; i++) rows[i] = i;
+            store.sortRows(rows, rows.length);
+            index.buildFromSorted(rows, rows.length);
+        }
+
+        int rankOf(String playerName) {
+            int row = store.find(playerName);
+            return row < 0 ? -1 : index.rankOf(row) + 1;
+        }
+
+        void appendTop(List<RankingManager.RankingEntry> out, int limit) {
+            int[] buf = new int[Math.min(limit, index.size())];
+            int n = index.top(buf, buf.length);
+            for (int i = 0; i < n; i++) out.add(store.toEntry(buf[i], difficulty));
+        }
+    }
+
+    private final String fileName; // 저장 대상 파일 이름
+    private final boolean hasDifficulty; // 난이도 구분 여부(VsAI 모드)
+    private final Partition all; // 난이도 없는 모드의 유일한 파티션(VsAI면 null)
+    private final Partition[] byDifficulty; // VsAI 난이도별 파티션, 인덱스 = Difficulty.ordinal()(아니면 null)
+    private boolean dirty; // 마지막 플러시 이후 변경 여부
+    private RankingJournal journal; // 저널 모드일 때만 연결(null이면 write-behind 전체 저장)
+    private long lastPersistNs = System.nanoTime(); // 마지막 스냅샷 저장 시각
+    private String snapshotStamp = ""; // 마지막으로 반영한 스냅샷 파일의 크기@수정시각(다른 프로세스의 재작성 감지용)
+
+    public Leaderboard(String fileName, boolean hasDifficulty, List<RankingManager.RankingEntry> initial) {
+        this.fileName = fileName;
+        this.hasDifficulty = hasDifficulty;
+        if (hasDifficulty) {
+            all = null;
+            byDifficulty = new Partition[Difficulty.count()];
+            for (Difficulty d : Difficulty.values()) byDifficulty[d.ordinal()] = new Partition(d);
+        } else {
+            all = new Partition(null);
+            byDifficulty = null;
+        }
+        // 대량 로드: 파티션 열에 채우면서 업서트 규칙으로 중복 이름을 정리한 뒤 파티션별로 인덱스 구성
+        for (RankingManager.RankingEntry e : initial) {
+            Partition p = partitionOf(e.getDifficulty());
+            if (p != null) p.putRow(e);
+        }
+        for (Partition p : partitions()) p.buildIndex();
+    }
+
+    public String getFileName() { return fileName; }
+    public boolean hasDifficulty() { return hasDifficulty; }
+    public synchronized RankingJournal getJournal() { return journal; }
+    public synchronized long getLastPersistNs() { return lastPersistNs; }
+    public synchronized String getSnapshotStamp() { return snapshotStamp; }
+    public synchronized void setSnapshotStamp(String snapshotStamp) { this.snapshotStamp = snapshotStamp; }
+
+    public synchronized int size() {
+        int size = 0;
+        for (Partition p : partitions()) size += p.index.size();
+        return size;
+    }
+
+    // 기록이 속한 파티션(ordinal로 바로 인덱싱). VsAI인데 난이도가 없으면 null(해당 기록은 무시)
+    private Partition partitionOf(Difficulty difficulty) {
+        if (!hasDifficulty) return all;
+        return difficulty == null ? null : byDifficulty[difficulty.ordinal()];
+    }
+
+    // 표시/저장 순서대로의 파티션 목록(ordinal 순 = EASY → NORMAL → HARD)
+    private List<Partition> partitions() {
+        return hasDifficulty ? Arrays.asList(byDifficulty) : Collections.singletonList(all);
+    }
+
+    // 저널 연결: 스냅샷 이후의 변경분을 재적용한 뒤, 이후 업서트부터 저널에 기록
+    public synchronized void attachJournal(RankingJournal journal) {
+        for (RankingManager.RankingEntry e : journal.readAll(hasDifficulty)) {
+            upsert(e); // 재적용분은 dirty로 남아 다음 컴팩션 때 스냅샷에 합쳐진다
+        }
+        this.journal = journal;
+    }
+
+    // 동일 키(이름, VsAI는 이름+난이도)의 기록이 있으면 더 좋은 time일 때만 교체, 없으면 추가
+    // - VsAI는 기록의 난이도 파티션만 갱신한다
+    public synchronized boolean upsert(RankingManager.RankingEntry newEntry) {
+        Partition p = partitionOf(newEntry.getDifficulty());
+        if (p == null || !p.upsert(newEntry)) return false;
+        dirty = true;
+        return true;
+    }
+
+    // 다른 프로세스가 디스크에 남긴 기록을 업서트 규칙으로 합친다.
+    // - 스냅샷에서 온 기록은 이미 디스크에 있으므로 dirty를 건드리지 않고(markDirty=false),
+    //   저널에서 온 기록은 다음 컴팩션에 포함되도록 dirty로 남긴다(markDirty=true).
+    public synchronized void merge(List<RankingManager.RankingEntry> records, boolean markDirty) {
+        boolean wasDirty = dirty;
+        for (RankingManager.RankingEntry e : records) {
+            upsert(e);
+        }
+        if (!markDirty) dirty = wasDirty;
+    }
+
+    // 플레이어의 현재 순위(1부터, VsAI는 같은 난이도 안에서의 순위). 기록이 없으면 -1
+    public synchronized int rankOf(String playerName, Difficulty difficulty) {
+        Partition p = partitionOf(difficulty);
+        return p == null ? -1 : p.rankOf(playerName);
+    }
+
+    // 정렬 순서상 앞에서부터 최대 limit개(VsAI는 난이도별로 최대 limit개씩, EASY → NORMAL → HARD 순)
+    public synchronized List<RankingManager.RankingEntry> top(int limit) {
+        List<RankingManager.RankingEntry> result = new ArrayList<>();
+        for (Partition p : partitions()) p.appendTop(result, limit);
+        return result;
+    }
+
+    // 화면 출력/파일 저장용 복사본(정렬 상태). 호출자는 잠금 없이 자유롭게 사용 가능
+    public synchronized List<RankingManager.RankingEntry> snapshot() {
+        return top(Integer.MAX_VALUE);
+    }
+
+    // 플러시 대상이면 복사본을 돌려주고 dirty를 내린다. 변경이 없으면 null
+    // - 저널 모드에서는 같은 잠금 안에서 저널을 회전시켜, 복사본에 없는 이후 업서트가 새 저널에만 쌓이도록 한다
+    public synchronized List<RankingManager.RankingEntry> takeDirtySnapshot() {
+        if (!dirty) return null;
+        if (journal != null) {
+            try {
+                journal.rotate();
+            } catch (IOException e) {
+                System.err.println("랭킹 저널 회전 실패: " + e.getMessage());
+                return null; // 저널은 그대로 유효 → 다음 주기에 재시도
+            }
+        }
+        dirty = false;
+        return snapshot();
+    }
+
+    // 스냅샷이 디스크에 반영된 뒤 호출: 회전해 둔 이전 저널 정리
+    public synchronized void snapshotPersisted() {
+        lastPersistNs = System.nanoTime();
+        if (journal != null) journal.completeCompaction();
+    }
+
+    // 파일 쓰기에 실패했을 때 다음 주기에 다시 시도하도록 dirty를 복구
+    public synchronized void markDirty() {
+        dirty = true;
+    }
+}
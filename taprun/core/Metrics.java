@@ -0,0 +1,129 @@
+package taprun.core;
+
+/*
+ * 항상 켜져 있는 가벼운 계측(탭 간격, 화면 출력 시간, 입력 대기 시간).
+ * - 히스토그램은 모두 시작 시 미리 만들어 두는 고정 메모리: 종류별 × (모드별 누적 + 이번 게임)
+ * - record()는 현재 모드의 누적 히스토그램과, 게임 중이면 이번 게임 히스토그램에 함께 기록한다(할당 없음).
+ * - 게임 시작/끝에서 beginGame/endGame을 부르면 끝날 때 이번 게임의 p50/p99/최대를 출력하고,
+ *   메인 메뉴의 계측 보기(dump)는 실행 후 모드별 누적을 출력한다.
+ * - 입력 대기는 연타 루프의 대기만 잰다(ConsoleInput.nextTap/pollTap). 이름/메뉴/시작 신호처럼 사람이 생각하는 시간은 넣지 않는다.
+ * - 시작 시 JIT 예열(beginWarmup/endWarmup)은 예열 스레드의 기록만 예열 칸으로 모으고, 예열에 든 시간도 함께 보여 준다.
+ *   기록 대상 모드(current)는 건드리지 않으므로, 예열이 길어져 메뉴 입력/게임과 겹쳐도 서로 섞이지 않는다.
+ */
+public class Metrics {
+
+    public enum Mode {
+        MENU("메뉴"), RACE("달리기 경주 모드"), MONSTER("몬스터 죽이기 모드"), VSAI("대전 모드 (vs AI)"),
+        WARMUP("JIT 예열(합성 탭)");
+
+        private final String label;
+
+        Mode(String label) {
+            this.label = label;
+        }
+    }
+
+    public enum Kind {
+        TAP_INTERVAL("탭 간격"), // 게임 중 연속된 탭 도착 시각의 차이
+        FRAME_RENDER("화면 출력"), // 프레임/상태 줄 하나를 조립해 콘솔에 쓰는 데 걸린 시간
+        INPUT_WAIT("입력 대기"); // 연타 루프에서 다음 탭을 기다리며 막혀 있던 시간(nextTap/pollTap)
+
+        private final String label;
+
+        Kind(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final Mode[] MODES = Mode.values();
+    private static final Kind[] KINDS = Kind.values();
+
+    private static final LatencyHistogram[][] BY_MODE = new LatencyHistogram[MODES.length][KINDS.length];
+    private static final LatencyHistogram[] GAME = new LatencyHistogram[KINDS.length];
+    static {
+        for (int m = 0; m < MODES.length; m++) {
+            for (int k = 0; k < KINDS.length; k++) BY_MODE[m][k] = new LatencyHistogram();
+        }
+        for (int k = 0; k < KINDS.length; k++) GAME[k] = new LatencyHistogram();
+    }
+
+    private static volatile Mode current = Mode.MENU; // 지금 기록을 받을 모드
+    private static volatile boolean inGame;
+    private static volatile Thread warmupThread; // 예열 중인 스레드(이 스레드의 기록만 예열 칸으로)
+
+    // 마지막 JIT 예열 결과(탭 수가 0이면 아직 안 함)
+    private static volatile long warmupNs;
+    private static volatile long warmupCompileMs; // 예열 동안 늘어난 JIT 컴파일 누적 시간(-1이면 측정 불가)
+    private static volatile int warmupTaps;
+
+    // 게임 시작: 이번 게임 히스토그램을 비우고 기록 대상 모드를 바꾼다
+    public static void beginGame(Mode mode) {
+        for (LatencyHistogram h : GAME) h.reset();
+        current = mode;
+        inGame = true;
+    }
+
+    // 게임 끝: 이번 게임 요약을 출력하고 메뉴로 돌아간다
+    public static void endGame() {
+        Mode mode = current;
+        inGame = false;
+        current = Mode.MENU;
+        if (Settings.METRICS_REPORT_AT_GAME_END) {
+            System.out.println();
+            System.out.println("[계측] 이번 게임 (" + mode.label + ")");
+            printKinds(GAME);
+        }
+    }
+
+    // 예열 시작: 이후 이 스레드의 기록은 예열 칸으로
+    public static void beginWarmup() {
+        warmupThread = Thread.currentThread();
+    }
+
+    // 예열 끝: 걸린 시간/합성 탭 수/그동안의 JIT 컴파일 시간을 남긴다
+    public static void endWarmup(long elapsedNs, int taps, long compileMs) {
+        warmupNs = elapsedNs;
+        warmupCompileMs = compileMs;
+        warmupTaps = taps;
+        warmupThread = null;
+    }
+
+    public static void record(Kind kind, long ns) {
+        int k = kind.ordinal();
+        if (Thread.currentThread() == warmupThread) {
+            BY_MODE[Mode.WARMUP.ordinal()][k].record(ns);
+            return;
+        }
+        BY_MODE[current.ordinal()][k].record(ns);
+        if (inGame) GAME[k].record(ns);
+    }
+
+    // 실행 후 지금까지의 모드별 누적 출력(기록이 있는 모드만)
+    public static void dump() {
+        System.out.println("\n=== 계측 (이번 실행 누적) ===");
+        if (warmupTaps > 0) {
+            System.out.printf("JIT 예열: %.1fms, 합성 탭 %d회%s%n", warmupNs / 1e6, warmupTaps,
+                    warmupCompileMs >= 0 ? ", 그동안 JIT 컴파일 " + warmupCompileMs + "ms" : "");
+        }
+        boolean any = false;
+        for (int m = 0; m < MODES.length; m++) {
+            boolean has = false;
+            for (LatencyHistogram h : BY_MODE[m]) has |= h.count() > 0;
+            if (!has) continue;
+            any = true;
+            System.out.println("\n--- " + MODES[m].label + " ---");
+            printKinds(BY_MODE[m]);
+        }
+        if (!any) System.out.println("아직 기록된 계측이 없습니다.");
+        System.out.println();
+    }
+
+    private static void printKinds(LatencyHistogram[] histograms) {
+        for (int k = 0; k < KINDS.length; k++) {
+            LatencyHistogram h = histograms[k];
+            if (h.count() == 0) continue;
+            System.out.printf("%s: %d회, p50 %.2fms, p99 %.2fms, 최대 %.2fms%n", KINDS[k].label, h.count(),
+                    h.percentile(0.50) / 1e6, h.percentile(0.99) / 1e6, h.max() / 1e6);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package taprun.core;
+
+import java.util.Arrays;
+
+/*
+ * 순위 조회용 정렬 인덱스(order-statistic treap).
+ * - 노드는 행 번호(row id) 하나이며, 행끼리의 순서는 생성 시 받은 RowOrder가 결정한다.
+ * - 각 노드가 서브트리 크기를 들고 있어 삽입/삭제/순위/k번째 조회가 모두 기대 O(log n)
+ * - 노드 정보는 객체 대신 int 배열에 두어 수백만 행에서도 노드 객체가 생기지 않게 한다.
+ */
+public class RankIndex {
+
+    // 두 행의 순서 비교(음수면 a가 앞). 같은 값이 없도록 호출자가 동률을 끊어 줘야 한다.
+    public interface RowOrder {
+        int compare(int rowA, int rowB);
+    }
+
+    private static final int NIL = -1;
+
+    private final RowOrder order;
+    private int[] left = new int[16];
+    private int[] right = new int[16];
+    private int[] size = new int[16]; // 서브트리 노드 수(0이면 인덱스에 없음)
+    private int[] priority = new int[16]; // 힙 우선순위(무작위)
+    private int root = NIL;
+    private int seed = 0x2545F491; // 우선순위용 xorshift 상태(재현 가능한 고정 시드)
+
+    public RankIndex(RowOrder order) {
+        this.order = order;
+    }
+
+    public int size() {
+        return sizeOf(root);
+    }
+
+    public boolean contains(int row) {
+        return row < size.length && size[row] > 0;
+    }
+
+    // 행 삽입(이미 들어 있으면 먼저 remove 해야 함)
+    public void insert(int row) {
+        ensureCapacity(row + 1);
+        left[row] = NIL;
+        right[row] = NIL;
+        size[row] = 1;
+        priority[row] = nextPriority();
+        root = insert(root, row);
+    }
+
+    // 이미 정렬된 행 배열(앞 n개)로 인덱스를 통째로 구성한다(O(n), 대량 로드용). 기존 내용은 버린다.
+    // - 정렬 순서대로 오른쪽 경로(stack)에 붙여 나가며 우선순위 힙 조건을 맞추는 Cartesian tree 구성
+    public void buildFromSorted(int[] rows, int n) {
+        int maxRow = -1;
+        for (int i = 0; i < n; i++) maxRow = Math.max(maxRow, rows[i]);
+        ensureCapacity(maxRow + 1);
+        Arrays.fill(size, 0);
+        int[] stack = new int[Math.max(1, n)];
+        int sp = 0;
+        for (int i = 0; i < n; i++) {
+            int row = rows[i];
+            priority[row] = nextPriority();
+            right[row] = NIL;
+            int last = NIL;
+            while (sp > 0 && priority[stack[sp - 1]] < priority[row]) {
+                last = stack[--sp];
+            }
+            left[row] = last;
+            if (sp > 0) right[stack[sp - 1]] = row;
+            stack[sp++] = row;
+        }
+        root = sp > 0 ? stack[0] : NIL;
+        computeSizes(root);
+    }
+
+    private int computeSizes(int t) {
+        if (t == NIL) return 0;
+        size[t] = computeSizes(left[t]) + computeSizes(right[t]) + 1;
+        return size[t];
+    }
+
+    // 행 삭제. 값(기록)이 바뀌기 전에 호출해야 현재 위치를 찾을 수 있다.
+    public void remove(int row) {
+        if (!contains(row)) return;
+        root = remove(root, row);
+        size[row] = 0;
+    }
+
+    // 0부터 시작하는 순위(앞에 있는 행의 수)
+    public int rankOf(int row) {
+        int rank = 0;
+        int t = root;
+        while (t != row) {
+            if (t == NIL) throw new IllegalStateException("인덱스에 없는 행: " + row);
+            if (order.compare(row, t) < 0) {
+                t = left[t];
+            } else {
+                rank += sizeOf(left[t]) + 1;
+                t = right[t];
+            }
+        }
+        return rank + sizeOf(left[row]);
+    }
+
+    // k번째(0부터) 행
+    public int select(int k) {
+        if (k < 0 || k >= size()) throw new IndexOutOfBoundsException("순위 범위 초과: " + k);
+        int t = root;
+        while (true) {
+            int leftSize = sizeOf(left[t]);
+            if (k < leftSize) {
+                t = left[t];
+            } else if (k == leftSize) {
+                return t;
+            } else {
+                k -= leftSize + 1;
+                t = right[t];
+            }
+        }
+    }
+
+    // 앞에서부터 최대 limit개의 행을 out에 채우고 채운 개수 반환(O(log n + limit))
+    public int top(int[] out, int limit) {
+        int n = Math.min(limit, Math.min(out.length, size()));
+        int[] stack = new int[64];
+        int sp = 0;
+        int count = 0;
+        int t = root;
+        while (count < n && (t != NIL || sp > 0)) {
+            while (t != NIL) {
+                if (sp == stack.length) stack = Arrays.copyOf(stack, sp * 2);
+                stack[sp++] = t;
+                t = left[t];
+            }
+            t = stack[--sp];
+            out[count++] = t;
+            t = right[t];
+        }
+        return count;
+    }
+
+    private int insert(int t, int row) {
+        if (t == NIL) return row;
+        if (priority[row] > priority[t]) {
+            split(t, row);
+            left[row] = splitLeft;
+            right[row] = splitRight;
+            update(row);
+            return row;
+        }
+        if (order.compare(row, t) < 0) left[t] = insert(left[t], row);
+        else right[t] = insert(right[t], row);
+        update(t);
+        return t;
+    }
+
+    private int remove(int t, int row) {
+        if (t == row) return merge(left[t], right[t]);
+        if (order.compare(row, t) < 0) left[t] = remove(left[t], row);
+        else right[t] = remove(right[t], row);
+        update(t);
+        return t;
+    }
+
+    // split 결과(재귀 반환값 두 개를 담기 위한 임시 필드)
+    private int splitLeft;
+    private int splitRight;
+
+    // t를 pivot보다 앞(splitLeft)/뒤(splitRight) 두 트리로 나눈다
+    private void split(int t, int pivot) {
+        if (t == NIL) {
+            splitLeft = NIL;
+            splitRight = NIL;
+            return;
+        }
+        if (order.compare(t, pivot) < 0) {
+            split(right[t], pivot);
+            right[t] = splitLeft;
+            update(t);
+            splitLeft = t;
+        } else {
+            split(left[t], pivot);
+            left[t] = splitRight;
+            update(t);
+            splitRight = t;
+        }
+    }
+
+    // a의 모든 행이 b보다 앞일 때 두 트리를 합친다
+    private int merge(int a, int b) {
+        if (a == NIL) return b;
+        if (b == NIL) return a;
+        if (priority[a] > priority[b]) {
+            right[a] = merge(right[a], b);
+            update(a);
+            return a;
+        }
+        left[b] = merge(a, left[b]);
+        update(b);
+        return b;
+    }
+
+    private void update(int t) {
+        size[t] = sizeOf(left[t]) + sizeOf(right[t]) + 1;
+    }
+
+    private int sizeOf(int t) {
+        return t == NIL ? 0 : size[t];
+    }
+
+    private int nextPriority() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= size.length) return;
+        int newLength = Math.max(capacity, size.length * 2);
+        left = Arrays.copyOf(left, newLength);
+        right = Arrays.copyOf(right, newLength);
+        size = Arrays.copyOf(size, newLength);
+        priority = Arrays.copyOf(priority, newLength);
+    }
+}
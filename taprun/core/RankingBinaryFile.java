@@ -0,0 +1,142 @@
+package taprun.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * 랭킹 스냅샷의 바이너리 저장 형식(Ranking_*.bin).
+ * 텍스트 파싱(indexOf/split/parseDouble/LocalDateTime.parse) 없이 메모리 매핑으로 바로 읽는다.
+ *
+ * [헤더 32바이트]
+ *   int  MAGIC("TRNK") | int VERSION | int 레코드 수 | int 이름 수 | long 이름 테이블 오프셋 | 8바이트 예약
+ * [레코드 영역] 레코드 수 × 24바이트 고정 폭
+ *   double 기록(초) | long 기록 시각(epoch 초, 로컬 시각 그대로) | int 이름 ID | byte 난이도 | 3바이트 패딩
+ *   - 난이도 바이트: Difficulty.ordinal(), 난이도 없음은 -1. (VERSION 1은 1부터 센 코드, 0 = 없음 — 읽기만 지원)
+ * [이름 테이블] 이름 수 × (int UTF-8 길이 + 바이트)
+ *   - 이름은 한 번만 저장하고 레코드는 ID로 참조 → " - " 같은 문자가 들어간 이름도 안전
+ */
+public class RankingBinaryFile {
+
+    private static final int MAGIC = 0x4B4E5254; // 파일 앞 4바이트가 "TRNK"(리틀 엔디언)
+    private static final int VERSION = 2;
+    private static final int VERSION_1 = 1; // 난이도 코드 = ordinal + 1 이던 이전 형식
+    private static final int HEADER_SIZE = 32;
+    private static final int RECORD_SIZE = 24;
+
+    private RankingBinaryFile() {}
+
+    // 메모리 매핑으로 전체 레코드를 읽는다. 형식이 맞지 않거나 잘린 파일이면 IOException
+    // (모든 위치는 long으로 계산해 파일 크기와 비교한 뒤 읽는다 — 손상된 길이 값이 int로 넘쳐 범위 밖을 읽지 않게)
+    public static List<RankingManager.RankingEntry> read(Path path, boolean hasDifficulty) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) throw new IOException("헤더가 손상된 랭킹 파일: " + path);
+            if (size > Integer.MAX_VALUE) throw new IOException("랭킹 파일이 너무 큽니다: " + path);
+            MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buf.order(ByteOrder.LITTLE_ENDIAN);
+
+            int version = buf.getInt(4);
+            if (buf.getInt(0) != MAGIC || (version != VERSION && version != VERSION_1)) {
+                throw new IOException("지원하지 않는 랭킹 파일 형식: " + path);
+            }
+            int ordinalBase = version == VERSION_1 ? 1 : 0;
+            int recordCount = buf.getInt(8);
+            int nameCount = buf.getInt(12);
+            long nameTableOffset = buf.getLong(16);
+            if (recordCount < 0 || nameCount < 0
+                    || nameTableOffset != HEADER_SIZE + (long) recordCount * RECORD_SIZE
+                    || nameTableOffset > size) {
+                throw new IOException("레코드 영역이 손상된 랭킹 파일: " + path);
+            }
+
+            // 이름 테이블을 먼저 풀어 ID → 문자열 배열로
+            String[] names = new String[nameCount];
+            long pos = nameTableOffset;
+            byte[] scratch = new byte[64];
+            for (int i = 0; i < nameCount; i++) {
+                if (pos + 4 > size) throw new IOException("이름 테이블이 잘린 랭킹 파일: " + path);
+                int len = buf.getInt((int) pos);
+                pos += 4;
+                if (len < 0 || pos + len > size) throw new IOException("이름 테이블이 손상된 랭킹 파일: " + path);
+                if (scratch.length < len) scratch = new byte[len];
+                buf.position((int) pos);
+                buf.get(scratch, 0, len);
+                names[i] = new String(scratch, 0, len, StandardCharsets.UTF_8);
+                pos += len;
+            }
+
+            // 고정 폭 레코드는 절대 위치로 바로 읽는다
+            List<RankingManager.RankingEntry> rankings = new ArrayList<>(recordCount);
+            for (int i = 0; i < recordCount; i++) {
+                int base = HEADER_SIZE + i * RECORD_SIZE;
+                double time = buf.getDouble(base);
+                LocalDateTime dateTime = LocalDateTime.ofEpochSecond(buf.getLong(base + 8), 0, ZoneOffset.UTC);
+                int nameId = buf.getInt(base + 16);
+                Difficulty difficulty = Difficulty.ofOrdinal(buf.get(base + 20) - ordinalBase);
+                if (nameId < 0 || nameId >= nameCount || (hasDifficulty && difficulty == null)) {
+                    throw new IOException("레코드가 손상된 랭킹 파일: " + path);
+                }
+                rankings.add(hasDifficulty
+                        ? new RankingManager.RankingEntry(names[nameId], time, difficulty, dateTime)
+                        : new RankingManager.RankingEntry(names[nameId], time, dateTime));
+            }
+            return rankings;
+        }
+    }
+
+    // 전체 스냅샷을 임시 파일에 쓴 뒤 원자적으로 교체
+    public static void write(Path path, List<RankingManager.RankingEntry> rankings) throws IOException {
+        Map<String, Integer> nameIds = new HashMap<>();
+        List<byte[]> nameBytes = new ArrayList<>();
+        long nameTableSize = 0;
+        for (RankingManager.RankingEntry e : rankings) {
+            if (!nameIds.containsKey(e.getPlayerName())) {
+                byte[] bytes = e.getPlayerName().getBytes(StandardCharsets.UTF_8);
+                nameIds.put(e.getPlayerName(), nameBytes.size());
+                nameBytes.add(bytes);
+                nameTableSize += 4 + bytes.length;
+            }
+        }
+
+        long nameTableOffset = HEADER_SIZE + (long) rankings.size() * RECORD_SIZE;
+        long totalSize = nameTableOffset + nameTableSize;
+        if (totalSize > Integer.MAX_VALUE) throw new IOException("랭킹 스냅샷이 너무 큽니다: " + totalSize + " bytes");
+
+        ByteBuffer buf = ByteBuffer.allocate((int) totalSize).order(ByteOrder.LITTLE_ENDIAN);
+        buf.putInt(MAGIC).putInt(VERSION).putInt(rankings.size()).putInt(nameBytes.size())
+           .putLong(nameTableOffset).putLong(0L);
+        for (RankingManager.RankingEntry e : rankings) {
+            buf.putDouble(e.getTime());
+            buf.putLong(e.getDateTime().toEpochSecond(ZoneOffset.UTC));
+            buf.putInt(nameIds.get(e.getPlayerName()));
+            buf.put(e.getDifficulty() == null ? (byte) -1 : (byte) e.getDifficulty().ordinal());
+            buf.put((byte) 0).put((byte) 0).put((byte) 0);
+        }
+        for (byte[] bytes : nameBytes) {
+            buf.putInt(bytes.length).put(bytes);
+        }
+        buf.flip();
+
+        Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tempPath,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buf.hasRemaining()) channel.write(buf);
+            channel.force(true); // 교체 전에 내용을 디스크에 반영
+        }
+        Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
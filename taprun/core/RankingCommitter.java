@@ -0,0 +1,145 @@
+package taprun.core;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 랭킹 업서트 group commit 스레드.
+ * - 저장 요청은 큐에 쌓이고, 전용 스레드가 짧은 창(RANKING_GROUP_COMMIT_WINDOW_MS) 동안 함께 도착한 요청을 모아
+ *   보드별로 한 번의 파일 잠금 + 한 번의 쓰기 + 한 번의 fsync로 반영한다.
+ * - 각 요청은 CompletableFuture<Boolean>(기록 갱신 여부)로 결과를 돌려받는다.
+ * - 보드 로드까지 이 스레드에서 하므로 게임 스레드는 디스크 I/O를 기다리지 않는다.
+ * - 스레드가 인터럽트로 멈추면 남은 요청과 이후 요청은 모두 예외로 끝난다(future와 awaitIdle이 멈춰 있지 않게).
+ */
+public class RankingCommitter {
+
+    // 랭킹 파일(보드) 하나에 대한 배치 반영. 요청 순서대로 갱신 여부를 돌려준다.
+    public interface BatchHandler {
+        boolean[] commit(String fileName, boolean hasDifficulty, List<RankingManager.RankingEntry> batch);
+    }
+
+    // 큐에 들어가는 저장 요청 1건
+    private static class Request {
+        final String fileName;
+        final boolean hasDifficulty;
+        final RankingManager.RankingEntry entry;
+        final CompletableFuture<Boolean> result = new CompletableFuture<>();
+
+        Request(String fileName, boolean hasDifficulty, RankingManager.RankingEntry entry) {
+            this.fileName = fileName;
+            this.hasDifficulty = hasDifficulty;
+            this.entry = entry;
+        }
+    }
+
+    private final LinkedBlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+    private final BatchHandler handler;
+    private final Thread thread;
+    private int pending; // 제출됐지만 아직 완료되지 않은 요청 수(this로 보호)
+    private boolean stopped; // 스레드가 멈춰 더 받지 않음(this로 보호)
+
+    public RankingCommitter(BatchHandler handler) {
+        this.handler = handler;
+        this.thread = new Thread(this::run, "ranking-committer");
+        this.thread.setDaemon(true); // 게임 종료를 막지 않도록 데몬 스레드
+        this.thread.start();
+    }
+
+    public CompletableFuture<Boolean> submit(String fileName, boolean hasDifficulty, RankingManager.RankingEntry entry) {
+        Request request = new Request(fileName, hasDifficulty, entry);
+        synchronized (this) {
+            if (stopped) {
+                request.result.completeExceptionally(stoppedException());
+                return request.result;
+            }
+            pending++;
+            queue.add(request); // stopped 확인과 같은 잠금 안에서 넣어야 abort의 drain에서 빠지지 않는다
+        }
+        return request.result;
+    }
+
+    // 대기 중인 요청이 모두 반영될 때까지 최대 timeoutMs 기다린다. 모두 끝났으면 true
+    public synchronized boolean awaitIdle(long timeoutMs) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        long remaining;
+        while (pending > 0 && (remaining = deadline - System.nanoTime()) > 0) {
+            try {
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return pending == 0;
+    }
+
+    private synchronized void completed(int count) {
+        pending -= count;
+        if (pending == 0) notifyAll();
+    }
+
+    private void run() {
+        List<Request> batch = new ArrayList<>();
+        while (true) {
+            try {
+                batch.add(queue.take()); // 첫 요청이 올 때까지 대기
+                // 같은 순간에 끝난 다른 게임의 저장 요청을 잠깐 더 모은다
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Settings.RANKING_GROUP_COMMIT_WINDOW_MS);
+                long remaining;
+                while ((remaining = deadline - System.nanoTime()) > 0) {
+                    Request next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+                queue.drainTo(batch);
+                commitBatch(batch);
+            } catch (InterruptedException e) {
+                abort(batch);
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // 인터럽트로 멈출 때: 모으던 요청과 큐에 남은 요청을 모두 예외로 끝내고 대기 수에서 뺀다
+    private void abort(List<Request> batch) {
+        synchronized (this) {
+            stopped = true;
+            queue.drainTo(batch);
+        }
+        IllegalStateException e = stoppedException();
+        for (Request r : batch) r.result.completeExceptionally(e);
+        completed(batch.size());
+    }
+
+    private static IllegalStateException stoppedException() {
+        return new IllegalStateException("랭킹 저장 스레드가 중단되었습니다.");
+    }
+
+    // 보드별로 묶어 한 번씩 반영하고, 각 요청의 future를 완료시킨다
+    private void commitBatch(List<Request> batch) {
+        Map<String, List<Request>> byFile = new LinkedHashMap<>();
+        for (Request r : batch) {
+            byFile.computeIfAbsent(r.fileName, k -> new ArrayList<>()).add(r);
+        }
+        for (List<Request> requests : byFile.values()) {
+            List<RankingManager.RankingEntry> entries = new ArrayList<>(requests.size());
+            for (Request r : requests) entries.add(r.entry);
+            try {
+                boolean[] updated = handler.commit(requests.get(0).fileName, requests.get(0).hasDifficulty, entries);
+                for (int i = 0; i < requests.size(); i++) requests.get(i).result.complete(updated[i]);
+            } catch (RuntimeException e) {
+                for (Request r : requests) r.result.completeExceptionally(e);
+            } finally {
+                completed(requests.size());
+            }
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package taprun.core;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/*
+ * 랭킹 변경분만 한 줄씩 덧붙이는(append-only) 저널 파일.
+ * - 업서트 1건 = 레코드 1줄 추가 → 보드 크기와 무관하게 저장 비용이 일정
+ * - 시작 시 스냅샷(Ranking_*.txt) 위에 저널을 재적용(replay)해 현재 상태를 복원
+ * - 컴팩션: 저널을 .old로 돌려놓고(rotate) 새 스냅샷을 쓴 뒤 .old를 삭제
+ *   스냅샷 쓰기 도중 종료되더라도 .old가 남아 있어 다음 시작 시 함께 재적용된다.
+ * - 여러 프로세스가 같은 저널을 공유하므로, 어디까지 읽었는지(readOffset)를 기억해 두고
+ *   파일 잠금 안에서 다른 프로세스가 덧붙인 꼬리만 읽어 온다.
+ *   readOffset은 그 위치를 읽은 저널(readFile)에만 유효하다. 다른 프로세스가 컴팩션해 저널이 새로 만들어졌으면
+ *   (이후 덧붙인 내용이 옛 위치보다 길어져도) 이전 저널과 새 저널을 처음부터 다시 읽는다.
+ *   저널은 첫 줄의 머리글로 구분한다(삭제된 파일의 inode 번호는 새 저널에 다시 쓰일 수 있어 파일 식별자로는 부족).
+ *
+ * 형식(UTF-8, 줄 단위):
+ *   첫 줄(머리글): #journal\t저널마다 새로 만든 UUID
+ *   레코드(탭 구분, 이름은 마지막 필드라 " - " 등 어떤 문자도 허용): 기록(초)\t난이도(없으면 빈 문자열)\tyyyy-MM-dd HH:mm:ss\t이름
+ */
+public class RankingJournal {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final String HEADER_PREFIX = "#journal\t";
+    private static final int HEADER_BYTES = 64; // 머리글을 찾을 때 읽는 앞부분 크기(머리글 + 개행보다 크게)
+    private static final Object UNREAD = new Object(); // 아직 읽지 않음(다음 readNew는 처음부터)
+
+    private final Path journalPath; // 현재 저널
+    private final Path rotatedPath; // 컴팩션 중인 이전 저널
+    private int pendingRecords; // 마지막 컴팩션 이후 덧붙인 레코드 수
+    private long readOffset; // 현재 저널에서 이미 반영한 바이트 위치
+    private Object readFile = UNREAD; // readOffset을 읽은 저널의 식별자(저널이 없었으면 null)
+
+    public RankingJournal(Path journalPath) {
+        this.journalPath = journalPath;
+        this.rotatedPath = journalPath.resolveSibling(journalPath.getFileName() + ".old");
+    }
+
+    public int getPendingRecords() { return pendingRecords; }
+
+    // 여러 레코드를 한 번의 쓰기 + 한 번의 fsync로 저널 끝에 덧붙인다(group commit).
+    // 호출자는 파일 잠금을 잡고 readNew로 꼬리를 따라잡은 상태여야 한다. 저널을 새로 만들면 머리글을 먼저 쓴다.
+    public boolean appendAll(List<RankingManager.RankingEntry> entries) {
+        if (entries.isEmpty()) return true;
+        StringBuilder sb = new StringBuilder();
+        for (RankingManager.RankingEntry entry : entries) {
+            Difficulty difficulty = entry.getDifficulty();
+            sb.append(entry.getTime()).append('\t').append(difficulty == null ? "" : difficulty.name()).append('\t')
+              .append(entry.getDateTime().format(DATE_FORMAT)).append('\t').append(entry.getPlayerName())
+              .append('\n');
+        }
+        try (FileChannel channel = FileChannel.open(journalPath,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE)) {
+            String header = null;
+            if (channel.size() == 0) {
+                header = HEADER_PREFIX + UUID.randomUUID();
+                sb.insert(0, header + '\n');
+            }
+            ByteBuffer buf = ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8));
+            while (buf.hasRemaining()) channel.write(buf);
+            channel.force(false); // 배치 전체에 대해 fsync 한 번
+            readOffset = channel.size(); // 방금 쓴 내용은 이미 메모리에 반영됨
+            if (header != null) {
+                readFile = header;
+                RankingManager.syncDirectory(journalPath.getParent()); // 새 저널 이름도 디스크에 남긴다
+            }
+            pendingRecords += entries.size();
+            return true;
+        } catch (IOException e) {
+            System.err.println("랭킹 저널 기록 실패: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // 스냅샷 이후의 변경분(이전 저널 → 현재 저널 순서)을 읽어 온다
+    public List<RankingManager.RankingEntry> readAll(boolean hasDifficulty) {
+        resetOffset();
+        return readNew(hasDifficulty);
+    }
+
+    // 다음 readNew가 이전 저널과 현재 저널을 처음부터 다시 읽게 한다(다른 프로세스가 스냅샷을 다시 쓴 것을 본 경우)
+    public void resetOffset() {
+        readOffset = 0;
+        readFile = UNREAD;
+    }
+
+    // 마지막으로 읽은 위치 이후에 (다른 프로세스가) 덧붙인 레코드만 읽어 온다.
+    // 저널이 다른 파일로 바뀌었거나(회전) 더 짧아졌다면 다른 프로세스가 컴팩션한 것이므로,
+    // 남아 있는 이전 저널(컴팩션이 끝나지 못한 경우)과 현재 저널을 처음부터 다시 읽는다. 이미 반영한 기록은 업서트 규칙상 무해하다.
+    public List<RankingManager.RankingEntry> readNew(boolean hasDifficulty) {
+        List<RankingManager.RankingEntry> records = new ArrayList<>();
+        Object file = identity();
+        if (!Objects.equals(file, readFile)) {
+            readFile = file;
+            readOffset = 0;
+            pendingRecords = 0;
+            readInto(rotatedPath, hasDifficulty, records);
+        }
+        if (file != null) readTail(hasDifficulty, records);
+        pendingRecords += records.size();
+        return records;
+    }
+
+    // 현재 저널의 readOffset 이후를 읽어 out에 덧붙인다
+    private void readTail(boolean hasDifficulty, List<RankingManager.RankingEntry> out) {
+        try (FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < readOffset) readOffset = 0;
+            if (size == readOffset) return;
+
+            ByteBuffer buf = ByteBuffer.allocate((int) (size - readOffset));
+            channel.position(readOffset);
+            while (buf.hasRemaining() && channel.read(buf) >= 0) { }
+            byte[] bytes = buf.array();
+            int lineStart = 0;
+            for (int i = 0; i < buf.position(); i++) {
+                if (bytes[i] != '\n') continue;
+                int end = (i > lineStart && bytes[i - 1] == '\r') ? i - 1 : i;
+                parseLine(new String(bytes, lineStart, end - lineStart, StandardCharsets.UTF_8), hasDifficulty, out);
+                lineStart = i + 1;
+            }
+            readOffset += lineStart; // 개행으로 끝나지 않은 꼬리는 다음에 다시 읽는다
+        } catch (IOException e) {
+            System.err.println("랭킹 저널 로드 실패: " + e.getMessage());
+        }
+    }
+
+    // 현재 저널의 식별자: 머리글 줄. 머리글이 없는 예전 저널은 파일 식별자(장치+inode, 없으면 생성 시각). 저널이 없으면 null
+    private Object identity() {
+        try (FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.READ)) {
+            ByteBuffer buf = ByteBuffer.allocate(HEADER_BYTES);
+            while (buf.hasRemaining() && channel.read(buf) >= 0) { }
+            String head = new String(buf.array(), 0, buf.position(), StandardCharsets.UTF_8);
+            int end = head.indexOf('\n');
+            if (head.startsWith(HEADER_PREFIX) && end > 0) return head.substring(0, end);
+            BasicFileAttributes attrs = Files.readAttributes(journalPath, BasicFileAttributes.class);
+            return attrs.fileKey() != null ? attrs.fileKey() : attrs.creationTime();
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            System.err.println("랭킹 저널 확인 실패: " + e.getMessage());
+            return readFile; // 확인할 수 없으면 지금 위치에서 계속
+        }
+    }
+
+    private static void readInto(Path path, boolean hasDifficulty, List<RankingManager.RankingEntry> out) {
+        if (!Files.exists(path)) return;
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                parseLine(line, hasDifficulty, out);
+            }
+        } catch (IOException e) {
+            System.err.println("랭킹 저널 로드 실패: " + e.getMessage());
+        }
+    }
+
+    private static void parseLine(String line, boolean hasDifficulty, List<RankingManager.RankingEntry> out) {
+        if (line.isEmpty() || line.startsWith(HEADER_PREFIX)) return;
+        String[] parts = line.split("\t", 4);
+        try {
+            if (parts.length < 4) throw new IllegalArgumentException("필드 부족");
+            double time = Double.parseDouble(parts[0]);
+            LocalDateTime dateTime = LocalDateTime.parse(parts[2], DATE_FORMAT);
+            Difficulty difficulty = Difficulty.parse(parts[1]);
+            if (hasDifficulty && difficulty == null) throw new IllegalArgumentException("알 수 없는 난이도");
+            out.add(hasDifficulty
+                    ? new RankingManager.RankingEntry(parts[3], time, difficulty, dateTime)
+                    : new RankingManager.RankingEntry(parts[3], time, dateTime));
+        } catch (RuntimeException e) { // 잘린 마지막 줄 등 손상 레코드는 스킵
+            System.err.println("랭킹 저널 라인 파싱 오류: " + line);
+        }
+    }
+
+    // 컴팩션 1단계: 현재 저널을 .old로 옮겨 이후 업서트가 새 저널에 쌓이도록 한다.
+    // 호출자는 보드 잠금 안에서 스냅샷 복사와 함께 호출해야 한다.
+    public boolean rotate() throws IOException {
+        if (Files.exists(rotatedPath)) {
+            // 이전 컴팩션이 끝나지 못함 → 두 저널을 합쳐 .old 하나로 유지
+            if (Files.exists(journalPath)) {
+                Files.write(rotatedPath, Files.readAllBytes(journalPath), StandardOpenOption.APPEND);
+                Files.delete(journalPath);
+            }
+        } else if (Files.exists(journalPath)) {
+            Files.move(journalPath, rotatedPath, StandardCopyOption.ATOMIC_MOVE);
+        } else {
+            return false;
+        }
+        pendingRecords = 0;
+        readOffset = 0;
+        readFile = null; // 현재 저널 없음. 이후 새로 생기면 처음부터 읽는다
+        return true;
+    }
+
+    // 컴팩션 2단계: 새 스냅샷이 디스크에 반영된 뒤(내용 fsync + 이름 교체 후 디렉터리 fsync) 이전 저널 삭제
+    public void completeCompaction() {
+        try {
+            Files.deleteIfExists(rotatedPath);
+        } catch (IOException e) {
+            System.err.println("랭킹 저널 정리 실패: " + e.getMessage());
+        }
+    }
+}
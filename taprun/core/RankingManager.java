@@ -3,17 +3,27 @@ package taprun.core;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 public class RankingManager {
     // 랭킹 파일이 저장될 폴더 이름
@@ -22,23 +32,22 @@ public class RankingManager {
     private static final String RACE_MODE_FILE = "Ranking_RaceMode.txt";
     private static final String MONSTER_MODE_FILE = "Ranking_MonsterMode.txt";
     private static final String VSAI_MODE_FILE = "Ranking_VsAiMode.txt";
+    // 저널 모드에서 변경분이 쌓이는 파일 확장자(Ranking_*.txt → Ranking_*.journal)
+    private static final String JOURNAL_SUFFIX = ".journal";
+    // 바이너리 스냅샷 확장자(Ranking_*.txt → Ranking_*.bin)
+    private static final String BINARY_SUFFIX = ".bin";
+    // 프로세스 간 읽기-수정-쓰기 직렬화용 잠금 파일 확장자(Ranking_*.txt → Ranking_*.lock)
+    private static final String LOCK_SUFFIX = ".lock";
+    // 화면에 보여 줄 랭킹 개수(VsAI는 난이도별)
+    private static final int DISPLAY_TOP_K = 20;
     // 날짜와 시간을 저장할 때 사용할 형식 지정
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
-    // 난이도 고정 순서(정렬/표시/저장 모두 일관)
-    // - 문자열 정렬이 아닌 명시적 우선순위를 부여해 EASY < NORMAL < HARD 로 일괄 정렬
-    private static final Map<String, Integer> DIFF_ORDER = new HashMap<>();
-    static {
-        DIFF_ORDER.put("EASY", 0);
-        DIFF_ORDER.put("NORMAL", 1);
-        DIFF_ORDER.put("HARD", 2);
-    }
-
     // 랭킹에 들어갈 한 사람의 기록을 저장하는 클래스입니다.
     public static class RankingEntry {
         private String playerName; // 플레이어 이름
         private double time; // 기록(초 단위) — 낮을수록 좋음
-        private String difficulty; // 대전 모드의 난이도 (Race/Monster 모드에서는 빈 문자열)
+        private Difficulty difficulty; // 대전 모드의 난이도 (Race/Monster 모드에서는 null)
         private LocalDateTime dateTime; // 기록이 저장된 날짜와 시간
 
         // Race/Monster 모드용 생성자 (난이도 없음)
@@ -46,11 +55,10 @@ public class RankingManager {
             this.playerName = playerName;
             this.time = time;
             this.dateTime = dateTime;
-            this.difficulty = "";
         }
 
         // VsAiMode(대전 모드)용 생성자 (난이도 포함)
-        public RankingEntry(String playerName, double time, String difficulty, LocalDateTime dateTime) {
+        public RankingEntry(String playerName, double time, Difficulty difficulty, LocalDateTime dateTime) {
             this.playerName = playerName;
             this.time = time;
             this.difficulty = difficulty;
@@ -60,7 +68,7 @@ public class RankingManager {
         // 접근자 — 파일 저장/표시/정렬 시 사용
         public String getPlayerName() { return playerName; }
         public double getTime() { return time; }
-        public String getDifficulty() { return difficulty; }
+        public Difficulty getDifficulty() { return difficulty; }
         public LocalDateTime getDateTime() { return dateTime; }
     }
 
@@ -78,141 +86,423 @@ public class RankingManager {
         }
     }
 
-    // 동일 이름의 기존 기록이 있으면 더 좋은(=더 작은) time일 때 갱신, 없으면 추가
-    private static boolean upsertTimeByName(List<RankingEntry> list, RankingEntry newEntry) {
-        int existingIdx = -1;
-        for (int i = 0; i < list.size(); i++) {
-            RankingEntry e = list.get(i);
-            if (e.getPlayerName().equals(newEntry.getPlayerName())) {
-                existingIdx = i;
-                break;
+    // 모드별 상주 랭킹 보드(파일 이름 → 보드). 최초 접근 시 한 번만 파일에서 로드
+    private static final Map<String, Leaderboard> BOARDS = new HashMap<>();
+    // 일반 모드 정렬: 시간 오름차순(빠른 순)
+    private static final Comparator<RankingEntry> TIME_ORDER = Comparator.comparingDouble(RankingEntry::getTime);
+    // 같은 JVM 안에서 파일 잠금 구간을 직렬화(FileChannel.lock은 같은 프로세스 내 중복 잠금을 허용하지 않음)
+    private static final Object IO_LOCK = new Object();
+    private static ScheduledExecutorService flusher; // write-behind 백그라운드 플러셔(최초 보드 로드 시 시작)
+    // 저장 요청을 모아 한 번의 잠금/쓰기/fsync로 반영하는 group commit 스레드(게임 스레드 대신 디스크 I/O 담당)
+    private static final RankingCommitter COMMITTER = new RankingCommitter(RankingManager::commitBatch);
+    static {
+        // 비정상 종료 경로에서도 대기 중인 저장 요청과 미반영 변경분을 내려쓴다
+        Runtime.getRuntime().addShutdownHook(new Thread(RankingManager::flushAll, "ranking-shutdown-flush"));
+    }
+
+    // 파일 이름에 해당하는 보드를 돌려준다. 처음이면 파일에서 로드해 상주시킨다.
+    private static synchronized Leaderboard getBoard(String fileName, boolean hasDifficulty) {
+        Leaderboard board = BOARDS.get(fileName);
+        if (board == null) {
+            initializeRankingDirectory();
+            // 다른 프로세스의 컴팩션 도중 스냅샷/저널을 어긋나게 읽지 않도록 잠금 안에서 로드
+            board = withFileLock(fileName, () -> {
+                Leaderboard b = new Leaderboard(fileName, hasDifficulty, loadSnapshot(fileName, hasDifficulty));
+                b.setSnapshotStamp(snapshotStamp(fileName));
+                if (Settings.RANKING_USE_JOURNAL) {
+                    // 스냅샷 + 저널 재적용으로 현재 상태 복원
+                    b.attachJournal(new RankingJournal(Paths.get(RANKING_DIR, journalFileName(fileName))));
+                }
+                return b;
+            });
+            BOARDS.put(fileName, board);
+            startFlusher();
+        }
+        return board;
+    }
+
+    private static String journalFileName(String fileName) {
+        return fileName.substring(0, fileName.lastIndexOf('.')) + JOURNAL_SUFFIX;
+    }
+
+    private static String binaryFileName(String fileName) {
+        return fileName.substring(0, fileName.lastIndexOf('.')) + BINARY_SUFFIX;
+    }
+
+    private static String lockFileName(String fileName) {
+        return fileName.substring(0, fileName.lastIndexOf('.')) + LOCK_SUFFIX;
+    }
+
+    // 모드별 잠금 파일(Ranking_*.lock)을 배타적으로 잡은 상태에서 action 실행
+    // - 같은 JVM의 스레드끼리는 IO_LOCK으로, 프로세스끼리는 FileChannel.lock으로 직렬화
+    // - 잠금 파일을 열 수 없는 환경(읽기 전용 등)에서는 경고 후 잠금 없이 진행
+    private static void withFileLock(String fileName, Runnable action) {
+        withFileLock(fileName, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private static <T> T withFileLock(String fileName, Supplier<T> action) {
+        synchronized (IO_LOCK) {
+            FileChannel channel = null;
+            try {
+                channel = FileChannel.open(Paths.get(RANKING_DIR, lockFileName(fileName)),
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                channel.lock(); // 다른 프로세스가 잡고 있으면 풀릴 때까지 대기
+            } catch (IOException e) {
+                System.err.println("랭킹 파일 잠금 실패(잠금 없이 진행): " + e.getMessage());
+                closeQuietly(channel);
+                channel = null;
             }
+            try {
+                return action.get();
+            } finally {
+                closeQuietly(channel); // 채널을 닫으면 잠금도 해제
+            }
+        }
+    }
+
+    // 디렉터리의 이름 교체/파일 생성을 디스크에 반영(fsync). 파일 내용의 fsync만으로는 새 이름이 남는다는 보장이 없다.
+    // 디렉터리를 채널로 열 수 없는 OS(Windows 등)에서는 건너뛴다.
+    static void syncDirectory(Path dir) {
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // 지원하지 않는 환경
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel == null) return;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("랭킹 잠금 파일 닫기 실패: " + e.getMessage());
+        }
+    }
+
+    // 현재 스냅샷 파일의 "크기@수정시각". 다른 프로세스가 스냅샷을 다시 썼는지 판단하는 데 사용
+    private static String snapshotStamp(String fileName) {
+        Path path = Settings.RANKING_USE_BINARY
+                ? Paths.get(RANKING_DIR, binaryFileName(fileName))
+                : Paths.get(RANKING_DIR, fileName);
+        try {
+            if (!Files.exists(path)) return "";
+            return Files.size(path) + "@" + Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
+    // 다른 프로세스가 디스크에 남긴 변경을 보드에 합친다. 호출자는 withFileLock 안에 있어야 한다.
+    // - 스냅샷이 바뀌었으면(다른 프로세스의 저장/컴팩션) 스냅샷을 병합하고 저널은 처음부터 다시 읽는다
+    //   (컴팩션 뒤 새 저널에 덧붙인 내용이 이 프로세스가 읽었던 위치보다 길어졌을 수 있으므로 위치를 버린다)
+    // - 저널 모드면 마지막으로 읽은 위치 이후의 꼬리만 읽어 병합. 저널이 새로 만들어졌으면 readNew가 처음부터 읽는다
+    private static void syncFromDisk(Leaderboard board) {
+        RankingJournal journal = board.getJournal();
+        String stamp = snapshotStamp(board.getFileName());
+        if (!stamp.equals(board.getSnapshotStamp())) {
+            board.merge(loadSnapshot(board.getFileName(), board.hasDifficulty()), false);
+            board.setSnapshotStamp(stamp);
+            if (journal != null) journal.resetOffset();
         }
-        if (existingIdx >= 0) {
-            // 더 좋은 기록(작은 시간)일 때만 교체
-            if (newEntry.getTime() <= list.get(existingIdx).getTime()) {
-                list.set(existingIdx, newEntry);
-                return true; // 갱신 발생
+        if (journal != null) {
+            board.merge(journal.readNew(board.hasDifficulty()), true);
+        }
+    }
+
+    // group commit 배치 반영(ranking-committer 스레드에서 호출, 최초 저장이면 보드 로드도 여기서)
+    // - 저널 모드: 잠금 → 다른 프로세스 변경 따라잡기 → 메모리 업서트 → 갱신분만 저널에 한 번에 기록 + fsync
+    // - 전체 저장 모드: 메모리에만 반영하고, 파일은 플러셔가 잠금 안에서 병합 저장
+    private static boolean[] commitBatch(String fileName, boolean hasDifficulty, List<RankingEntry> batch) {
+        Leaderboard board = getBoard(fileName, hasDifficulty);
+        boolean[] updated = new boolean[batch.size()];
+        RankingJournal journal = board.getJournal();
+        if (journal == null) {
+            for (int i = 0; i < batch.size(); i++) updated[i] = board.upsert(batch.get(i));
+            return updated;
+        }
+        withFileLock(board.getFileName(), () -> {
+            syncFromDisk(board);
+            List<RankingEntry> changed = new ArrayList<>();
+            for (int i = 0; i < batch.size(); i++) {
+                updated[i] = board.upsert(batch.get(i));
+                if (updated[i]) changed.add(batch.get(i));
             }
-            return false; // 기존이 더 좋음 → 변경 없음
-        } else {
-            list.add(newEntry); // 신규 추가
-            return true;
+            journal.appendAll(changed); // 실패해도 보드는 dirty라 다음 컴팩션 때 스냅샷에 포함
+        });
+        return updated;
+    }
+
+    // 저장 요청을 group commit 큐에 넣고 바로 돌아온다(결과는 future로 전달)
+    private static CompletableFuture<Boolean> submit(String fileName, boolean hasDifficulty, RankingEntry entry) {
+        return COMMITTER.submit(fileName, hasDifficulty, entry);
+    }
+
+    /*
+     * 결과 화면용: 저장을 기다리지 않고, 저장이 끝나면 갱신 여부와 현재 순위를 한 줄로 출력한다.
+     * - 보통 랭킹 스레드에서 실행된다(이미 끝난 저장이면 호출한 스레드에서 바로 실행).
+     * - 순위는 방금 배치를 반영한 상주 보드(loadedBoard)에서만 읽는다 — 보드 로드/파일 읽기 없음
+     * - 한 번의 println으로 출력해 그사이 게임 스레드가 찍는 메뉴와 줄이 섞이지 않게 한다
+     */
+    private static void reportWhenSaved(CompletableFuture<Boolean> saved, String fileName, String playerName,
+            Difficulty difficulty) {
+        saved.whenComplete((updated, error) -> {
+            if (error != null) {
+                System.err.println("랭킹 저장 실패: " + error.getMessage());
+                System.out.println(playerName + "님: 랭킹 저장에 실패했습니다.");
+                return;
+            }
+            StringBuilder sb = new StringBuilder(playerName).append("님: ");
+            sb.append(updated ? "🏆 새로운 기록이 랭킹에 등록되었습니다!" : "아쉽습니다! 기존 기록이 더 높아서 등록되지 않았습니다.");
+            Leaderboard board = loadedBoard(fileName);
+            int rank = board == null ? -1 : board.rankOf(playerName, difficulty);
+            if (rank > 0) {
+                sb.append(' ');
+                if (difficulty != null) sb.append(difficulty).append(" 난이도 ");
+                sb.append("현재 순위: ").append(rank).append('위');
+            }
+            System.out.println(sb);
+        });
+    }
+
+    private static synchronized Leaderboard loadedBoard(String fileName) {
+        return BOARDS.get(fileName);
+    }
+
+    // 랭킹 보기용 상위 목록(난이도별 최대 DISPLAY_TOP_K개)
+    // - 보드가 이미 상주 중이면 다른 프로세스의 변경분만 따라잡고 보드에서 바로 꺼낸다
+    // - 아직 로드 전이면 전체를 올리지 않고, 텍스트 스냅샷에서 섹션별 상위 K개만 스트리밍으로 읽은 뒤
+    //   저널 변경분을 합친다(업서트는 기록을 줄이기만 하므로 "스냅샷 Top-K ∪ 저널"의 Top-K가 곧 전체 Top-K)
+    // - 바이너리 스냅샷은 매핑 로드가 충분히 빠르므로 보드를 올려서 사용
+    private static List<RankingEntry> topForDisplay(String fileName, boolean hasDifficulty) {
+        Leaderboard board = loadedBoard(fileName);
+        if (board == null && Settings.RANKING_USE_BINARY) board = getBoard(fileName, hasDifficulty);
+        if (board != null) {
+            Leaderboard b = board;
+            withFileLock(fileName, () -> syncFromDisk(b));
+            return b.top(DISPLAY_TOP_K); // VsAI는 난이도 파티션별 Top-K
         }
+        initializeRankingDirectory();
+        return withFileLock(fileName, () -> {
+            List<RankingEntry> candidates =
+                    RankingTopReader.read(Paths.get(RANKING_DIR, fileName), hasDifficulty, DISPLAY_TOP_K);
+            if (Settings.RANKING_USE_JOURNAL) {
+                candidates.addAll(new RankingJournal(Paths.get(RANKING_DIR, journalFileName(fileName)))
+                        .readAll(hasDifficulty));
+            }
+            return mergeTop(candidates, hasDifficulty);
+        });
+    }
+
+    // 난이도별 묶음(Difficulty.ordinal() 인덱스, 난이도 없는 모드는 하나)에서 같은 이름은 더 좋은 기록만 남기고,
+    // 묶음마다 시간순 상위 DISPLAY_TOP_K개를 잘라 선언 순서(EASY → NORMAL → HARD)대로 이어 붙인다
+    private static List<RankingEntry> mergeTop(List<RankingEntry> candidates, boolean hasDifficulty) {
+        int partitions = hasDifficulty ? Difficulty.count() : 1;
+        List<Map<String, RankingEntry>> best = new ArrayList<>(partitions);
+        for (int i = 0; i < partitions; i++) best.add(new LinkedHashMap<>());
+        for (RankingEntry e : candidates) {
+            if (hasDifficulty && e.getDifficulty() == null) continue;
+            Map<String, RankingEntry> partition = best.get(hasDifficulty ? e.getDifficulty().ordinal() : 0);
+            RankingEntry prev = partition.get(e.getPlayerName());
+            if (prev == null || e.getTime() <= prev.getTime()) partition.put(e.getPlayerName(), e);
+        }
+        List<RankingEntry> top = new ArrayList<>();
+        for (Map<String, RankingEntry> partition : best) {
+            List<RankingEntry> merged = new ArrayList<>(partition.values());
+            merged.sort(TIME_ORDER);
+            top.addAll(merged.subList(0, Math.min(DISPLAY_TOP_K, merged.size())));
+        }
+        return top;
     }
 
-    // 이름 + 난이도 (VsAiMode 전용)
-    private static boolean upsertTimeByNameAndDiff(List<RankingEntry> list, RankingEntry newEntry) {
-        int existingIdx = -1;
-        for (int i = 0; i < list.size(); i++) {
-            RankingEntry e = list.get(i);
-            if (e.getPlayerName().equals(newEntry.getPlayerName())
-                    && e.getDifficulty().equals(newEntry.getDifficulty())) {
-                existingIdx = i;
-                break;
+    // 스냅샷 로드: 바이너리 모드이고 .bin이 있으면 메모리 매핑으로 읽고,
+    // 없거나 손상되었으면 텍스트 파일에서 읽는다(기존 텍스트 랭킹의 자동 이전)
+    private static List<RankingEntry> loadSnapshot(String fileName, boolean hasDifficulty) {
+        if (Settings.RANKING_USE_BINARY) {
+            Path binPath = Paths.get(RANKING_DIR, binaryFileName(fileName));
+            if (Files.exists(binPath)) {
+                FlightEvents.RankingLoadEvent event = FlightEvents.beginRankingLoad(binPath.toString(), "binary");
+                try {
+                    List<RankingEntry> rankings = RankingBinaryFile.read(binPath, hasDifficulty);
+                    FlightEvents.finish(event, rankings.size());
+                    return rankings;
+                } catch (IOException | RuntimeException e) { // 읽기 중 예상 못 한 손상도 텍스트 파일로 대체
+                    FlightEvents.finish(event, 0);
+                    System.err.println("바이너리 랭킹 로드 실패, 텍스트 파일로 대체: " + e.getMessage());
+                }
             }
         }
-        if (existingIdx >= 0) {
-            if (newEntry.getTime() <= list.get(existingIdx).getTime()) {
-                list.set(existingIdx, newEntry);
-                return true;
+        return loadRankings(fileName, hasDifficulty);
+    }
+
+    // 스냅샷 저장: 바이너리 모드면 .bin을 먼저 쓰고, 텍스트 파일은 사람이 읽는 내보내기용으로 함께 갱신
+    private static boolean saveSnapshot(String fileName, List<RankingEntry> rankings, boolean hasDifficulty) {
+        if (Settings.RANKING_USE_BINARY) {
+            Path binPath = Paths.get(RANKING_DIR, binaryFileName(fileName));
+            FlightEvents.RankingSaveEvent event = FlightEvents.beginRankingSave(binPath.toString(), "binary", rankings.size());
+            try {
+                RankingBinaryFile.write(binPath, rankings);
+                FlightEvents.finish(event, true);
+            } catch (IOException e) {
+                FlightEvents.finish(event, false);
+                System.err.println("바이너리 랭킹 저장 실패: " + e.getMessage());
+                return false;
             }
-            return false;
-        } else {
-            list.add(newEntry);
-            return true;
+        }
+        if (!saveRankings(fileName, rankings, hasDifficulty)) return false;
+        syncDirectory(Paths.get(RANKING_DIR)); // 교체된 이름까지 디스크에 남긴 뒤에야 호출자가 이전 저널(.old)을 지운다
+        return true;
+    }
+
+    // 주기적으로 dirty 보드만 파일로 내려쓰는 데몬 스레드
+    private static void startFlusher() {
+        if (flusher != null) return;
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "ranking-flusher");
+            t.setDaemon(true); // 게임 종료를 막지 않도록 데몬 스레드
+            return t;
+        });
+        flusher.scheduleWithFixedDelay(RankingManager::flushDue,
+                Settings.RANKING_FLUSH_INTERVAL_MS, Settings.RANKING_FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    // 주기 작업: 저널이 없으면 dirty 보드를 바로 저장,
+    // 저널 모드면 저널이 충분히 쌓였거나 컴팩션 주기가 지난 보드만 스냅샷을 다시 쓴다(컴팩션).
+    private static void flushDue() {
+        long now = System.nanoTime();
+        for (Leaderboard board : boardsSnapshot()) {
+            RankingJournal journal = board.getJournal();
+            boolean due = journal == null
+                    || journal.getPendingRecords() >= Settings.RANKING_COMPACT_THRESHOLD
+                    || now - board.getLastPersistNs() >= TimeUnit.MILLISECONDS.toNanos(Settings.RANKING_COMPACT_INTERVAL_MS);
+            if (due) persist(board);
         }
     }
 
+    // 대기 중인 저장 요청을 먼저 반영한 뒤, 변경된(dirty) 보드를 모두 파일에 저장한다.
+    // 종료 직전에도 호출해 미반영 기록이 없도록 한다.
+    public static void flushAll() {
+        if (!COMMITTER.awaitIdle(Settings.RANKING_DRAIN_TIMEOUT_MS)) {
+            System.err.println("랭킹 저장 대기 시간 초과: 일부 기록이 저장되지 않았을 수 있습니다.");
+        }
+        for (Leaderboard board : boardsSnapshot()) {
+            persist(board);
+        }
+    }
+
+    private static synchronized List<Leaderboard> boardsSnapshot() {
+        return new ArrayList<>(BOARDS.values());
+    }
+
+    // 보드 하나의 스냅샷 저장(저널 모드에서는 컴팩션: 저널 회전 → 스냅샷 저장 → 이전 저널 삭제)
+    // - 잠금 안에서 다른 프로세스의 기록을 먼저 병합하므로, 전체 재작성이 남의 기록을 덮어쓰지 않는다
+    private static void persist(Leaderboard board) {
+        withFileLock(board.getFileName(), () -> {
+            syncFromDisk(board);
+            List<RankingEntry> snapshot = board.takeDirtySnapshot();
+            if (snapshot == null) return; // 변경 없음
+            if (saveSnapshot(board.getFileName(), snapshot, board.hasDifficulty())) {
+                board.snapshotPersisted();
+                board.setSnapshotStamp(snapshotStamp(board.getFileName()));
+            } else {
+                board.markDirty(); // 실패하면 다음 주기에 재시도(저널 모드라면 이전 저널도 그대로 보존)
+            }
+        });
+    }
+
     // 달리기 경주 모드
-    public static boolean saveRaceModeRanking(String playerName, double time) {
+    // - 저장은 group commit 스레드가 처리하고 게임 스레드는 기다리지 않는다(결과 안내는 reportWhenSaved)
+    // - 순위표는 랭킹 메뉴에서 본다(게임 직후 게임 스레드에서 보드를 읽어 오지 않음)
+    public static CompletableFuture<Boolean> saveRaceModeRanking(String playerName, double time) {
         if (playerName == null || playerName.trim().isEmpty()) { // 이름이 없으면 등록 불가
             System.out.println("플레이어 이름이 입력되지 않아 랭킹에 등록되지 않습니다.");
-            return false;
+            return CompletableFuture.completedFuture(false);
         }
-        initializeRankingDirectory();
-        List<RankingEntry> rankings = loadRankings(RACE_MODE_FILE, false); // 기존 전체 로드
-        boolean updated = upsertTimeByName(rankings, new RankingEntry(playerName, time, LocalDateTime.now()));
-        rankings.sort(Comparator.comparingDouble(RankingEntry::getTime));   // 시간 오름차순(빠른 순)
-        saveRankings(RACE_MODE_FILE, rankings, false); // 전체 저장(Top N 제한 없음)
-        System.out.println(updated ? "🏆 새로운 기록이 랭킹에 등록되었습니다!" :
-                                     "아쉽습니다! 기존 기록이 더 높아서 등록되지 않았습니다.");
-        showTopRankings(rankings, "달리기 경주 모드", false); // 화면 출력은 Top 20으로 제한
-        return updated;
+        CompletableFuture<Boolean> saved = saveRaceModeRankingQuiet(playerName, time);
+        reportWhenSaved(saved, RACE_MODE_FILE, playerName, null);
+        return saved;
     }
 
-    public static boolean saveRaceModeRankingQuiet(String playerName, double time) {
-        if (playerName == null || playerName.trim().isEmpty()) return false;
-        initializeRankingDirectory();
-        List<RankingEntry> rankings = loadRankings(RACE_MODE_FILE, false);
-        boolean updated = upsertTimeByName(rankings, new RankingEntry(playerName, time, LocalDateTime.now()));
-        rankings.sort(Comparator.comparingDouble(RankingEntry::getTime));
-        saveRankings(RACE_MODE_FILE, rankings, false); // 조용히 저장만(출력 X)
-        return updated;
+    public static CompletableFuture<Boolean> saveRaceModeRankingQuiet(String playerName, double time) {
+        if (playerName == null || playerName.trim().isEmpty()) return CompletableFuture.completedFuture(false);
+        return submit(RACE_MODE_FILE, false, new RankingEntry(playerName, time, LocalDateTime.now()));
     }
 
     // 몬스터 모드
-    public static boolean saveMonsterModeRanking(String playerName, double totalTime) {
+    public static CompletableFuture<Boolean> saveMonsterModeRanking(String playerName, double totalTime) {
         if (playerName == null || playerName.trim().isEmpty()) {
             System.out.println("플레이어 이름이 입력되지 않아 랭킹에 등록되지 않습니다.");
-            return false;
+            return CompletableFuture.completedFuture(false);
         }
-        initializeRankingDirectory();
-        List<RankingEntry> rankings = loadRankings(MONSTER_MODE_FILE, false);
-        boolean updated = upsertTimeByName(rankings, new RankingEntry(playerName, totalTime, LocalDateTime.now()));
-        rankings.sort(Comparator.comparingDouble(RankingEntry::getTime));
-        saveRankings(MONSTER_MODE_FILE, rankings, false); // 전체 저장
-        System.out.println(updated ? "🏆 새로운 기록이 랭킹에 등록되었습니다!" :
-                                     "아쉽습니다! 기존 기록이 더 높아서 등록되지 않았습니다.");
-        showTopRankings(rankings, "몬스터 죽이기 모드", false);
-        return updated;
+        CompletableFuture<Boolean> saved = saveMonsterModeRankingQuiet(playerName, totalTime);
+        reportWhenSaved(saved, MONSTER_MODE_FILE, playerName, null);
+        return saved;
     }
 
-    public static boolean saveMonsterModeRankingQuiet(String playerName, double totalTime) {
-        if (playerName == null || playerName.trim().isEmpty()) return false;
-        initializeRankingDirectory();
-        List<RankingEntry> rankings = loadRankings(MONSTER_MODE_FILE, false);
-        boolean updated = upsertTimeByName(rankings, new RankingEntry(playerName, totalTime, LocalDateTime.now()));
-        rankings.sort(Comparator.comparingDouble(RankingEntry::getTime));
-        saveRankings(MONSTER_MODE_FILE, rankings, false); // 전체 저장
-        return updated;
+    public static CompletableFuture<Boolean> saveMonsterModeRankingQuiet(String playerName, double totalTime) {
+        if (playerName == null || playerName.trim().isEmpty()) return CompletableFuture.completedFuture(false);
+        return submit(MONSTER_MODE_FILE, false, new RankingEntry(playerName, totalTime, LocalDateTime.now()));
     }
 
     // VsAiMode
-    public static boolean saveVsAiModeRanking(String playerName, double time, String difficulty) {
+    public static CompletableFuture<Boolean> saveVsAiModeRanking(String playerName, double time, Difficulty difficulty) {
         if (playerName == null || playerName.trim().isEmpty()) {
             System.out.println("플레이어 이름이 입력되지 않아 랭킹에 등록되지 않습니다.");
-            return false;
+            return CompletableFuture.completedFuture(false);
         }
-        initializeRankingDirectory();
-        List<RankingEntry> rankings = loadRankings(VSAI_MODE_FILE, true);
-        boolean updated = upsertTimeByNameAndDiff(rankings,
-                new RankingEntry(playerName, time, difficulty, LocalDateTime.now()));
-
-        // 난이도 → 고정 순서 → 시간 순 정렬
-        // - 다중 정렬 키: (난이도 우선순위) 다음 (기록시간)
-        rankings.sort(Comparator
-                .comparing((RankingEntry e) -> DIFF_ORDER.getOrDefault(e.getDifficulty(), 99))
-                .thenComparingDouble(RankingEntry::getTime));
-
-        saveRankings(VSAI_MODE_FILE, rankings, true); // 전체 저장
-        System.out.println(updated ? "🏆 새로운 기록이 랭킹에 등록되었습니다!" :
-                                     "아쉽습니다! 기존 기록이 더 높아서 등록되지 않았습니다.");
-        showTopRankings(rankings, "대전 모드 (vs AI)", true);
-        return updated;
+        // 이름 + 난이도 기준 업서트, 보드는 (난이도 → 시간) 순서를 유지
+        CompletableFuture<Boolean> saved =
+                submit(VSAI_MODE_FILE, true, new RankingEntry(playerName, time, difficulty, LocalDateTime.now()));
+        reportWhenSaved(saved, VSAI_MODE_FILE, playerName, difficulty);
+        return saved;
+    }
+
+    // 플레이어의 현재 순위(1부터). 기록이 없으면 -1 — 순위 인덱스로 O(log n) 조회
+    public static int getRaceModeRank(String playerName) {
+        return getBoard(RACE_MODE_FILE, false).rankOf(playerName, null);
+    }
+
+    public static int getMonsterModeRank(String playerName) {
+        return getBoard(MONSTER_MODE_FILE, false).rankOf(playerName, null);
+    }
+
+    public static int getVsAiModeRank(String playerName, Difficulty difficulty) {
+        return getBoard(VSAI_MODE_FILE, true).rankOf(playerName, difficulty);
     }
 
     // 랭킹 파일에서 기록들을 불러오는 메서드
     // 일반 모드 → "[순위] 이름 - 12.34초 (yyyy-MM-dd HH:mm:ss)"
     // VsAI 모드 → 난이도 헤더 라인("=== EASY 난이도 랭킹 ===")를 만나면 이후 레코드에 해당 난이도로 인식
     private static List<RankingEntry> loadRankings(String fileName, boolean hasDifficulty) {
+        return loadRankings(Paths.get(RANKING_DIR, fileName), hasDifficulty);
+    }
+
+    // 경로를 직접 받는 로드(벤치마크 등에서 rankings/ 밖의 파일로 호출). 소요 시간/항목 수는 JFR 이벤트로 남긴다
+    static List<RankingEntry> loadRankings(Path filePath, boolean hasDifficulty) {
+        FlightEvents.RankingLoadEvent event = FlightEvents.beginRankingLoad(filePath.toString(), "text");
+        List<RankingEntry> rankings = readRankings(filePath, hasDifficulty);
+        FlightEvents.finish(event, rankings.size());
+        return rankings;
+    }
+
+    private static List<RankingEntry> readRankings(Path filePath, boolean hasDifficulty) {
         List<RankingEntry> rankings = new ArrayList<>();
-        Path filePath = Paths.get(RANKING_DIR, fileName);
         if (!Files.exists(filePath)) return rankings; // 파일 없으면 빈 목록 반환(초기 상태)
 
+        // 큰 파일은 줄 경계로 나눠 병렬 파싱(결과 순서는 순차 파싱과 같다). 실패하면 아래 순차 파싱으로 재시도
+        try {
+            if (Files.size(filePath) >= Settings.RANKING_PARALLEL_LOAD_MIN_BYTES) {
+                return RankingParallelLoader.load(filePath, hasDifficulty);
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("랭킹 파일 병렬 로드 실패: " + e.getMessage());
+        }
+
         try (BufferedReader reader = Files.newBufferedReader(filePath, StandardCharsets.UTF_8)) {
             String line;
-            String currentDifficulty = "EASY"; // VsAI 모드에서 헤더를 만나기 전 기본값
+            Difficulty currentDifficulty = Difficulty.EASY; // VsAI 모드에서 헤더를 만나기 전 기본값
             while ((line = reader.readLine()) != null) {
                 try {
                     if (line.trim().isEmpty()) continue; // 빈 줄 스킵
@@ -220,35 +510,12 @@ public class RankingManager {
                     // 난이도 헤더
                     if (hasDifficulty && line.startsWith("===") && line.contains("난이도")) {
                         // 헤더 내용에 따라 현재 파싱 난이도를 갱신
-                        if (line.contains("EASY")) currentDifficulty = "EASY";
-                        else if (line.contains("NORMAL")) currentDifficulty = "NORMAL";
-                        else if (line.contains("HARD")) currentDifficulty = "HARD";
+                        Difficulty header = parseDifficultyHeader(line);
+                        if (header != null) currentDifficulty = header;
                         continue; // 헤더 라인은 레코드가 아님
                     }
-                    // [1위] 플레이어명 - 10.25초 (2024-12-22 14:30:52)
-                    if (line.startsWith("[")) {
-                        String withoutRank = line.substring(line.indexOf("]") + 1).trim(); // "[n위]" 제거
-                        String[] parts = withoutRank.split(" - "); // "이름 - 시간초 (날짜)"로 분리
-                        if (parts.length >= 2) {
-                            String name = parts[0].trim();
-                            String timeAndDate = parts[1];
-
-                            int secondsIndex = timeAndDate.indexOf("초");
-                            int openParen = timeAndDate.indexOf("(");
-                            int closeParen = timeAndDate.indexOf(")");
-                            // 안전하게 위치 검사 후 파싱
-                            if (secondsIndex > 0 && openParen > secondsIndex && closeParen > openParen) {
-                                double time = Double.parseDouble(timeAndDate.substring(0, secondsIndex));
-                                String dateStr = timeAndDate.substring(openParen + 1, closeParen);
-                                LocalDateTime dateTime = LocalDateTime.parse(dateStr, DATE_FORMAT);
-                                if (hasDifficulty) {
-                                    rankings.add(new RankingEntry(name, time, currentDifficulty, dateTime));
-                                } else {
-                                    rankings.add(new RankingEntry(name, time, dateTime));
-                                }
-                            }
-                        }
-                    }
+                    RankingEntry entry = parseRankingLine(line, currentDifficulty, hasDifficulty);
+                    if (entry != null) rankings.add(entry);
                 } catch (Exception e) { // 잘못된 라인은 스킵하고 다음으로 진행
                     System.err.println("랭킹 파일 라인 파싱 오류: " + line);
                 }
@@ -260,36 +527,91 @@ public class RankingManager {
         return rankings;
     }
 
-    // 랭킹 정보를 파일에 저장 (전체 저장)
+    // 레코드 한 줄 파싱: [1위] 플레이어명 - 10.25초 (2024-12-22 14:30:52)
+    // - 레코드 형식이 아니면 null, 숫자/날짜가 깨졌으면 예외(호출자가 스킵 처리)
+    static RankingEntry parseRankingLine(String line, Difficulty difficulty, boolean hasDifficulty) {
+        if (!line.startsWith("[")) return null;
+        String withoutRank = line.substring(line.indexOf("]") + 1).trim(); // "[n위]" 제거
+        String[] parts = withoutRank.split(" - "); // "이름 - 시간초 (날짜)"로 분리
+        if (parts.length < 2) return null;
+        String name = parts[0].trim();
+        String timeAndDate = parts[1];
+
+        int secondsIndex = timeAndDate.indexOf("초");
+        int openParen = timeAndDate.indexOf("(");
+        int closeParen = timeAndDate.indexOf(")");
+        // 안전하게 위치 검사 후 파싱
+        if (secondsIndex <= 0 || openParen <= secondsIndex || closeParen <= openParen) return null;
+        double time = Double.parseDouble(timeAndDate.substring(0, secondsIndex));
+        String dateStr = timeAndDate.substring(openParen + 1, closeParen);
+        LocalDateTime dateTime = LocalDateTime.parse(dateStr, DATE_FORMAT);
+        return hasDifficulty
+                ? new RankingEntry(name, time, difficulty, dateTime)
+                : new RankingEntry(name, time, dateTime);
+    }
+
+    // 레코드 줄의 기록(초)만 읽는다(parseRankingLine과 같은 위치 규칙, 이름/날짜는 만들지 않음). 읽을 수 없으면 NaN
+    static double parseRankingTime(String line) {
+        if (!line.startsWith("[")) return Double.NaN;
+        int separator = line.indexOf(" - ", line.indexOf("]") + 1);
+        if (separator < 0) return Double.NaN;
+        int secondsIndex = line.indexOf("초", separator + 3);
+        if (secondsIndex < 0) return Double.NaN;
+        try {
+            return Double.parseDouble(line.substring(separator + 3, secondsIndex));
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    // 난이도 헤더 라인("=== EASY 난이도 랭킹 ===")이면 해당 난이도, 아니면 null
+    static Difficulty parseDifficultyHeader(String line) {
+        if (!line.startsWith("===") || !line.contains("난이도")) return null;
+        for (Difficulty d : Difficulty.values()) {
+            if (line.contains(d.name())) return d;
+        }
+        return null;
+    }
+
+    // 랭킹 정보를 파일에 저장 (전체 저장). 성공 여부 반환
     // - 출력은 Top 20로 제한하지만, 파일에는 전체를 보존해 이력 관리/재정렬 등에 유리
-    private static void saveRankings(String fileName, List<RankingEntry> rankings, boolean hasDifficulty) {
-        Path filePath = Paths.get(RANKING_DIR, fileName);
-        try (BufferedWriter writer = Files.newBufferedWriter(filePath, StandardCharsets.UTF_8)) {
-            if (hasDifficulty) {
-                // 난이도별 그룹으로 나눠 저장
-                Map<String, List<RankingEntry>> difficultyGroups = new HashMap<>();
-                for (RankingEntry entry : rankings) {
-                    difficultyGroups.computeIfAbsent(entry.getDifficulty(), k -> new ArrayList<>()).add(entry);
-                }
-                String[] difficulties = {"EASY", "NORMAL", "HARD"};
-                for (String diff : difficulties) {
-                    List<RankingEntry> list = difficultyGroups.get(diff);
-                    if (list == null || list.isEmpty()) continue;
+    // - VsAI 목록은 (난이도 → 시간) 순이어야 한다(Leaderboard 파티션 순서 그대로)
+    private static boolean saveRankings(String fileName, List<RankingEntry> rankings, boolean hasDifficulty) {
+        return saveRankings(Paths.get(RANKING_DIR, fileName), rankings, hasDifficulty);
+    }
 
-                    writer.write("=== " + diff + " 난이도 랭킹 ===");
-                    writer.newLine();
+    // 경로를 직접 받는 저장(임시 파일은 같은 디렉터리에 만든다). 소요 시간/항목 수는 JFR 이벤트로 남긴다
+    static boolean saveRankings(Path filePath, List<RankingEntry> rankings, boolean hasDifficulty) {
+        FlightEvents.RankingSaveEvent event = FlightEvents.beginRankingSave(filePath.toString(), "text", rankings.size());
+        boolean saved = writeRankings(filePath, rankings, hasDifficulty);
+        FlightEvents.finish(event, saved);
+        return saved;
+    }
 
-                    list.sort(Comparator.comparingDouble(RankingEntry::getTime)); // 각 난이도 내 시간순
-                    // 전체 저장 (상위 N 제한 제거)
-                    for (int i = 0; i < list.size(); i++) {
-                        RankingEntry e = list.get(i);
-                        writer.write(String.format("[%d위] %s - %.2f초 (%s)",
-                                i + 1, e.getPlayerName(), e.getTime(),
-                                e.getDateTime().format(DATE_FORMAT)));
+    private static boolean writeRankings(Path filePath, List<RankingEntry> rankings, boolean hasDifficulty) {
+        // 임시 파일에 모두 쓰고 fsync한 뒤 원자적으로 교체 → 쓰는 도중 종료되거나 전원이 나가도 기존 스냅샷이 깨지지 않음
+        Path tempPath = filePath.resolveSibling(filePath.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tempPath,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             BufferedWriter writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8))) {
+            if (hasDifficulty) {
+                // 목록은 이미 (난이도 → 시간) 순이므로 난이도가 바뀔 때 헤더만 넣으며 그대로 흘려 쓴다
+                Difficulty section = null;
+                int rank = 0;
+                for (RankingEntry e : rankings) {
+                    if (e.getDifficulty() != section) {
+                        if (section != null) writer.newLine(); // 난이도 섹션 간 공백 라인
+                        section = e.getDifficulty();
+                        rank = 0;
+                        writer.write("=== " + section + " 난이도 랭킹 ===");
                         writer.newLine();
                     }
-                    writer.newLine(); // 난이도 섹션 간 공백 라인
+                    writer.write(String.format("[%d위] %s - %.2f초 (%s)",
+                            ++rank, e.getPlayerName(), e.getTime(),
+                            e.getDateTime().format(DATE_FORMAT)));
+                    writer.newLine();
                 }
+                if (section != null) writer.newLine();
             } else {
                 // 일반 랭킹 전체 저장
                 for (int i = 0; i < rankings.size(); i++) {
@@ -300,29 +622,39 @@ public class RankingManager {
                     writer.newLine();
                 }
             }
+            writer.flush();
+            channel.force(true); // 교체 전에 내용이 디스크에 있어야 교체 후 빈/잘린 스냅샷이 보이지 않는다
         } catch (IOException e) {
             System.err.println("랭킹 파일 저장 실패: " + e.getMessage());
             System.out.println("랭킹 저장에 실패했습니다. 디스크 용량/권한을 확인해주세요.");
+            return false;
+        }
+        try {
+            Files.move(tempPath, filePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException e) {
+            System.err.println("랭킹 파일 저장 실패: " + e.getMessage());
+            System.out.println("랭킹 저장에 실패했습니다. 디스크 용량/권한을 확인해주세요.");
+            return false;
         }
     }
 
+    // 랭킹 보기: 상주 보드가 있으면 보드에서, 없으면 스트리밍 Top-K 리더로(전체 로드/재정렬 없음)
     public static void showRaceModeRanking() {
-        List<RankingEntry> rankings = loadRankings(RACE_MODE_FILE, false);
-        showTopRankings(rankings, "달리기 경주 모드", false);
+        showTopRankings(topForDisplay(RACE_MODE_FILE, false), "달리기 경주 모드", false);
     }
 
     public static void showMonsterModeRanking() {
-        List<RankingEntry> rankings = loadRankings(MONSTER_MODE_FILE, false);
-        showTopRankings(rankings, "몬스터 죽이기 모드", false);
+        showTopRankings(topForDisplay(MONSTER_MODE_FILE, false), "몬스터 죽이기 모드", false);
     }
 
     public static void showVsAiModeRanking() {
-        List<RankingEntry> rankings = loadRankings(VSAI_MODE_FILE, true);
-        showTopRankings(rankings, "대전 모드 (vs AI)", true);
+        showTopRankings(topForDisplay(VSAI_MODE_FILE, true), "대전 모드 (vs AI)", true);
     }
 
     // 화면 출력은 Top 20만
     // - 파일에는 전체 기록을 저장하되, 사용자에게는 상위 20개만 보여 UI 과밀을 방지
+    // - VsAI 목록은 (난이도 → 시간) 순이어야 한다(Leaderboard.top / mergeTop 결과)
     private static void showTopRankings(List<RankingEntry> rankings, String gameMode, boolean hasDifficulty) {
         System.out.println("\n=== " + gameMode + " 랭킹 ===");
         if (rankings.isEmpty()) {
@@ -330,27 +662,23 @@ public class RankingManager {
             return;
         }
         if (hasDifficulty) {
-            // 난이도별로 묶어서 각 섹션의 상위 20개만 출력
-            Map<String, List<RankingEntry>> groups = new HashMap<>();
+            // 목록은 이미 (난이도 → 시간) 순: 난이도가 바뀔 때 소제목만 넣고 섹션별 상위 20개 출력
+            Difficulty section = null;
+            int rank = 0;
             for (RankingEntry e : rankings) {
-                groups.computeIfAbsent(e.getDifficulty(), k -> new ArrayList<>()).add(e);
-            }
-            String[] difficulties = {"EASY", "NORMAL", "HARD"};
-            for (String diff : difficulties) {
-                List<RankingEntry> list = groups.get(diff);
-                if (list == null || list.isEmpty()) continue;
-                System.out.println("\n--- " + diff + " 난이도 ---");
-                list.sort(Comparator.comparingDouble(RankingEntry::getTime));
-                for (int i = 0; i < Math.min(20, list.size()); i++) {
-                    RankingEntry e = list.get(i);
-                    System.out.printf("[%d위] %s - %.2f초 (%s)\n",
-                            i + 1, e.getPlayerName(), e.getTime(),
-                            e.getDateTime().format(DATE_FORMAT));
+                if (e.getDifficulty() != section) {
+                    section = e.getDifficulty();
+                    rank = 0;
+                    System.out.println("\n--- " + section + " 난이도 ---");
                 }
+                if (++rank > DISPLAY_TOP_K) continue;
+                System.out.printf("[%d위] %s - %.2f초 (%s)\n",
+                        rank, e.getPlayerName(), e.getTime(),
+                        e.getDateTime().format(DATE_FORMAT));
             }
         } else {
             // 단일 랭킹: 상위 20개만 출력
-            for (int i = 0; i < Math.min(20, rankings.size()); i++) {
+            for (int i = 0; i < Math.min(DISPLAY_TOP_K, rankings.size()); i++) {
                 RankingEntry e = rankings.get(i);
                 System.out.printf("[%d위] %s - %.2f초 (%s)\n",
                         i + 1, e.getPlayerName(), e.getTime(),
@@ -0,0 +1,200 @@
+package taprun.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/*
+ * 대용량 랭킹 텍스트 파일의 병렬 로더.
+ * - 파일을 줄 경계에 맞춘 바이트 구간(chunk)으로 나누고, ForkJoinPool에서 구간별로 파싱한 뒤 순서대로 합친다.
+ * - VsAI 파일은 "=== EASY 난이도 랭킹 ===" 헤더가 이후 줄의 난이도를 정하므로 2단계로 처리한다.
+ *   1) 구간마다 마지막 헤더만 빠르게 훑어(바이트 비교) 각 구간의 시작 난이도를 앞 구간들로부터 계산
+ *   2) 시작 난이도를 알고 있는 상태로 모든 구간을 병렬 파싱
+ * - 줄 해석 규칙은 RankingManager.loadRankings와 동일(빈 줄/헤더/깨진 줄 스킵)
+ */
+public class RankingParallelLoader {
+
+    private static final long MIN_CHUNK_BYTES = 1L << 20; // 구간 최소 크기(1MB)
+    private static final int BOUNDARY_PROBE_BYTES = 4096; // 줄 경계 탐색 시 한 번에 읽는 크기
+
+    private RankingParallelLoader() {}
+
+    public static List<RankingManager.RankingEntry> load(Path path, boolean hasDifficulty) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long[] bounds = splitOnLines(channel);
+            int chunks = bounds.length - 1;
+            ForkJoinPool pool = ForkJoinPool.commonPool();
+
+            // 1단계: 각 구간의 시작 난이도 결정(앞 구간의 마지막 헤더를 이어받음)
+            Difficulty[] startDifficulty = new Difficulty[chunks];
+            if (hasDifficulty) {
+                List<Object> lastHeaders = pool.invoke(new ChunkTask(channel, bounds, 0, chunks, null, true));
+                Difficulty current = Difficulty.EASY; // 헤더를 만나기 전 기본값
+                for (int i = 0; i < chunks; i++) {
+                    startDifficulty[i] = current;
+                    if (lastHeaders.get(i) != null) current = (Difficulty) lastHeaders.get(i);
+                }
+            }
+
+            // 2단계: 구간별 병렬 파싱 → 파일 순서대로 이어 붙이기
+            List<Object> parsed = pool.invoke(new ChunkTask(channel, bounds, 0, chunks, startDifficulty, false));
+            List<RankingManager.RankingEntry> rankings = new ArrayList<>();
+            for (Object o : parsed) {
+                @SuppressWarnings("unchecked")
+                List<RankingManager.RankingEntry> part = (List<RankingManager.RankingEntry>) o;
+                rankings.addAll(part);
+            }
+            return rankings;
+        }
+    }
+
+    // 파일을 코어 수에 맞춰 나누되, 각 경계를 다음 줄 시작으로 밀어 줄이 잘리지 않게 한다
+    private static long[] splitOnLines(FileChannel channel) throws IOException {
+        long size = channel.size();
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        int chunks = (int) Math.max(1, Math.min(size / MIN_CHUNK_BYTES, parallelism * 4L));
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        ByteBuffer probe = ByteBuffer.allocate(BOUNDARY_PROBE_BYTES);
+        for (int i = 1; i < chunks; i++) {
+            long pos = Math.max(size * i / chunks, bounds.get(bounds.size() - 1));
+            long lineStart = nextLineStart(channel, pos, probe);
+            if (lineStart > bounds.get(bounds.size() - 1) && lineStart < size) bounds.add(lineStart);
+        }
+        bounds.add(size);
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) result[i] = bounds.get(i);
+        return result;
+    }
+
+    private static long nextLineStart(FileChannel channel, long pos, ByteBuffer probe) throws IOException {
+        long size = channel.size();
+        while (pos < size) {
+            probe.clear();
+            int n = channel.read(probe, pos);
+            if (n <= 0) break;
+            for (int i = 0; i < n; i++) {
+                if (probe.get(i) == '\n') return pos + i + 1;
+            }
+            pos += n;
+        }
+        return size;
+    }
+
+    /*
+     * 구간 [from, to)를 절반씩 나눠 처리하고 결과를 구간 순서대로 이어 붙이는 작업.
+     * - headersOnly: 구간별 마지막 헤더 난이도(없으면 null)를 돌려준다
+     * - 아니면: 구간별 파싱 결과 목록을 돌려준다
+     */
+    private static class ChunkTask extends RecursiveTask<List<Object>> {
+        private static final long serialVersionUID = 1L;
+
+        private final FileChannel channel;
+        private final long[] bounds;
+        private final int from;
+        private final int to;
+        private final Difficulty[] startDifficulty;
+        private final boolean headersOnly;
+
+        ChunkTask(FileChannel channel, long[] bounds, int from, int to, Difficulty[] startDifficulty, boolean headersOnly) {
+            this.channel = channel;
+            this.bounds = bounds;
+            this.from = from;
+            this.to = to;
+            this.startDifficulty = startDifficulty;
+            this.headersOnly = headersOnly;
+        }
+
+        @Override
+        protected List<Object> compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                ChunkTask left = new ChunkTask(channel, bounds, from, mid, startDifficulty, headersOnly);
+                ChunkTask right = new ChunkTask(channel, bounds, mid, to, startDifficulty, headersOnly);
+                left.fork();
+                List<Object> result = new ArrayList<>(right.compute());
+                result.addAll(0, left.join());
+                return result;
+            }
+            List<Object> result = new ArrayList<>(1);
+            try {
+                MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY,
+                        bounds[from], bounds[from + 1] - bounds[from]);
+                result.add(headersOnly ? lastHeader(buf) : parse(buf, startDifficulty));
+            } catch (IOException e) {
+                throw new RuntimeException("랭킹 파일 구간 매핑 실패: " + e.getMessage(), e);
+            }
+            return result;
+        }
+
+        // 구간 안의 마지막 난이도 헤더. "===" 로 시작하는 줄만 문자열로 풀어 본다.
+        private Difficulty lastHeader(MappedByteBuffer buf) {
+            Difficulty last = null;
+            byte[] scratch = new byte[256];
+            int limit = buf.limit();
+            int lineStart = 0;
+            while (lineStart < limit) {
+                int lineEnd = lineEnd(buf, lineStart, limit);
+                if (lineEnd - lineStart >= 3 && buf.get(lineStart) == '='
+                        && buf.get(lineStart + 1) == '=' && buf.get(lineStart + 2) == '=') {
+                    Difficulty header = RankingManager.parseDifficultyHeader(decode(buf, lineStart, lineEnd, scratch));
+                    if (header != null) last = header;
+                }
+                lineStart = lineEnd + 1;
+            }
+            return last;
+        }
+
+        // 난이도 없는 파일은 startDifficulty가 모두 null
+        private List<RankingManager.RankingEntry> parse(MappedByteBuffer buf, Difficulty[] startDifficulty) {
+            boolean hasDifficulty = startDifficulty[from] != null;
+            Difficulty currentDifficulty = startDifficulty[from];
+            List<RankingManager.RankingEntry> rankings = new ArrayList<>();
+            byte[] scratch = new byte[256];
+            int limit = buf.limit();
+            int lineStart = 0;
+            while (lineStart < limit) {
+                int lineEnd = lineEnd(buf, lineStart, limit);
+                String line = decode(buf, lineStart, lineEnd, scratch);
+                lineStart = lineEnd + 1;
+                try {
+                    if (line.trim().isEmpty()) continue; // 빈 줄 스킵
+                    if (hasDifficulty && line.startsWith("===") && line.contains("난이도")) {
+                        Difficulty header = RankingManager.parseDifficultyHeader(line);
+                        if (header != null) currentDifficulty = header;
+                        continue; // 헤더 라인은 레코드가 아님
+                    }
+                    RankingManager.RankingEntry entry =
+                            RankingManager.parseRankingLine(line, currentDifficulty, hasDifficulty);
+                    if (entry != null) rankings.add(entry);
+                } catch (Exception e) { // 잘못된 라인은 스킵하고 다음으로 진행
+                    System.err.println("랭킹 파일 라인 파싱 오류: " + line);
+                }
+            }
+            return rankings;
+        }
+
+        private static int lineEnd(MappedByteBuffer buf, int from, int limit) {
+            int i = from;
+            while (i < limit && buf.get(i) != '\n') i++;
+            return i;
+        }
+
+        // [start, end) 바이트를 UTF-8 문자열로(끝의 \r 제거)
+        private static String decode(MappedByteBuffer buf, int start, int end, byte[] scratch) {
+            if (end > start && buf.get(end - 1) == '\r') end--;
+            int len = end - start;
+            byte[] bytes = len <= scratch.length ? scratch : new byte[len];
+            for (int i = 0; i < len; i++) bytes[i] = buf.get(start + i);
+            return new String(bytes, 0, len, StandardCharsets.UTF_8);
+        }
+    }
+}
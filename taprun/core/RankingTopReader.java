@@ -0,0 +1,124 @@
+package taprun.core;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/*
+ * 랭킹 텍스트 파일에서 난이도 섹션별 상위 K개만 읽어 오는 스트리밍 리더.
+ * - 파일은 섹션 안에서 시간순으로 저장되어 있으므로, 섹션마다 K개가 모이면 그 섹션의 나머지 줄은 기록(초)만 읽어
+ *   K번째 기록보다 느린지(순서가 맞는지) 확인하고 이름/날짜 파싱과 객체 생성은 건너뛴다.
+ * - 섹션 안에서 순서가 어긋난 줄을 만나면(K개가 모인 뒤라도) 그 섹션은 크기 K의 최대 힙으로 전환해 끝까지 파싱한다
+ *   (손으로 고친 파일 등 정렬 안 된 파일 대비).
+ * - 같은 이름은 가장 좋은 기록 하나만 남긴다.
+ */
+public class RankingTopReader {
+
+    private static final Comparator<RankingManager.RankingEntry> BY_TIME =
+            Comparator.comparingDouble(RankingManager.RankingEntry::getTime);
+
+    // 섹션(난이도) 하나의 상위 K 수집 상태
+    private static class Section {
+        final List<RankingManager.RankingEntry> sorted = new ArrayList<>(); // 정렬 상태로 들어온 앞부분
+        final Set<String> names = new HashSet<>(); // sorted에 있는 이름(순서가 맞으면 앞에 나온 기록이 더 좋음)
+        PriorityQueue<RankingManager.RankingEntry> heap; // 순서가 어긋난 뒤에는 최대 힙(가장 느린 기록이 top)
+        Map<String, RankingManager.RankingEntry> heapByName;
+
+        boolean isFull(int k) {
+            return heap == null && sorted.size() >= k;
+        }
+
+        // 정렬 상태로 모은 마지막(가장 느린) 기록
+        double lastTime() {
+            return sorted.isEmpty() ? Double.NEGATIVE_INFINITY : sorted.get(sorted.size() - 1).getTime();
+        }
+
+        void add(RankingManager.RankingEntry e, int k) {
+            if (heap == null) {
+                if (e.getTime() >= lastTime()) {
+                    // 순서가 맞음: 같은 이름이 이미 있으면 그쪽이 더 좋은 기록. 가득 찼으면 상위 K에 들 수 없음
+                    if (sorted.size() < k && names.add(e.getPlayerName())) sorted.add(e);
+                    return;
+                }
+                // 정렬되지 않은 섹션 → 지금까지 모은 것을 힙으로 옮기고 끝까지 읽는다
+                heap = new PriorityQueue<>(k + 1, BY_TIME.reversed());
+                heapByName = new HashMap<>();
+                for (RankingManager.RankingEntry prev : sorted) {
+                    heap.add(prev);
+                    heapByName.put(prev.getPlayerName(), prev);
+                }
+                sorted.clear();
+            }
+            RankingManager.RankingEntry same = heapByName.get(e.getPlayerName());
+            if (same != null) {
+                if (same.getTime() <= e.getTime()) return;
+                heap.remove(same);
+            }
+            heap.add(e);
+            heapByName.put(e.getPlayerName(), e);
+            if (heap.size() > k) {
+                heapByName.remove(heap.poll().getPlayerName()); // 가장 느린 기록 탈락
+            }
+        }
+
+        List<RankingManager.RankingEntry> result() {
+            if (heap == null) return sorted;
+            List<RankingManager.RankingEntry> list = new ArrayList<>(heap);
+            list.sort(BY_TIME);
+            return list;
+        }
+    }
+
+    private RankingTopReader() {}
+
+    // 섹션별 상위 k개를 (난이도 순 → 시간 순)으로 돌려준다. 파일이 없으면 빈 목록
+    // - 섹션은 Difficulty.ordinal() 인덱스 배열(난이도 없는 모드는 섹션 하나)
+    public static List<RankingManager.RankingEntry> read(Path path, boolean hasDifficulty, int k) {
+        Section[] sections = new Section[hasDifficulty ? Difficulty.count() : 1];
+        for (int i = 0; i < sections.length; i++) sections[i] = new Section();
+        if (!Files.exists(path)) return new ArrayList<>();
+
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            Difficulty currentDifficulty = hasDifficulty ? Difficulty.EASY : null; // 헤더를 만나기 전 기본값(loadRankings와 동일)
+            Section current = sections[0];
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) continue;
+                if (hasDifficulty && line.startsWith("===")) {
+                    Difficulty header = RankingManager.parseDifficultyHeader(line);
+                    if (header != null) {
+                        currentDifficulty = header;
+                        current = sections[header.ordinal()];
+                    }
+                    continue;
+                }
+                // 가득 찬 섹션: 기록만 읽어 K번째보다 느리면 건너뜀. 더 빠르면(순서 어긋남) 아래에서 파싱해 힙으로 전환
+                // (기록을 읽을 수 없는 줄도 아래의 전체 파싱으로 넘겨 같은 방식으로 스킵/오류 출력)
+                if (current.isFull(k) && RankingManager.parseRankingTime(line) >= current.lastTime()) continue;
+                try {
+                    RankingManager.RankingEntry entry =
+                            RankingManager.parseRankingLine(line, currentDifficulty, hasDifficulty);
+                    if (entry != null) current.add(entry, k);
+                } catch (RuntimeException e) { // 잘못된 라인은 스킵
+                    System.err.println("랭킹 파일 라인 파싱 오류: " + line);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("랭킹 파일 로드 실패: " + e.getMessage());
+        }
+
+        List<RankingManager.RankingEntry> top = new ArrayList<>();
+        for (Section section : sections) top.addAll(section.result());
+        return top;
+    }
+}
@@ -0,0 +1,70 @@
+package taprun.core;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/*
+ * 터미널 원시(non-canonical) 모드 전환/복구.
+ * - stty로 줄 단위 버퍼링(icanon)과 터미널 에코를 끄면, Enter를 누르는 즉시 바이트가 프로그램에 도착한다.
+ * - 원래 설정(stty -g)을 보관해 두었다가 종료 시 복구한다(정상 종료, 예외 종료, Ctrl+C 모두 셧다운 훅으로 처리).
+ *   kill -9처럼 훅이 돌 수 없는 종료 뒤에는 셸에서 `stty sane`으로 복구해야 한다.
+ * - 콘솔이 없거나(파이프/리다이렉트) Windows처럼 stty가 없는 환경에서는 전환하지 않는다.
+ */
+public class RawTerminal {
+
+    private static String savedState; // 전환 전 터미널 설정(null이면 원시 모드 아님)
+    private static boolean hookInstalled;
+
+    private RawTerminal() {}
+
+    // 원시 모드로 전환. 성공하면 true(이미 전환된 상태도 true)
+    public static synchronized boolean enable() {
+        if (savedState != null) return true;
+        if (System.console() == null || System.getProperty("os.name", "").toLowerCase().startsWith("windows")) {
+            return false;
+        }
+        try {
+            String state = stty("-g").trim();
+            stty("-icanon -echo min 1 time 0"); // 1바이트만 와도 read 반환, 에코는 ConsoleInput이 직접 처리
+            savedState = state;
+            if (!hookInstalled) {
+                Runtime.getRuntime().addShutdownHook(new Thread(RawTerminal::restore, "raw-terminal-restore"));
+                hookInstalled = true;
+            }
+            return true;
+        } catch (IOException e) {
+            System.err.println("터미널 원시 모드 전환 실패: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // 원래 터미널 설정으로 복구(여러 번 호출해도 안전)
+    public static synchronized void restore() {
+        if (savedState == null) return;
+        try {
+            stty(savedState);
+        } catch (IOException e) {
+            System.err.println("터미널 설정 복구 실패: " + e.getMessage());
+        }
+        savedState = null;
+    }
+
+    public static synchronized boolean isEnabled() {
+        return savedState != null;
+    }
+
+    // 제어 터미널(/dev/tty)을 대상으로 stty 실행 후 출력 반환
+    private static String stty(String args) throws IOException {
+        Process process = new ProcessBuilder("sh", "-c", "stty " + args + " < /dev/tty")
+                .redirectErrorStream(true)
+                .start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        try {
+            if (process.waitFor() != 0) throw new IOException("stty " + args + ": " + output.trim());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("stty 실행 중 인터럽트", e);
+        }
+        return output;
+    }
+}
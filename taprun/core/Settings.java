@@ -7,6 +7,7 @@ public class Settings {
     public static final double VSAI_STEP_PER_TAP_M = 1.00; // 탭 1회당 이동 거리(m)
     public static final double VSAI_QUIET_GAP_SEC = 0.06; // 연속 입력 간 최소 간격(초) - 홀드 방지
     public static final int VSAI_TRACK_COLS = 50; // 트랙 칸 수
+    public static final int VSAI_RENDER_FPS = 20; // 대전 화면을 다시 그리는 초당 프레임 수(탭 수와 무관)
 
     public static final boolean VSAI_USE_EMOJI = true; // 콘솔이 이모지 미지원이면 false로 전환
     public static final String VSAI_CELL_FILL = "—"; // 트랙 바닥
@@ -21,7 +22,40 @@ public class Settings {
     public static final double VSAI_AI_TPS_NORMAL = 5.0;
     public static final double VSAI_AI_TPS_HARD = 9.0;
 
+    // RaceMode
+    public static final int RACE_TAP_COUNT = 20; // 완주에 필요한 '빈 Enter' 횟수(=트랙 길이)
+
     // Monster Mode
     public static final double MONSTER_TIME_LIMIT_SEC = 7.0; // 제한 시간(초)
     public static final int MONSTER_DAMAGE_PER_HIT = 10; // 엔터 1회당 데미지
+    public static final long MONSTER_COUNTDOWN_REFRESH_MS = 100; // 입력이 없어도 HP 바/남은 시간을 다시 그리는 주기(ms)
+
+    // Input
+    // 원시 입력 모드: 터미널 줄 버퍼링 없이 Enter 키 도착 시각을 바로 기록(유닉스 계열 터미널 전용)
+    // 실행 시 -Dtaprun.rawInput=true 로 켠다. 콘솔이 아니거나 stty를 쓸 수 없으면 자동으로 일반 모드
+    public static final boolean INPUT_RAW_MODE = Boolean.getBoolean("taprun.rawInput");
+
+    // Console
+    // 게임 화면을 바뀐 줄만 ANSI 커서 이동으로 덮어쓴다. false면 매 프레임 전체를 새 줄로 출력(ANSI 미지원 콘솔용)
+    public static final boolean CONSOLE_ANSI_RENDER = true;
+
+    // Metrics
+    // 게임이 끝날 때 이번 게임의 탭 간격/화면 출력/입력 대기 p50·p99·최대를 출력(기록 자체는 항상 켜져 있음)
+    public static final boolean METRICS_REPORT_AT_GAME_END = true;
+
+    // Warmup
+    // 시작 시 백그라운드에서 탭 처리/화면 출력 경로를 버리는 출력으로 미리 돌려 JIT 컴파일을 끝내 둔다(첫 게임만 느려지지 않게)
+    public static final boolean WARMUP_ENABLED = true;
+    public static final int WARMUP_TAPS = 20_000; // 경로(모드)별 합성 탭 수 — C2 컴파일 임계값을 넉넉히 넘기는 횟수
+    public static final long WARMUP_MAX_MS = 3_000; // 예열 최대 시간(ms). 넘으면 남은 탭은 건너뛰고, 게임 시작 시에도 이 이상 기다리지 않음
+
+    // Ranking
+    public static final long RANKING_FLUSH_INTERVAL_MS = 500; // 변경된 랭킹 보드를 파일로 내려쓰는 주기(ms)
+    public static final boolean RANKING_USE_JOURNAL = true; // 업서트를 저널에 덧붙이고 스냅샷은 컴팩션 때만 재작성
+    public static final int RANKING_COMPACT_THRESHOLD = 1000; // 저널 레코드가 이만큼 쌓이면 컴팩션
+    public static final long RANKING_COMPACT_INTERVAL_MS = 60_000; // 저널이 작아도 이 주기마다 컴팩션(ms)
+    public static final long RANKING_GROUP_COMMIT_WINDOW_MS = 5; // 동시에 끝난 게임들의 저장 요청을 한 번에 묶는 대기 창(ms)
+    public static final boolean RANKING_USE_BINARY = false; // 스냅샷을 Ranking_*.bin(고정 폭 바이너리)로 저장/로드, 텍스트는 내보내기용
+    public static final long RANKING_DRAIN_TIMEOUT_MS = 10_000; // 종료 시 대기 중인 저장 요청을 기다리는 최대 시간(ms)
+    public static final long RANKING_PARALLEL_LOAD_MIN_BYTES = 8L * 1024 * 1024; // 이보다 큰 텍스트 랭킹 파일은 구간별 병렬 파싱
 }
@@ -0,0 +1,113 @@
+package taprun.core;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * 입력 이벤트용 단일 생산자/단일 소비자(SPSC) 링 버퍼.
+ * - 생산자: 입력 스레드 하나가 (줄 도착 시각, 줄 바이트)를 발행
+ * - 소비자: 게임 스레드 하나가 head 위치의 이벤트를 읽고 advance()로 넘긴다.
+ * - 락 없이 head/tail 카운터만으로 동기화(칸을 채운 뒤 카운터를 올려 발행, 상대편은 카운터를 보고 칸을 읽음)
+ * - 이벤트는 원시 배열 칸에 직접 기록되어 이벤트 객체를 만들지 않는다.
+ *   줄 내용도 칸마다 재사용하는 byte[]에 복사하므로, 빈 Enter 연타 중에는 할당이 전혀 없다.
+ *   (칸 배열은 더 긴 줄이 들어올 때만 늘어난다)
+ * - 비어 있거나 가득 찼을 때만 park로 잠들고, 상대편이 unpark로 깨운다.
+ */
+public class TapRingBuffer {
+
+    private static final int INITIAL_LINE_BYTES = 64; // 칸별 줄 버퍼 초기 크기
+
+    private final long[] timestamps; // 줄이 도착한 시각(System.nanoTime)
+    private final int[] lengths; // 줄 길이(바이트, 0이면 빈 Enter = 탭)
+    private final byte[][] lines; // 칸별 재사용 줄 버퍼(메뉴/이름 입력용 내용)
+    private final int mask;
+
+    private final AtomicLong head = new AtomicLong(); // 다음에 읽을 순번(소비자만 증가)
+    private final AtomicLong tail = new AtomicLong(); // 다음에 쓸 순번(생산자만 증가)
+    private volatile boolean closed; // 생산자 종료(입력 스트림 끝)
+    private volatile Thread waitingConsumer;
+    private volatile Thread waitingProducer;
+
+    // capacity는 2의 거듭제곱으로 올림
+    public TapRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        timestamps = new long[size];
+        lengths = new int[size];
+        lines = new byte[size][INITIAL_LINE_BYTES];
+        mask = size - 1;
+    }
+
+    // 생산자: 이벤트 1건 발행. 가득 차 있으면 소비자가 비울 때까지 기다린다.
+    // 줄 내용은 src[offset, offset + length)에서 칸 버퍼로 복사되므로 호출자는 src를 바로 재사용해도 된다.
+    public void put(long timestampNs, byte[] src, int offset, int length) {
+        long t = tail.get();
+        while (t - head.get() > mask) { // 가득 참
+            waitingProducer = Thread.currentThread();
+            if (t - head.get() > mask) LockSupport.park(this);
+            waitingProducer = null;
+        }
+        int slot = (int) t & mask;
+        timestamps[slot] = timestampNs;
+        if (length > lines[slot].length) lines[slot] = new byte[Math.max(length, lines[slot].length * 2)];
+        System.arraycopy(src, offset, lines[slot], 0, length);
+        lengths[slot] = length;
+        // 칸 기록이 끝난 뒤 발행. 잠든 소비자 확인과의 순서를 보장하려고 lazySet 대신 volatile 쓰기
+        tail.set(t + 1);
+        Thread consumer = waitingConsumer;
+        if (consumer != null) LockSupport.unpark(consumer);
+    }
+
+    // 생산자: 더 이상 이벤트가 없음을 알린다
+    public void close() {
+        closed = true;
+        Thread consumer = waitingConsumer;
+        if (consumer != null) LockSupport.unpark(consumer);
+    }
+
+    // 소비자: 읽을 이벤트가 생길 때까지 기다린다. 입력이 끝났고 남은 이벤트도 없으면 false
+    public boolean await() {
+        return await(Long.MAX_VALUE);
+    }
+
+    // 소비자: 최대 timeoutNs 동안 기다린다. 이벤트가 있으면 true, 시간 초과/입력 종료면 false
+    public boolean await(long timeoutNs) {
+        long deadline = timeoutNs == Long.MAX_VALUE ? Long.MAX_VALUE : System.nanoTime() + timeoutNs;
+        while (!available()) {
+            if (closed) return available(); // 닫히기 직전에 발행된 이벤트 확인
+            long remaining = deadline == Long.MAX_VALUE ? Long.MAX_VALUE : deadline - System.nanoTime();
+            if (remaining <= 0) return false;
+            waitingConsumer = Thread.currentThread();
+            if (!available() && !closed) {
+                if (remaining == Long.MAX_VALUE) LockSupport.park(this);
+                else LockSupport.parkNanos(this, remaining);
+            }
+            waitingConsumer = null;
+        }
+        return true;
+    }
+
+    public boolean await(long timeout, TimeUnit unit) {
+        return await(unit.toNanos(timeout));
+    }
+
+    public boolean available() {
+        return tail.get() != head.get();
+    }
+
+    public boolean isClosed() {
+        return closed && !available();
+    }
+
+    // 소비자: head 이벤트 조회(available()이 true일 때만 호출)
+    public long headTimestamp() { return timestamps[(int) head.get() & mask]; }
+    public int headLength() { return lengths[(int) head.get() & mask]; }
+    public byte[] headBytes() { return lines[(int) head.get() & mask]; } // 앞 headLength() 바이트만 유효, advance 전까지만 유효
+
+    // 소비자: head 이벤트를 다 읽었음을 알리고 칸을 생산자에게 돌려준다
+    public void advance() {
+        head.set(head.get() + 1);
+        Thread producer = waitingProducer;
+        if (producer != null) LockSupport.unpark(producer);
+    }
+}
@@ -126,4 +126,22 @@ public class Utils {
                        "└─────────────┘";
         }
     }
+
+    // value를 소수점 아래 decimals자리(반올림)로 sb에 덧붙인다. String.format("%.2f")와 같은 모양을 할당 없이 만든다
+    public static StringBuilder appendFixed(StringBuilder sb, double value, int decimals) {
+        long scale = 1;
+        for (int i = 0; i < decimals; i++) scale *= 10;
+        // 66.475처럼 이진 표현이 살짝 모자란 경계값도 String.format처럼 올림되도록 아주 작은 여유를 더한다
+        long scaled = (long) Math.floor(Math.abs(value) * scale + 0.5 + 1e-9);
+        if (value < 0 && scaled != 0) sb.append('-');
+        sb.append(scaled / scale);
+        if (decimals > 0) {
+            sb.append('.');
+            long fraction = scaled % scale;
+            for (long digit = scale / 10; digit > 0; digit /= 10) {
+                sb.append((char) ('0' + fraction / digit % 10));
+            }
+        }
+        return sb;
+    }
 }
\ No newline at end of file
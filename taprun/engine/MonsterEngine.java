@@ -0,0 +1,171 @@
+package taprun.engine;
+
+import java.util.Random;
+
+import taprun.core.Settings;
+
+/*
+ * 몬스터 연타 배틀 규칙(콘솔 입출력 없음).
+ * - 경기: 3라운드. 라운드마다 중복 없는 몬스터를 두 플레이어가 차례로 상대하고, 더 빨리 처치한 쪽이 라운드 승리.
+ *   라운드 승수가 많은 플레이어가 최종 우승(동률 시 무승부).
+ * - 전투(Battle): 시작 시각 + 제한 시간이 마감. 빈 Enter 1회당 고정 데미지, 마감 이후 도착한 탭은 실패 처리.
+ *   실패(시간 초과)는 FAIL_TIME_SEC으로 기록되어 합계/랭킹에서 제외된다.
+ * - 랭킹: 3라운드 모두 처치한 플레이어만 합계 시간으로 등록 대상.
+ * - 탭 처리 중 객체를 만들지 않는다. 한 스레드에서만 사용(표시 스레드와 나눠 쓰면 호출 측에서 동기화).
+ */
+public class MonsterEngine {
+
+    public static final int TOTAL_ROUNDS = 3; // 총 3라운드 고정
+    public static final double FAIL_TIME_SEC = 999.99; // 실패는 큰 시간값으로 기록
+
+    // 몬스터 표(이름/HP를 같은 인덱스로 매핑)
+    private static final String[] MONSTER_NAMES = {
+        "박쥐", "슬라임", "버섯", "고블린", "구울",
+        "스켈레톤", "미믹", "오크", "와이번", "골렘"
+    };
+    private static final int[] MONSTER_HPS = {
+        80, 100, 120, 150, 180, 200, 220, 250, 300, 350
+    };
+
+    private final double[][] times = new double[2][TOTAL_ROUNDS]; // [플레이어][라운드] 기록(초)
+    private final int[] wins = new int[2]; // 플레이어별 라운드 승수
+    private int rounds; // 기록된 라운드 수
+
+    public static int monsterCount() { return MONSTER_NAMES.length; }
+    public static String monsterName(int index) { return MONSTER_NAMES[index]; }
+    public static int monsterHp(int index) { return MONSTER_HPS[index]; }
+
+    // 경기에 쓸 라운드 수만큼 중복 없는 몬스터 인덱스를 고른다
+    public static int[] pickMonsters(Random random) {
+        int[] picked = new int[TOTAL_ROUNDS];
+        boolean[] used = new boolean[MONSTER_NAMES.length];
+        for (int round = 0; round < TOTAL_ROUNDS; round++) {
+            int index;
+            do {
+                index = random.nextInt(MONSTER_NAMES.length);
+            } while (used[index]);
+            used[index] = true;
+            picked[round] = index;
+        }
+        return picked;
+    }
+
+    // 새 경기 시작(엔진 재사용)
+    public void reset() {
+        rounds = 0;
+        wins[0] = 0;
+        wins[1] = 0;
+    }
+
+    // 한 라운드 결과 기록. 라운드 승자 0(선공), 1(후공), -1(무승부)
+    public int recordRound(double player1Time, double player2Time) {
+        times[0][rounds] = player1Time;
+        times[1][rounds] = player2Time;
+        rounds++;
+        int winner = RaceEngine.winnerIndex(player1Time, player2Time); // 더 빠른 쪽 승리, 같으면 무승부
+        if (winner >= 0) wins[winner]++;
+        return winner;
+    }
+
+    // 최종 우승자: 0, 1, 또는 -1(승수 동률)
+    public int finalWinner() {
+        if (wins[0] > wins[1]) return 0;
+        if (wins[1] > wins[0]) return 1;
+        return -1;
+    }
+
+    public static boolean isFailure(double time) {
+        return time > 999;
+    }
+
+    // 처치에 성공한 라운드 수
+    public int validRounds(int player) {
+        int valid = 0;
+        for (int r = 0; r < rounds; r++) {
+            if (!isFailure(times[player][r])) valid++;
+        }
+        return valid;
+    }
+
+    // 처치에 성공한 라운드의 합계 시간(실패 라운드 제외)
+    public double totalTime(int player) {
+        double total = 0;
+        for (int r = 0; r < rounds; r++) {
+            if (!isFailure(times[player][r])) total += times[player][r];
+        }
+        return total;
+    }
+
+    // 랭킹 등록 조건: 전 라운드 처치(이름 확인은 호출 측)
+    public boolean rankEligible(int player) {
+        return validRounds(player) == TOTAL_ROUNDS;
+    }
+
+    public int getRounds() { return rounds; }
+    public int getWins(int player) { return wins[player]; }
+    public double getTime(int player, int round) { return times[player][round]; }
+
+    /*
+     * 한 플레이어의 전투 한 판.
+     * - start(최대 HP, 시작 시각) → tap(...) 반복 → 처치(isOver && killed) 또는 expire()/마감 이후 탭으로 실패
+     */
+    public static class Battle {
+        private final long timeLimitNs = (long) (Settings.MONSTER_TIME_LIMIT_SEC * 1_000_000_000L);
+        private final int damagePerHit = Settings.MONSTER_DAMAGE_PER_HIT;
+
+        private int maxHp;
+        private int currentHp;
+        private long startNs;
+        private long endNs; // 마지막 타격 시각
+        private boolean over;
+
+        public void start(int maxHp, long startNs) {
+            this.maxHp = maxHp;
+            this.currentHp = maxHp;
+            this.startNs = startNs;
+            this.endNs = startNs;
+            this.over = false;
+        }
+
+        // 라운드 마감 시각(시작 + 제한 시간)
+        public long deadlineNs() {
+            return startNs + timeLimitNs;
+        }
+
+        // 탭 1회 반영. 빈 줄이면 데미지를 주고 true. 마감 이후에 도착한 탭이면 실패로 끝난다
+        public boolean tap(long tapNs, boolean emptyLine) {
+            if (over) return false;
+            if (tapNs >= deadlineNs()) {
+                expire();
+                return false;
+            }
+            endNs = tapNs;
+            if (!emptyLine) return false; // 빈 엔터만 유효 타격으로 인정
+            currentHp -= damagePerHit;
+            if (currentHp <= 0) { // HP는 0 미만으로 떨어지지 않도록 보정
+                currentHp = 0;
+                over = true;
+            }
+            return true;
+        }
+
+        // 마감까지 처치하지 못함
+        public void expire() {
+            over = true;
+        }
+
+        public boolean isOver() { return over; }
+        public boolean killed() { return currentHp == 0; }
+        public int getMaxHp() { return maxHp; }
+        public int getCurrentHp() { return currentHp; }
+
+        // 처치 시간(초) = 마지막 타격 시각 기준, 실패면 FAIL_TIME_SEC
+        public double getTimeSec() {
+            return killed() ? (endNs - startNs) / 1_000_000_000.0 : FAIL_TIME_SEC;
+        }
+
+        public double getElapsedSec(long nowNs) {
+            return (nowNs - startNs) / 1_000_000_000.0;
+        }
+    }
+}
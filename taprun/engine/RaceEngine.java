@@ -0,0 +1,55 @@
+package taprun.engine;
+
+/*
+ * 달리기 경주 규칙(콘솔 입출력 없음).
+ * - 한 플레이어의 주행: 시작 시각부터 '빈 Enter'를 정해진 횟수만큼 누르는 데 걸린 시간을 잰다.
+ *   글자가 섞인 줄은 무시(시간은 계속 흐름). 기록 = 마지막 유효 탭 도착 시각 - 시작 시각
+ * - 두 기록 비교: 더 빠른 쪽 승리, 같으면 무승부. 두 기록 모두 랭킹 저장 대상(기존보다 좋을 때만 갱신)
+ * - 탭 처리 중 객체를 만들지 않는다. 한 스레드에서만 사용.
+ */
+public class RaceEngine {
+
+    private final int requiredTaps; // 완주에 필요한 유효 탭 수(=트랙 길이)
+
+    private long startNs; // 타이머 시작 시각
+    private long endNs; // 마지막 유효 탭 시각
+    private int count; // 현재까지 유효 탭 수
+
+    public RaceEngine(int requiredTaps) {
+        this.requiredTaps = requiredTaps;
+    }
+
+    // 새 주행 시작(같은 엔진을 두 플레이어/여러 경기에 재사용)
+    public void start(long startNs) {
+        this.startNs = startNs;
+        this.endNs = startNs;
+        this.count = 0;
+    }
+
+    // 탭 1회 반영. 빈 줄이면 유효 탭으로 세고 true, 글자가 섞였거나 이미 완주했으면 false
+    public boolean tap(long tapNs, boolean emptyLine) {
+        if (!emptyLine || isFinished()) return false;
+        count++;
+        endNs = tapNs;
+        return true;
+    }
+
+    public boolean isFinished() {
+        return count >= requiredTaps;
+    }
+
+    // 경과 시간(초) = 마지막 유효 탭 도착 시각 기준
+    public double getTimeSec() {
+        return (endNs - startNs) / 1_000_000_000.0;
+    }
+
+    public int getCount() { return count; }
+    public int getRequiredTaps() { return requiredTaps; }
+
+    // 두 기록의 승자: 0(첫 번째), 1(두 번째), -1(무승부)
+    public static int winnerIndex(double time1, double time2) {
+        if (time1 < time2) return 0;
+        if (time2 < time1) return 1;
+        return -1;
+    }
+}
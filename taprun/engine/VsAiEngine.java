@@ -0,0 +1,112 @@
+package taprun.engine;
+
+import taprun.core.Settings;
+
+/*
+ * AI 대전 규칙(콘솔 입출력 없음).
+ * - 탭 도착 시각(System.nanoTime 기준)을 받아 플레이어/AI 거리와 종료 여부를 계산하는 상태 기계.
+ * - 플레이어: 최소 간격(quiet gap) 이상 떨어진 탭만 1스텝 전진. 처음 결승선에 닿은 시각이 완주 시간.
+ * - AI: 초당 탭 수(TPS)로 시간에 비례해 전진. 이론 완주 시각 = 트랙 길이 / (스텝 × TPS)
+ * - 종료: 플레이어 완주, 또는 AI 이론 완주 시각 도달(탭이 없으면 expire() 호출).
+ * - 승자: 시간 비교(동시 골인은 플레이어 우선). 랭킹은 플레이어가 완주했고 이긴 경우에만.
+ * - 탭 처리 중 객체를 만들지 않으므로 시뮬레이션에서 대량으로 돌릴 수 있다. 한 스레드에서만 사용.
+ */
+public class VsAiEngine {
+
+    private final double aiTps; // AI의 초당 탭 수(TPS)
+    private final double aiFinishTimeSec; // AI가 이론적으로 완주하는 데 걸리는 시간(초)
+    private final long quietGapNs; // 플레이어 탭 유효성 판정용 최소 간격(나노초)
+
+    private long startNs; // 경기 시작 시각
+    private long lastAcceptedNs; // 마지막으로 인정된 탭 시각
+    private double elapsedSec; // 마지막으로 반영된 시점(초)
+    private double playerDistance; // 플레이어 누적 이동 거리(m)
+    private double aiDistance; // AI 누적 이동 거리(m)
+    private double playerFinishTimeSec = -1; // 플레이어 완주 시간(초). 미완주 시 -1
+    private boolean over; // 경기 종료 여부
+
+    public VsAiEngine(double aiTps) {
+        this.aiTps = aiTps;
+        this.aiFinishTimeSec = Settings.VSAI_TRACK_LENGTH_M / (Settings.VSAI_STEP_PER_TAP_M * aiTps);
+        this.quietGapNs = (long) (Settings.VSAI_QUIET_GAP_SEC * 1_000_000_000L);
+    }
+
+    // 새 경기 시작(같은 엔진을 여러 경기에 재사용 가능)
+    public void start(long startNs) {
+        this.startNs = startNs;
+        this.lastAcceptedNs = startNs; // 초기값: 시작 시각
+        this.elapsedSec = 0;
+        this.playerDistance = 0;
+        this.aiDistance = 0;
+        this.playerFinishTimeSec = -1;
+        this.over = false;
+    }
+
+    // AI 이론 완주 시각(나노초). 이 시각까지 탭이 없으면 expire()
+    public long deadlineNs() {
+        return startNs + (long) (aiFinishTimeSec * 1_000_000_000L);
+    }
+
+    // 탭 1회 반영. 플레이어가 한 스텝 전진했으면 true(quiet gap 미달/종료 후 탭은 false)
+    public boolean tap(long tapNs) {
+        if (over) return false;
+        elapsedSec = (tapNs - startNs) / 1_000_000_000.0;
+        aiDistance = aiDistanceAt(elapsedSec);
+
+        // quiet gap 이상 간격이 확보된 경우에만 1스텝 인정 - 홀드/오토 입력 방지
+        boolean accepted = tapNs - lastAcceptedNs >= quietGapNs;
+        if (accepted) {
+            playerDistance += Settings.VSAI_STEP_PER_TAP_M;
+            lastAcceptedNs = tapNs;
+
+            // 플레이어가 처음으로 결승선 이상에 도달한 순간의 시간을 기록
+            if (playerFinishTimeSec < 0 && playerDistance >= Settings.VSAI_TRACK_LENGTH_M) {
+                playerFinishTimeSec = elapsedSec;
+            }
+        }
+        // 종료 판정: 플레이어가 완주했거나, AI 이론 완주 시각이 도래한 경우
+        over = playerFinishTimeSec >= 0 || elapsedSec >= aiFinishTimeSec;
+        return accepted;
+    }
+
+    // 탭 없이 AI 이론 완주 시각에 도달
+    public void expire() {
+        if (over) return;
+        elapsedSec = aiFinishTimeSec;
+        aiDistance = aiDistanceAt(elapsedSec);
+        over = true;
+    }
+
+    // 입력이 끊겨 경기를 그대로 끝냄(마지막 탭 상태 유지)
+    public void abort() {
+        over = true;
+    }
+
+    // AI는 경과 시간에 비례해 이동(트랙 길이를 넘지 않도록). 상태를 바꾸지 않으므로 다른 스레드에서 불러도 된다
+    public double aiDistanceAt(double elapsedSec) {
+        return Math.min(
+                Settings.VSAI_TRACK_LENGTH_M,
+                aiTps * elapsedSec * Settings.VSAI_STEP_PER_TAP_M
+        );
+    }
+
+    // 플레이어가 완주했고 AI 이론 완주 시간보다 같거나 빠르면 승리(동시 골인은 플레이어 우선)
+    public boolean playerWon() {
+        return playerFinishTimeSec >= 0 && playerFinishTimeSec <= aiFinishTimeSec;
+    }
+
+    // 랭킹 등록 조건: 완주 + 승리
+    public boolean rankEligible() {
+        return playerWon();
+    }
+
+    public boolean isOver() { return over; }
+    public boolean playerFinished() { return playerFinishTimeSec >= 0; }
+    public boolean aiFinished() { return aiDistance >= Settings.VSAI_TRACK_LENGTH_M; }
+    public double getElapsedSec() { return elapsedSec; }
+    public double getPlayerDistance() { return playerDistance; }
+    public double getAiDistance() { return aiDistance; }
+    public double getPlayerFinishTimeSec() { return playerFinishTimeSec; }
+    public double getAiFinishTimeSec() { return aiFinishTimeSec; }
+    public double getAiTps() { return aiTps; }
+}
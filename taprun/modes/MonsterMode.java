@@ -1,16 +1,22 @@
 package taprun.modes;
 
+import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
-import java.util.Scanner;
-import java.util.HashSet;
-import java.util.Set;
-
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import taprun.core.ConsoleInput;
+import taprun.core.ConsoleWriter;
+import taprun.core.FlightEvents;
+import taprun.core.Metrics;
 import taprun.core.RankingManager;
 import taprun.core.Settings;
 import taprun.core.Utils;
 import taprun.core.Game;
+import taprun.engine.MonsterEngine;
 
 /* 몬스터 연타 배틀 모드.
  * 두 플레이어가 주사위로 선/후공을 정한 뒤,
@@ -18,6 +24,7 @@ import taprun.core.Game;
  * 총 3라운드를 진행하며, 라운드 승수가 많은 플레이어가 최종 우승한다(동률 시 무승부).
  * 각 라운드의 몬스터는 중복되지 않으며, 실패(시간 초과)는 큰 시간값으로 기록된다.
  * 랭킹은 3경기 모두 완주한 플레이어만 합계 시간 기준으로 등록/갱신된다.
+ * 규칙 판정(타격/마감/라운드 승패/랭킹 대상)은 MonsterEngine이 맡고, 여기서는 입력/화면/저장만 한다.
  */
 
 public class MonsterMode extends Game {
@@ -28,21 +35,23 @@ public class MonsterMode extends Game {
 
     @Override
     public void start() {
-    	start(new Scanner(System.in));
+    	start(new ConsoleInput(System.in));
      	}
 
-    // 외부에서 전달된 Scanner로 동일 입력 스트림(System.in)을 공유하며 시작
-    public void start(Scanner scanner) {
-    	
+    // 외부에서 전달된 콘솔 입력으로 동일 입력 스트림(System.in)을 공유하며 시작
+    public void start(ConsoleInput input) {
+        Metrics.beginGame(Metrics.Mode.MONSTER);
+        FlightEvents.beginGame(Metrics.Mode.MONSTER);
+
         // 선/후공 결정: 주사위 굴리기
         System.out.println("선후공을 정합니다. 각자 주사위를 굴려주세요!");
         System.out.print("플레이어 1, Enter를 눌러 주사위를 굴리세요: ");
-        scanner.nextLine(); // 시작 신호(엔터) 대기
+        input.nextLine(); // 시작 신호(엔터) 대기
         int dice1 = (int)(Math.random() * 6) + 1;
         System.out.println("플레이어 1의 주사위: " + dice1);
         System.out.println(Utils.getDiceArt(dice1));
         System.out.print("플레이어 2, Enter를 눌러 주사위를 굴리세요: ");
-        scanner.nextLine();
+        input.nextLine();
         int dice2 = (int)(Math.random() * 6) + 1;
         System.out.println("플레이어 2의 주사위: " + dice2);
         System.out.println(Utils.getDiceArt(dice2));
@@ -52,13 +61,13 @@ public class MonsterMode extends Game {
             System.out.println("동점! 다시 굴립니다.");
 
             System.out.print("플레이어 1, Enter를 눌러 주사위를 굴리세요: ");
-            scanner.nextLine();
+            input.nextLine();
             dice1 = (int)(Math.random() * 6) + 1;
             System.out.println("플레이어 1의 주사위: " + dice1);
             System.out.println(Utils.getDiceArt(dice1));
 
             System.out.print("플레이어 2, Enter를 눌러 주사위를 굴리세요: ");
-            scanner.nextLine();
+            input.nextLine();
             dice2 = (int)(Math.random() * 6) + 1;
             System.out.println("플레이어 2의 주사위: " + dice2);
             System.out.println(Utils.getDiceArt(dice2));
@@ -69,19 +78,21 @@ public class MonsterMode extends Game {
         if (dice1 > dice2) {
             System.out.println("플레이어 1이 선공입니다!");
             System.out.print("플레이어 1 이름을 입력하세요: ");
-            playerOrder[0] = scanner.nextLine().trim();
+            playerOrder[0] = input.nextLine().trim();
             System.out.print("플레이어 2 이름을 입력하세요: ");
-            playerOrder[1] = scanner.nextLine().trim();
+            playerOrder[1] = input.nextLine().trim();
         } else {
             System.out.println("플레이어 2가 선공입니다!");
             System.out.print("플레이어 2 이름을 입력하세요: ");
-            playerOrder[0] = scanner.nextLine().trim();
+            playerOrder[0] = input.nextLine().trim();
             System.out.print("플레이어 1 이름을 입력하세요: ");
-            playerOrder[1] = scanner.nextLine().trim();
+            playerOrder[1] = input.nextLine().trim();
         }
 
-        GameCore game = new GameCore(scanner, playerOrder[0], playerOrder[1]);
+        GameCore game = new GameCore(input, playerOrder[0], playerOrder[1]);
         game.start();
+        FlightEvents.endGame(game.getFinalWinner().isEmpty() ? "무승부" : game.getFinalWinner());
+        Metrics.endGame();
     }
 
     // RoundResult: 각 라운드의 결과를 저장
@@ -101,19 +112,20 @@ public class MonsterMode extends Game {
 
     // Game: 게임의 전체 흐름(라운드 진행, 요약/랭킹 반영)
     static class GameCore {
-        private final int TOTAL_ROUNDS = 3; // 총 3라운드 고정
+        private final int TOTAL_ROUNDS = MonsterEngine.TOTAL_ROUNDS; // 총 3라운드 고정
 
         private BattlePlayer player1; // 선공 플레이어
         private BattlePlayer player2; // 후공 플레이어
         private List<RoundResult> results; // 라운드별 결과 리스트
-        private final Scanner scanner; // 입력용 Scanner(공유)
+        private final ConsoleInput input; // 콘솔 입력(공유)
         private String finalWinner; // 최종 우승자 이름(무승부면 빈 문자열)
+        private final MonsterEngine match = new MonsterEngine(); // 라운드 승수/합계/랭킹 대상 판정
 
-        public GameCore(Scanner scanner, String firstPlayerName, String secondPlayerName) {
+        public GameCore(ConsoleInput input, String firstPlayerName, String secondPlayerName) {
             this.player1 = new BattlePlayer(firstPlayerName);
             this.player2 = new BattlePlayer(secondPlayerName);
             this.results = new ArrayList<>();
-            this.scanner = scanner;
+            this.input = input;
         }
 
         public void start() {
@@ -123,10 +135,10 @@ public class MonsterMode extends Game {
             System.out.printf("총 %d 라운드를 진행합니다.\n", TOTAL_ROUNDS);
             System.out.println("같은 몬스터를 더 빨리 잡는 플레이어가 라운드를 승리합니다.");
             System.out.println("시작하려면 Enter를 누르세요...");
-            scanner.nextLine(); // 시작 전 대기
+            input.nextLine(); // 시작 전 대기
 
-            // 이번 경기에서 이미 등장한 몬스터 이름을 기억하여 중복 방지
-            Set<String> usedMonsterNames = new HashSet<>();
+            // 라운드별 몬스터를 중복 없이 미리 고른다
+            int[] roundMonsters = MonsterEngine.pickMonsters(new Random());
 
             for (int i = 1; i <= TOTAL_ROUNDS; i++) {
                 System.out.printf("\n--- 라운드 %d / %d ---\n", i, TOTAL_ROUNDS);
@@ -134,21 +146,13 @@ public class MonsterMode extends Game {
                 // 선공 시작 키(1) 확인 루프 — 잘못된 입력이면 안내 후 재요청
                 System.out.println("선공 플레이어가 게임을 시작하려면 '1'을 입력한 후 엔터를 누르세요.");
                 while (true) {
-                    String input = scanner.nextLine().trim();
-                    if (input.equals("1")) break;
+                    String key = input.nextLine().trim();
+                    if (key.equals("1")) break;
                     System.out.println("'1'을 입력한 후 엔터를 눌러야 게임이 시작됩니다.");
                 }
 
-                // 라운드용 몬스터를 중복되지 않게 랜덤 선택
-                Monster roundMonster;
-                while (true) {
-                    roundMonster = Monster.createRandomMonster();
-                    if (!usedMonsterNames.contains(roundMonster.getName())) {
-                        usedMonsterNames.add(roundMonster.getName());
-                        break;
-                    }
-                }
-                Battle battle = new Battle(scanner);
+                Monster roundMonster = Monster.of(roundMonsters[i - 1]);
+                Battle battle = new Battle(input, i);
 
                 // 선공 플레이어 전투
                 double p1_time = battle.start(player1, roundMonster);
@@ -157,26 +161,21 @@ public class MonsterMode extends Game {
                 // 후공 시작 키(2) 확인 루프
                 System.out.println("후공 플레이어가 게임을 시작하려면 '2'를 입력한 후 엔터를 누르세요.");
                 while (true) {
-                    String input = scanner.nextLine().trim();
-                    if (input.equals("2")) break;
+                    String key = input.nextLine().trim();
+                    if (key.equals("2")) break;
                     System.out.println("'2'를 입력한 후 엔터를 눌러야 게임이 시작됩니다.");
                 }
 
-                // 동일 몬스터로 공정하게 재도전(HP 리셋)
-                roundMonster.resetHp();
+                // 동일 몬스터로 공정하게 재도전(전투 시작 시 HP가 최대치로 설정됨)
                 double p2_time = battle.start(player2, roundMonster);
                 System.out.printf("%s의 기록: %.2f초\n", player2.getName(), p2_time);
 
                 // 라운드 승자 판정 및 결과 누적
                 String roundWinnerName;
-                if (p1_time < p2_time) {
-                    player1.addWin();
-                    roundWinnerName = player1.getName();
-                    System.out.printf("\n>> 라운드 %d의 승자는 %s입니다! <<\n", i, player1.getName());
-                } else if (p2_time < p1_time) {
-                    player2.addWin();
-                    roundWinnerName = player2.getName();
-                    System.out.printf("\n>> 라운드 %d의 승자는 %s입니다! <<\n", i, player2.getName());
+                int roundWinner = match.recordRound(p1_time, p2_time);
+                if (roundWinner >= 0) {
+                    roundWinnerName = (roundWinner == 0 ? player1 : player2).getName();
+                    System.out.printf("\n>> 라운드 %d의 승자는 %s입니다! <<\n", i, roundWinnerName);
                 } else {
                     roundWinnerName = "무승부";
                     System.out.println("\n>> 이번 라운드는 무승부입니다! <<\n");
@@ -186,12 +185,12 @@ public class MonsterMode extends Game {
 
                 // 현재 스코어 보드 출력
                 System.out.printf("현재 스코어 - %s: %d승 | %s: %d승\n",
-                        player1.getName(), player1.getWins(), player2.getName(), player2.getWins());
+                        player1.getName(), match.getWins(0), player2.getName(), match.getWins(1));
 
                 // 마지막 라운드가 아니면 다음 라운드로 넘어가기 전 대기
                 if (i < TOTAL_ROUNDS) {
                     System.out.println("다음 라운드를 진행하려면 Enter를 누르세요...");
-                    scanner.nextLine();
+                    input.nextLine();
                 }
             }
             // 전체 경기 요약 및 최종 결과 출력/랭킹 반영
@@ -204,51 +203,40 @@ public class MonsterMode extends Game {
             System.out.println(" 경기 결과 요약 ");
             System.out.println("===============================");
 
-            double player1TotalTime = 0; // 성공 라운드 합계
-            double player2TotalTime = 0;
-            int player1ValidRounds = 0; // 성공 라운드 수(실패=999.xx 제외)
-            int player2ValidRounds = 0;
+            double player1TotalTime = match.totalTime(0); // 성공 라운드 합계(실패 라운드 제외)
+            double player2TotalTime = match.totalTime(1);
+            int player1ValidRounds = match.validRounds(0); // 성공 라운드 수(실패=999.xx 제외)
+            int player2ValidRounds = match.validRounds(1);
 
-            // 라운드별 기록 출력 및 합산(실패 라운드는 합계에서 제외)
+            // 라운드별 기록 출력
             for (RoundResult result : results) {
-                String p1TimeString = result.player1Time > 999 ? "실패" : String.format("%.2f초", result.player1Time);
-                String p2TimeString = result.player2Time > 999 ? "실패" : String.format("%.2f초", result.player2Time);
+                String p1TimeString = MonsterEngine.isFailure(result.player1Time) ? "실패" : String.format("%.2f초", result.player1Time);
+                String p2TimeString = MonsterEngine.isFailure(result.player2Time) ? "실패" : String.format("%.2f초", result.player2Time);
 
                 System.out.printf("[Round %d] %s : %s / %s : %s => %s 승리\n",
                         result.roundNumber,
                         player1.getName(), p1TimeString,
                         player2.getName(), p2TimeString,
                         result.winnerName);
-
-                if (result.player1Time <= 999) {
-                    player1TotalTime += result.player1Time;
-                    player1ValidRounds++;
-                }
-                if (result.player2Time <= 999) {
-                    player2TotalTime += result.player2Time;
-                    player2ValidRounds++;
-                }
             }
 
             // 최종 스코어(승수) 출력 및 우승자 판정
             System.out.println("\n--- 최종 결과 ---");
-            System.out.printf("%s: %d승\n", player1.getName(), player1.getWins());
-            System.out.printf("%s: %d승\n", player2.getName(), player2.getWins());
+            System.out.printf("%s: %d승\n", player1.getName(), match.getWins(0));
+            System.out.printf("%s: %d승\n", player2.getName(), match.getWins(1));
 
             setFinalWinner(""); // 기본값은 빈 문자열(무승부 대비)
-            if (player1.getWins() > player2.getWins()) {
-                System.out.printf("최종 우승: %s! 축하합니다!\n", player1.getName());
-                setFinalWinner(player1.getName());
-            } else if (player2.getWins() > player1.getWins()) {
-                System.out.printf("최종 우승: %s! 축하합니다!\n", player2.getName());
-                setFinalWinner(player2.getName());
+            int winner = match.finalWinner();
+            if (winner >= 0) {
+                setFinalWinner((winner == 0 ? player1 : player2).getName());
+                System.out.printf("최종 우승: %s! 축하합니다!\n", getFinalWinner());
             } else {
                 System.out.println("무승부입니다! 둘 다 대단하군요!");
             }
 
             // 랭킹 등록: 3경기 모두 완주(=성공 라운드 3/3)하고 이름이 있어야 대상
-            boolean player1CanRank = (player1ValidRounds == TOTAL_ROUNDS && !player1.getName().isEmpty());
-            boolean player2CanRank = (player2ValidRounds == TOTAL_ROUNDS && !player2.getName().isEmpty());
+            boolean player1CanRank = (match.rankEligible(0) && !player1.getName().isEmpty());
+            boolean player2CanRank = (match.rankEligible(1) && !player2.getName().isEmpty());
 
             // 합계 시간 안내(등록 가능/불가 메시지 구분)
             if (player1ValidRounds == TOTAL_ROUNDS) {
@@ -271,27 +259,10 @@ public class MonsterMode extends Game {
                 System.out.printf("%s는 %d경기만 완주하여 랭킹 대상이 아닙니다.\n", player2.getName(), player2ValidRounds);
             }
 
-            // 완주한 플레이어들의 기록을 조용히 저장(기존보다 좋을 때만 갱신)
-            boolean anyUpdated = false;
-
-            if (player1CanRank) {
-                boolean updated1 = RankingManager.saveMonsterModeRankingQuiet(player1.getName(), player1TotalTime);
-                anyUpdated = anyUpdated || updated1;
-            }
-            if (player2CanRank) {
-                boolean updated2 = RankingManager.saveMonsterModeRankingQuiet(player2.getName(), player2TotalTime);
-                anyUpdated = anyUpdated || updated2;
-            }
-
-            // 하나라도 갱신되었는지에 따라 안내 메시지 출력 + 최종 랭킹 보기
-            if (player1CanRank || player2CanRank) {
-                if (anyUpdated) {
-                    System.out.println("🏆 새로운 기록이 랭킹에 등록되었습니다!");
-                } else {
-                    System.out.println("아쉽습니다! 기존 기록이 더 높아서 등록되지 않았습니다.");
-                }
-                RankingManager.showMonsterModeRanking();
-            }
+            // 완주한 플레이어들의 기록 저장 요청(기존보다 좋을 때만 갱신)
+            // - 디스크 반영은 랭킹 스레드에서 진행되고, 갱신 여부/순위는 저장이 끝나면 그 스레드가 출력한다(기다리지 않음)
+            if (player1CanRank) RankingManager.saveMonsterModeRanking(player1.getName(), player1TotalTime);
+            if (player2CanRank) RankingManager.saveMonsterModeRanking(player2.getName(), player2TotalTime);
         }
 
         // 최종 우승자 이름 조회자
@@ -305,14 +276,45 @@ public class MonsterMode extends Game {
         }
     }
 
-    // 한 라운드의 전투
+    // 한 라운드의 전투(화면/입력 대기 담당, 타격/마감 판정은 MonsterEngine.Battle)
+    // - 마감 시각(시작 + 제한 시간)까지 남은 시간만큼만 탭을 기다리므로, 입력이 멈춰도 정확히 제한 시간에 끝난다.
+    // - 상태 줄(HP 바/남은 시간)은 게임 스레드(탭 반영)와 카운트다운 스레드(주기 갱신)가 this 잠금 아래에서 그린다.
+    // - 탭 반영(onTap)과 상태 줄 출력은 정상 상태에서 객체를 만들지 않는다(출력은 ConsoleWriter).
     static class Battle {
         private final double TIME_LIMIT = Settings.MONSTER_TIME_LIMIT_SEC; // 제한 시간(초)
-        private final int DAMAGE_PER_HIT = Settings.MONSTER_DAMAGE_PER_HIT; // 엔터당 데미지
-        private final Scanner scanner; // 입력용 Scanner
+        private final ConsoleInput input; // 콘솔 입력(탭 도착 시각 포함)
+        private final int round; // 라운드 번호(JFR 이벤트용)
+        private final MonsterEngine.Battle engine = new MonsterEngine.Battle(); // HP/마감 판정(this로 보호)
+        private boolean finished; // 라운드 종료 여부(카운트다운 스레드와 공유, this로 보호)
+        private final StringBuilder status = new StringBuilder(96); // 상태 줄 조립용(this 잠금 아래에서만 사용)
+        private final ConsoleWriter console; // 상태 줄을 재사용 버퍼로 출력
+        private long previousTapNs; // 직전 탭 도착 시각(탭 간격 계측용, 게임 스레드 전용)
+
+        private static final int HP_BAR_SIZE = 20; // HP 바 총 블록 수
+        private static final String[] HP_BARS = buildHpBars(); // 채워진 블록 수(0~20)별 HP 바 문자열
+
+        // HP 바가 가질 수 있는 21가지 모양을 한 번만 만든다
+        private static String[] buildHpBars() {
+            String[] bars = new String[HP_BAR_SIZE + 1];
+            for (int blocks = 0; blocks <= HP_BAR_SIZE; blocks++) {
+                StringBuilder hpBar = new StringBuilder("[");
+                for (int i = 0; i < HP_BAR_SIZE; i++) {
+                    hpBar.append(i < blocks ? "█" : " ");
+                }
+                bars[blocks] = hpBar.append("]").toString();
+            }
+            return bars;
+        }
 
-        public Battle(Scanner scanner) {
-            this.scanner = scanner;
+        public Battle(ConsoleInput input, int round) {
+            this(input, round, System.out);
+        }
+
+        // 상태 줄 출력 스트림을 직접 지정(버리는 스트림으로 돌리는 예열용)
+        Battle(ConsoleInput input, int round, PrintStream out) {
+            this.input = input;
+            this.round = round;
+            this.console = new ConsoleWriter(out);
         }
 
         // 플레이어가 제한 시간 내에 연타로 몬스터를 처치하는데 걸린 시간 반환(실패 시 999.99)
@@ -321,120 +323,139 @@ public class MonsterMode extends Game {
             System.out.println(monster.getArt());
             System.out.printf("\n%s의 차례! %.1f초 안에 엔터를 연타하여 몬스터를 처치하세요!\n", player.getName(), TIME_LIMIT);
             System.out.println("준비... 시작하려면 Enter를 누르세요!");
-            scanner.nextLine(); // 시작 신호
-
-            long startTime = System.nanoTime(); // 시작 시각(나노초)
-
-            // 몬스터가 살아 있는 동안 반복
-            while (monster.isAlive()) {
-                double elapsedTime = (System.nanoTime() - startTime) / 1_000_000_000.0;
-
-                // 시간 초과 시 실패 처리(매우 큰 시간으로 반환)
-                if (elapsedTime >= TIME_LIMIT) {
-                    System.out.println("\n시간 초과! 몬스터를 처치하는 데 실패했습니다...");
-                    return 999.99;
+            long startTime = input.nextSignal(); // 시작 신호가 도착한 시각(나노초)
+            begin(monster, startTime);
+            long deadline = engine.deadlineNs(); // 라운드 종료 시각
+
+            // 입력이 없어도 남은 시간/HP 바가 흘러가도록 주기적으로 다시 그린다
+            ScheduledExecutorService countdown = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "monster-countdown");
+                t.setDaemon(true);
+                return t;
+            });
+            countdown.scheduleAtFixedRate(() -> refresh(monster, startTime),
+                    0, Settings.MONSTER_COUNTDOWN_REFRESH_MS, TimeUnit.MILLISECONDS);
+
+            try {
+                // 몬스터가 살아 있는 동안 반복: 마감 시각까지 남은 시간만큼만 탭을 기다린다
+                // 경과 시간은 입력 스레드가 찍어 둔 탭 도착 시각 기준(상태 출력 시간은 포함되지 않음)
+                // 마감 전에 탭이 없었으면(입력 종료 포함) 실패. 마감 이후에 도착한 탭은 엔진이 실패로 처리
+                while (!finished) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining > 0 && input.pollTap(remaining, TimeUnit.NANOSECONDS)) {
+                        onTap(monster, input.lastTimestamp(), input.lastLineEmpty());
+                    } else {
+                        onDeadline(monster);
+                    }
                 }
+            } finally {
+                countdown.shutdownNow();
+                input.discardPending(); // 라운드 중 남은 연타가 다음 안내의 답으로 읽히지 않게
+            }
+            FlightEvents.monsterBattle(round, player.getName(), monster.getName(), engine.getMaxHp(),
+                    engine.getCurrentHp(), engine.killed(), engine.killed() ? engine.getTimeSec() : TIME_LIMIT);
 
-                // 현재 전투 상태(HP 바/남은 시간) 표시 후 입력 대기
-                displayBattleStatus(monster, elapsedTime);
-                String line = scanner.nextLine();
-                if (line.length() == 0) {  // 빈 엔터만 유효 타격으로 인정
-                    monster.takeDamage(DAMAGE_PER_HIT);
-                }
+            if (!engine.killed()) {
+                System.out.printf("\n시간 초과! 몬스터를 처치하는 데 실패했습니다... (남은 HP: %d/%d)\n",
+                        engine.getCurrentHp(), engine.getMaxHp());
+                return MonsterEngine.FAIL_TIME_SEC; // 실패는 큰 시간값으로 기록
             }
 
-            // 처치 완료 시각 계산
-            long endTime = System.nanoTime();
-            double finalTime = (endTime - startTime) / 1_000_000_000.0;
+            // 처치 완료 시각 = 마지막 타격이 도착한 시각
+            double finalTime = engine.getTimeSec();
             
             System.out.printf("\n몬스터를 물리쳤습니다! (기록: %.2f초)\n", finalTime);
             return finalTime;
         }
 
+        // 전투 시작(시작 신호 도착 시각 기준)
+        synchronized void begin(Monster monster, long startNs) {
+            engine.start(monster.getMaxHp(), startNs);
+            finished = false;
+            previousTapNs = startNs;
+        }
+
+        // 탭 1회 반영 + 상태 줄 갱신. 전투가 끝났으면 true
+        synchronized boolean onTap(Monster monster, long tapNs, boolean emptyLine) {
+            long intervalNs = tapNs - previousTapNs;
+            Metrics.record(Metrics.Kind.TAP_INTERVAL, intervalNs);
+            previousTapNs = tapNs;
+            boolean hit = engine.tap(tapNs, emptyLine);
+            FlightEvents.tap(Metrics.Mode.MONSTER, hit, intervalNs);
+            finished = engine.isOver();
+            boolean timedOut = finished && !engine.killed();
+            displayBattleStatus(monster, timedOut ? TIME_LIMIT : engine.getElapsedSec(tapNs));
+            return finished;
+        }
+
+        // 마감 시각까지 탭이 없었음(입력 종료 포함)
+        private synchronized void onDeadline(Monster monster) {
+            engine.expire();
+            finished = true;
+            displayBattleStatus(monster, TIME_LIMIT);
+        }
+
+        // 카운트다운 스레드: 라운드가 끝나기 전까지 현재 시각 기준으로 상태 줄을 다시 그림
+        private synchronized void refresh(Monster monster, long startTime) {
+            if (finished) return;
+            double elapsed = Math.min(TIME_LIMIT, (System.nanoTime() - startTime) / 1_000_000_000.0);
+            displayBattleStatus(monster, elapsed);
+        }
+
         // 전투 진행 상황(HP 바, 남은 시간)을 한 줄로 표시(캐리지 리턴으로 같은 줄 갱신 시도)
+        // - HP 바는 미리 만든 21가지 중 하나를 고르고, 줄은 재사용 버퍼에 조립해 한 번에 쓴다
         private void displayBattleStatus(Monster monster, double elapsedTime) {
-            int hpBarSize = 20; // HP 바 총 블록 수
-            int currentHpBlocks = (int)(((double)monster.getCurrentHp() / monster.getMaxHp()) * hpBarSize);
-            if (currentHpBlocks < 0) currentHpBlocks = 0; // 하한 보정
+            long renderStart = System.nanoTime();
+            status.setLength(0);
+            appendBattleStatus(status, monster.getName(), engine.getCurrentHp(), engine.getMaxHp(), elapsedTime);
+            console.write(status);
+            console.flush(); // 개행 없이 같은 줄을 갱신하므로 직접 내보낸다
+            Metrics.record(Metrics.Kind.FRAME_RENDER, System.nanoTime() - renderStart);
+        }
 
-            StringBuilder hpBar = new StringBuilder("[");
-            for (int i = 0; i < hpBarSize; i++) {
-                hpBar.append(i < currentHpBlocks ? "█" : " ");
-            }
-            hpBar.append("]");
+        // 상태 줄 한 줄을 out 뒤에 붙인다(출력은 호출자가)
+        static StringBuilder appendBattleStatus(StringBuilder out, String monsterName, int currentHp, int maxHp,
+                double elapsedTime) {
+            int currentHpBlocks = (int)(((double)currentHp / maxHp) * HP_BAR_SIZE);
+            if (currentHpBlocks < 0) currentHpBlocks = 0; // 하한 보정
 
-            System.out.printf("\r%s HP: %s %d/%d | 남은 시간: %.1f초",
-                    monster.getName(), hpBar, monster.getCurrentHp(), monster.getMaxHp(),
-                    Math.max(0, Settings.MONSTER_TIME_LIMIT_SEC - elapsedTime));
+            out.append('\r').append(monsterName).append(" HP: ").append(HP_BARS[currentHpBlocks])
+                    .append(' ').append(currentHp).append('/').append(maxHp)
+                    .append(" | 남은 시간: ");
+            return Utils.appendFixed(out, Math.max(0, Settings.MONSTER_TIME_LIMIT_SEC - elapsedTime), 1).append('초');
         }
     }
 
-    // Monster: 몬스터 엔터티(이름/HP/아트/생성)
+    // Monster: 몬스터 엔터티(이름/최대 HP/아트). 전투 중 HP는 MonsterEngine.Battle이 관리
     static class Monster {
         private String name; // 이름
         private int maxHp; // 최대 HP
-        private int currentHp; // 현재 HP
 
         private Monster(String name, int hp) {
             this.name = name;
             this.maxHp = hp;
-            this.currentHp = hp;
-        }
-
-        // 데미지 반영(HP는 0 미만으로 떨어지지 않도록 보정)
-        public void takeDamage(int damage) {
-            this.currentHp -= damage;
-            if (this.currentHp < 0) {
-                this.currentHp = 0;
-            }
-        }
-
-        // 다음 플레이어 차례를 위해 HP를 최대치로 복구
-        public void resetHp() {
-            this.currentHp = this.maxHp;
         }
 
         public String getName() { return name; }
         public int getMaxHp() { return maxHp; }
-        public int getCurrentHp() { return currentHp; }
         public String getArt() { return Utils.getMonsterArt(name); }
-        public boolean isAlive() { return this.currentHp > 0; }
-
-        // 라운드 시작 시 랜덤 몬스터 생성(이름/HP를 동일 인덱스로 매핑)
-        public static Monster createRandomMonster() {
-            String[] monsterNames = {
-                "박쥐", "슬라임", "버섯", "고블린", "구울",
-                "스켈레톤", "미믹", "오크", "와이번", "골렘"
-            };
-            int[] monsterHps = {
-                80, 100, 120, 150, 180, 200, 220, 250, 300, 350
-            };
-
-            int index = new Random().nextInt(monsterNames.length);
-            return new Monster(monsterNames[index], monsterHps[index]);
+
+        // 몬스터 표의 index번째 몬스터(이름/HP는 MonsterEngine 표에서 같은 인덱스로 매핑)
+        public static Monster of(int index) {
+            return new Monster(MonsterEngine.monsterName(index), MonsterEngine.monsterHp(index));
         }
     }
 
-    // BattlePlayer: 라운드 승수 관리(이름/승리 횟수)
+    // BattlePlayer: 플레이어 이름(라운드 승수는 MonsterEngine이 센다)
     static class BattlePlayer {
         private String name; // 플레이어 이름
-        private int wins; // 승리 라운드 수
 
         public BattlePlayer(String name) {
             this.name = name;
-            this.wins = 0;
-        }
-
-        public void addWin() {
-            this.wins++;
         }
 
         public String getName() {
             return name;
         }
-
-        public int getWins() {
-            return wins;
-        }
     }
 }
@@ -1,15 +1,20 @@
 package taprun.modes;
 
+import taprun.core.ConsoleInput;
+import taprun.core.ConsoleRenderer;
+import taprun.core.FlightEvents;
 import taprun.core.Game;
+import taprun.core.Metrics;
 import taprun.core.Settings;
 import taprun.core.Utils;
 import taprun.core.RankingManager;
-import java.util.Scanner;
+import taprun.engine.RaceEngine;
 
 /* 달리기 경주 모드.
  * 두 플레이어가 주사위로 선/후공을 정한 뒤,
- * 각자 20회 Enter 입력 시간을 겨루어 더 빠른 기록이 승리한다.
+ * 각자 Settings.RACE_TAP_COUNT회 Enter 입력 시간을 겨루어 더 빠른 기록이 승리한다.
  * 승자(또는 무승부 시 양쪽)의 기록은 랭킹에 저장된다.
+ * 주행 규칙(유효 탭 판정, 기록, 승자)은 RaceEngine이 맡는다.
  */
 public class RaceMode extends Game {
 
@@ -22,23 +27,25 @@ public class RaceMode extends Game {
     // 시작점
     @Override
     public void start() {
-        start(new Scanner(System.in));
+        start(new ConsoleInput(System.in));
     }
 
-    // 외부에서 주입한 Scanner로 게임 시작
-    public void start(Scanner scanner) {
+    // 외부에서 주입한 콘솔 입력으로 게임 시작
+    public void start(ConsoleInput input) {
+        Metrics.beginGame(Metrics.Mode.RACE);
+        FlightEvents.beginGame(Metrics.Mode.RACE);
         System.out.println("=== 달리기 경주 모드 ===");
 
         // 선/후공 결정: 주사위 굴리기
         System.out.println("선후공을 정합니다. 각자 주사위를 굴려주세요!");
         System.out.print("플레이어 1, Enter를 눌러 주사위를 굴리세요: ");
-        scanner.nextLine(); // 시작 신호(엔터) 대기
+        input.nextLine(); // 시작 신호(엔터) 대기
         int dice1 = (int) (Math.random() * 6) + 1;
         System.out.println("플레이어 1의 주사위: " + dice1);
         System.out.println(Utils.getDiceArt(dice1)); // 주사위 ASCII 아트
 
         System.out.print("플레이어 2, Enter를 눌러 주사위를 굴리세요: ");
-        scanner.nextLine();
+        input.nextLine();
         int dice2 = (int) (Math.random() * 6) + 1;
         System.out.println("플레이어 2의 주사위: " + dice2);
         System.out.println(Utils.getDiceArt(dice2));
@@ -47,13 +54,13 @@ public class RaceMode extends Game {
         while (dice1 == dice2) {
             System.out.println("동점! 다시 굴립니다.");
             System.out.print("플레이어 1, Enter를 눌러 주사위를 굴리세요: ");
-            scanner.nextLine();
+            input.nextLine();
             dice1 = (int) (Math.random() * 6) + 1;
             System.out.println("플레이어 1의 주사위: " + dice1);
             System.out.println(Utils.getDiceArt(dice1));
 
             System.out.print("플레이어 2, Enter를 눌러 주사위를 굴리세요: ");
-            scanner.nextLine();
+            input.nextLine();
             dice2 = (int) (Math.random() * 6) + 1;
             System.out.println("플레이어 2의 주사위: " + dice2);
             System.out.println(Utils.getDiceArt(dice2));
@@ -75,23 +82,27 @@ public class RaceMode extends Game {
         String[] names = new String[2];
         if (firstPlayer.equals("플레이어 1")) {
             System.out.print("플레이어 1 이름을 입력하세요: ");
-            names[0] = scanner.nextLine().trim();
+            names[0] = input.nextLine().trim();
             System.out.print("플레이어 2 이름을 입력하세요: ");
-            names[1] = scanner.nextLine().trim();
+            names[1] = input.nextLine().trim();
         } else {
             System.out.print("플레이어 2 이름을 입력하세요: ");
-            names[0] = scanner.nextLine().trim();
+            names[0] = input.nextLine().trim();
             System.out.print("플레이어 1 이름을 입력하세요: ");
-            names[1] = scanner.nextLine().trim();
+            names[1] = input.nextLine().trim();
         }
 
-        // 각자 20회 ‘빈 Enter’ 입력 소요 시간 기록
+        // 각자 TRACK_LENGTH회 ‘빈 Enter’ 입력 소요 시간 기록
         double[] times = new double[2]; // 각 플레이어 기록(초)
 
-        final int TRACK_LENGTH = 20; // 필요한 입력 횟수(=트랙 길이)
-        final String HORSE = "🐎"; // 진행 마커(말 이모지)
-        final String TRACK_SYMBOL = "-"; // 빈 트랙 표시
+        final int TRACK_LENGTH = Settings.RACE_TAP_COUNT; // 필요한 입력 횟수(=트랙 길이)
 
+        String[] tracks = buildTracks(TRACK_LENGTH);
+
+        RaceEngine race = new RaceEngine(TRACK_LENGTH);
+        // 두 플레이어가 화면 하나를 같이 쓴다: 화면은 첫 차례에만 지우고, 후공 차례에는 트랙 줄만 다시 그려
+        // 프레임 아래에 남긴 선공 기록/차례 안내가 지워지지 않게 한다(경기가 끝날 때 finish로 정리)
+        ConsoleRenderer screen = new ConsoleRenderer(1);
         for (int i = 0; i < 2; i++) {
             System.out.println();
             String requiredKey = (i == 0) ? "1" : "2"; // 선공=1, 후공=2 시작 키
@@ -103,42 +114,30 @@ public class RaceMode extends Game {
             System.out.printf("%s 플레이어가 게임을 시작하려면 '%s'를 입력한 후 Enter를 누르세요.%n",
                     (i == 0 ? "선공" : "후공"), requiredKey);
 
+            long startNs; // 타이머 시작(나노초) = 시작 키 줄이 도착한 시각
             while (true) {
-                String startKey = scanner.nextLine().trim();
+                startNs = input.nextSignal();
+                String startKey = input.lastLine().trim();
                 if (startKey.equals(requiredKey)) break;
                 System.out.printf("'%s'를 입력한 후 Enter를 눌러야 게임이 시작됩니다.%n", requiredKey);
             }
 
-            System.out.println("준비 완료! 이제 '빈 Enter'를 20번 빠르게 누르세요! (말이 오른쪽 끝까지 달립니다)");
-            int count = 0; // 현재까지 유효 입력 수
-            long startNs = System.nanoTime(); // 타이머 시작(나노초)
-
-            // 레이스 루프: '빈 Enter'만 유효, 그 외 입력은 무시
-            while (count < TRACK_LENGTH) {
-                String in = scanner.nextLine();
-                if (in.length() != 0) { // 글자가 섞여 있으면 무시(시간은 계속 흐름)
-                    continue;
-                }
-                count++;
-
-                // 트랙 그리기: |🐎----...----|
-                StringBuilder track = new StringBuilder();
-                track.append("|");
-                for (int j = 0; j < TRACK_LENGTH; j++) {
-                    if (j == count - 1) track.append(HORSE);
-                    else track.append(TRACK_SYMBOL);
-                }
-                track.append("|");
-                System.out.println(track);
-
-                // 진행 상황 간헐 출력(5회마다 혹은 완료 시)
-                if (count % 5 == 0 || count == TRACK_LENGTH) {
-                    System.out.println(count + "번 입력!");
-                }
+            // 레이스 화면: 고정 안내 줄 아래 트랙 1줄. 탭마다 트랙 줄만 다시 그린다
+            screen.header("준비 완료! 이제 '빈 Enter'를 " + TRACK_LENGTH + "번 빠르게 누르세요! (말이 오른쪽 끝까지 달립니다)");
+            screen.line(0, tracks[0]);
+            screen.present();
+            race.start(startNs);
+
+            // 레이스 루프: '빈 Enter'만 유효, 그 외 입력은 무시(시간은 계속 흐름)
+            // 시각은 입력 스레드가 줄 도착 즉시 찍어 두므로 트랙 출력 시간은 기록에 포함되지 않는다
+            long previousTapNs = startNs;
+            while (!race.isFinished()) {
+                long tapNs = input.nextTap();
+                onTap(race, screen, tracks, tapNs, tapNs - previousTapNs, input.lastLineEmpty());
+                previousTapNs = tapNs;
             }
 
-            long endNs = System.nanoTime();
-            times[i] = (endNs - startNs) / 1_000_000_000.0; // 경과 시간(초)
+            times[i] = race.getTimeSec(); // 경과 시간(초) = 마지막 유효 탭 도착 시각 기준
             System.out.println(names[i] + "님의 기록: " + String.format("%.2f", times[i]) + "초");
 
             // 플레이어2 안내(자동 시작 방지: '2'키 요구)
@@ -146,42 +145,60 @@ public class RaceMode extends Game {
                 System.out.println("이제 " + names[1] + "님의 차례입니다. 시작하려면 '2' 입력 후 Enter를 누르세요!");
             }
         }
-        
-        // 결과 집계 및 랭킹 저장
+        screen.finish();
+
+        // 결과 집계
         System.out.println();
         System.out.println("=== 결과 ===");
         System.out.println(names[0] + " 기록: " + String.format("%.2f", times[0]) + "초");
         System.out.println(names[1] + " 기록: " + String.format("%.2f", times[1]) + "초");
 
         // 승자 결정(동률이면 무승부)
-        if (times[0] < times[1]) {
-            System.out.println("승자: " + names[0] + "! 축하합니다!");
-        } else if (times[1] < times[0]) {
-            System.out.println("승자: " + names[1] + "! 축하합니다!");
+        int winner = RaceEngine.winnerIndex(times[0], times[1]);
+        if (winner >= 0) {
+            System.out.println("승자: " + names[winner] + "! 축하합니다!");
         } else {
             System.out.println("무승부입니다!");
         }
 
-        // 두 플레이어 모두 조용히 저장(기존 기록보다 좋을 때만 갱신)
-        boolean anyUpdated = false;
-        if (!names[0].isEmpty()) {
-            boolean updated1 = RankingManager.saveRaceModeRankingQuiet(names[0], times[0]);
-            anyUpdated = anyUpdated || updated1;
-        }
-        if (!names[1].isEmpty()) {
-            boolean updated2 = RankingManager.saveRaceModeRankingQuiet(names[1], times[1]);
-            anyUpdated = anyUpdated || updated2;
+        // 두 플레이어 모두 저장 요청(기존 기록보다 좋을 때만 갱신)
+        // - 디스크 반영은 랭킹 스레드에서 진행되고, 갱신 여부/순위는 저장이 끝나면 그 스레드가 출력한다(기다리지 않음)
+        RankingManager.saveRaceModeRanking(names[0], times[0]);
+        RankingManager.saveRaceModeRanking(names[1], times[1]);
+        FlightEvents.endGame(winner >= 0 ? names[winner] : "무승부");
+        Metrics.endGame();
+    }
+    
+    // 입력 횟수(0~length)별 트랙 줄을 미리 만들어 둔다: |🐎----...----| 3/length
+    static String[] buildTracks(int length) {
+        final String HORSE = "🐎"; // 진행 마커(말 이모지)
+        final String TRACK_SYMBOL = "-"; // 빈 트랙 표시
+        String[] tracks = new String[length + 1];
+        for (int n = 0; n <= length; n++) {
+            StringBuilder track = new StringBuilder();
+            track.append("|");
+            for (int j = 0; j < length; j++) {
+                if (j == n - 1) track.append(HORSE);
+                else track.append(TRACK_SYMBOL);
+            }
+            tracks[n] = track.append("| ").append(n).append('/').append(length).toString();
         }
+        return tracks;
+    }
 
-        // 기록 갱신 여부 안내
-        if (anyUpdated) {
-            System.out.println("🏆 새로운 기록이 랭킹에 등록되었습니다!");
-        } else {
-            System.out.println("아쉽습니다! 기존 기록이 더 높아서 등록되지 않았습니다.");
+    // 탭 1회 반영: 계측 → 판정 → 유효 탭이면 트랙 줄만 다시 그린다. 유효 탭이면 true
+    static boolean onTap(RaceEngine race, ConsoleRenderer screen, String[] tracks, long tapNs, long intervalNs,
+            boolean emptyLine) {
+        Metrics.record(Metrics.Kind.TAP_INTERVAL, intervalNs);
+        boolean accepted = race.tap(tapNs, emptyLine);
+        FlightEvents.tap(Metrics.Mode.RACE, accepted, intervalNs);
+        if (accepted) {
+            screen.line(0, tracks[race.getCount()]); // 트랙 그리기
+            screen.present();
         }
-        RankingManager.showRaceModeRanking(); // 최종 완성된 랭킹 출력
+        return accepted;
     }
-    
+
     public String getSecondPlayer() {
         return secondPlayer;
     }
@@ -1,158 +1,241 @@
 package taprun.modes;
 
+import taprun.core.ConsoleInput;
+import taprun.core.ConsoleRenderer;
+import taprun.core.Difficulty;
+import taprun.core.FlightEvents;
+import taprun.core.Metrics;
 import taprun.core.RankingManager;
 import taprun.core.Settings;
+import taprun.core.Utils;
+import taprun.engine.VsAiEngine;
 
-import java.util.Scanner;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /*
  * AI 대전 모드.
  * - Enter 입력을 "탭"으로 간주. 최소 간격(quiet gap) 이상일 때만 1스텝 전진.
  * - AI는 난이도별 TPS(Taps Per Second)로 시간에 비례해 전진.
  * - 트랙은 오른쪽→왼쪽 진행. 왼쪽 "=="가 결승선.
- * - 종료: 플레이어 완주 또는 AI 이론 완주 시각(elapsedSec ≥ aiFinishTimeSec) 도달.
+ * - 종료: 플레이어 완주 또는 AI 이론 완주 시각(elapsedSec ≥ aiFinishTimeSec) 도달(입력이 없어도 그 시각에 종료).
+ * - 화면: 렌더 스레드가 VSAI_RENDER_FPS로 최신 플레이어 거리를 그린다. 탭마다 다시 그리지 않는다.
+ * - 탭 처리(onTap)와 프레임 그리기(drawFrame)는 정상 상태에서 객체를 만들지 않는다(출력은 ConsoleWriter).
  * - 승자: 시간 비교(동시 골인은 플레이어 우선).
  * - 랭킹: 플레이어가 완주했고 승리한 경우에만 기록.
+ * - 규칙 판정은 VsAiEngine이 맡고, 이 클래스는 입력 대기/화면/랭킹 저장만 한다.
  */
 public class VsAiMode {
 
-    public enum Difficulty { EASY, NORMAL, HARD } // 난이도 종류(열거형)
-
     private final String playerName; // 플레이어 이름
     private final Difficulty difficulty; // 선태된 난이도값
-    private double playerDistance; // 플레이어의 누적 이동 거리(m)
-    private double aiDistance; // AI의 누적 이동 거리(m)
-    private double playerFinishTimeSec = -1; // 플레이어 완주 시간(초). 미완주 시 -1을 유지
-    private final double aiFinishTimeSec; // AI가 이론적으로 완주하는 데 걸리는 시간(초)
-    private final double aiBaseTps; // 난이도에 따른 AI의 초당 탭 수(TPS)
+    private final VsAiEngine engine; // 경기 규칙/상태(거리, 완주 시간, 승패)
+    private volatile double publishedPlayerDistance; // 게임 스레드가 발행한 최신 플레이어 거리(렌더 스레드가 읽음)
+    private long startNs; // 경기 시작 시각
+    private long previousTapNs; // 직전 탭 도착 시각(탭 간격 계측용, 게임 스레드 전용)
+    private final ConsoleRenderer screen; // 바뀐 줄만 다시 그리는 화면
+    // 렌더 캐시: 레인 문자열을 위치별로 미리 만들어 두고, 프레임마다 배열에서 고르기만 한다
+    private final String[] playerLanes;
+    private final String[] aiLanes;
+    private final String goalSuffix = "s  목표: " + (int) Settings.VSAI_TRACK_LENGTH_M + "m  (← 왼쪽 결승선)";
+    private final StringBuilder text = new StringBuilder(64); // 숫자 줄 조립용(drawFrame 전용, 한 번에 한 스레드만 그림)
+
+    static final int FRAME_ROWS = 8; // 한 프레임의 줄 수(drawFrame 참고)
 
     public VsAiMode(String playerName, Difficulty difficulty) {
+        this(playerName, difficulty, new ConsoleRenderer(FRAME_ROWS));
+    }
+
+    // 화면을 직접 지정(출력을 버리는 스트림으로 돌리는 예열/검사용)
+    VsAiMode(String playerName, Difficulty difficulty, ConsoleRenderer screen) {
         this.playerName = playerName;
         this.difficulty = difficulty;
+        this.screen = screen;
+
+        this.engine = new VsAiEngine(aiTpsOf(difficulty));
 
-        // 난이도에 따라 AI의 기본 TPS 결정 
+        playerLanes = buildLanes(playerName,
+                Settings.VSAI_USE_EMOJI ? Settings.VSAI_PLAYER_MARK_EMOJI : Settings.VSAI_PLAYER_MARK_ASCII);
+        aiLanes = buildLanes("AI",
+                Settings.VSAI_USE_EMOJI ? Settings.VSAI_AI_MARK_EMOJI : Settings.VSAI_AI_MARK_ASCII);
+    }
+
+    // 난이도에 따른 AI의 기본 TPS
+    public static double aiTpsOf(Difficulty difficulty) {
         switch (difficulty) {
-            case EASY:   aiBaseTps = Settings.VSAI_AI_TPS_EASY;   break;
-            case NORMAL: aiBaseTps = Settings.VSAI_AI_TPS_NORMAL; break;
-            case HARD:   aiBaseTps = Settings.VSAI_AI_TPS_HARD;   break;
+            case EASY:   return Settings.VSAI_AI_TPS_EASY;
+            case NORMAL: return Settings.VSAI_AI_TPS_NORMAL;
+            case HARD:   return Settings.VSAI_AI_TPS_HARD;
             default: throw new IllegalArgumentException("존재하지 않는 난이도 : " + difficulty);
         }
-
-        // AI의 이론 완주 시간 = 트랙 길이 / (스텝당 이동거리 × 초당 탭 수)
-        aiFinishTimeSec = Settings.VSAI_TRACK_LENGTH_M /
-                (Settings.VSAI_STEP_PER_TAP_M * aiBaseTps);
     }
 
-    public void start(Scanner scanner) {
+    public void start(ConsoleInput input) {
+        Metrics.beginGame(Metrics.Mode.VSAI);
+        FlightEvents.beginGame(Metrics.Mode.VSAI);
         System.out.println();
         System.out.println("=== 대전 모드 (vs AI) ===");
         System.out.println("규칙: 오른쪽에서 왼쪽으로 달립니다. 왼쪽 '==' 가 결승선!");
         System.out.println("시작하려면 Enter!");
-        scanner.nextLine(); // 시작 입력(엔터) 대기
-
-        final long startNs = System.nanoTime(); // 경기 시작 시각(나노초) 기준 — 상대적 경과 시간 계산에 사용
-        // 플레이어 탭 유효성 판정용 최소 간격(quiet gap)을 나노초로 환산
-        final long quietGapNs = (long) (Settings.VSAI_QUIET_GAP_SEC * 1_000_000_000L);
-        long lastAcceptedNs = startNs; // 초기값: 시작 시각
-
-        while (true) {
-            if (!scanner.hasNextLine()) break; // 입력 스트림 종료 방어
-            scanner.nextLine(); // 한 번의 탭(엔터) 입력
-            long nowNs = System.nanoTime();
-            double elapsedSec = (nowNs - startNs) / 1_000_000_000.0; // 경과 시간(초)
-
-            // AI는 경과 시간에 비례해  이동 (트랙 길이를 넘지 않도록)
-            aiDistance = Math.min(
-                    Settings.VSAI_TRACK_LENGTH_M,
-                    aiBaseTps * elapsedSec * Settings.VSAI_STEP_PER_TAP_M
-            );
-            
-            // 플레이어 이동
-            // quiet gap 이상 간격이 확보된 경우에만 1스텝 인정 - 홀드/오토 입력 방지
-            if (nowNs - lastAcceptedNs >= quietGapNs) {
-                playerDistance += Settings.VSAI_STEP_PER_TAP_M;
-                lastAcceptedNs = nowNs;
-
-                // 플레이어가 처음으로 결승선 이상에 도달한 순간의 시간을 기록
-                if (playerFinishTimeSec < 0 && playerDistance >= Settings.VSAI_TRACK_LENGTH_M) {
-                    playerFinishTimeSec = elapsedSec;
+        // 경기 시작 시각(나노초) = 시작 Enter가 도착한 시각 — 상대적 경과 시간 계산에 사용
+        final long startNs = input.nextSignal();
+        begin(startNs);
+        // AI가 이론상 결승선에 도착하는 시각 — 입력이 없어도 이 시각에 경기가 끝난다
+        final long aiFinishNs = engine.deadlineNs();
+
+        ScheduledExecutorService renderer = startRenderer();
+        try {
+            while (!engine.isOver()) {
+                // 다음 탭을 AI 완주 시각까지만 기다린다(화면은 렌더 스레드가 따로 그림)
+                long remaining = aiFinishNs - System.nanoTime();
+                if (remaining <= 0 || !input.pollTap(remaining, TimeUnit.NANOSECONDS)) {
+                    // AI 완주 시각 도달, 또는 입력 스트림 종료(마지막 탭 상태 유지)
+                    if (input.isClosed()) engine.abort();
+                    else engine.expire();
+                    break;
                 }
+                // 한 번의 탭(엔터) 입력. 시각은 입력 스레드가 도착 즉시 찍어 둔 값(프레임 출력 시간과 무관)
+                onTap(input.lastTimestamp());
             }
-            drawFrame(elapsedSec); // 현재 상태 출력
-            
-            // 종료 판정: 플레이어가 완주했거나, AI 이론 완주 시각이 도래한 경우
-            boolean aiFinishedNow = (elapsedSec >= aiFinishTimeSec);
-            if (playerFinishTimeSec >= 0 || aiFinishedNow) {
-                break;
-            }
+        } finally {
+            stopRenderer(renderer);
         }
+        // 마지막 상태를 한 번 더 그려 결과 직전 화면을 확정
+        drawFrame(engine.getElapsedSec(), engine.getPlayerDistance(), engine.getAiDistance());
+        screen.finish();
 
         // 경기 결과 출력
         System.out.println();
         System.out.println("=== 결과 ===");
 
-        if (playerFinishTimeSec >= 0) {
-            System.out.println(playerName + " 완주: " + String.format("%.2f", playerFinishTimeSec) + "s");
+        if (engine.playerFinished()) {
+            System.out.println(playerName + " 완주: " + String.format("%.2f", engine.getPlayerFinishTimeSec()) + "s");
         } else {
-            System.out.println(playerName + " 미완주 (최종 " + String.format("%.2f", playerDistance) + "m)");
+            System.out.println(playerName + " 미완주 (최종 " + String.format("%.2f", engine.getPlayerDistance()) + "m)");
         }
 
         System.out.println(
-                "AI 완주: " + String.format("%.2f", aiFinishTimeSec) + "s" +
-                (aiDistance >= Settings.VSAI_TRACK_LENGTH_M ? "" : " (진행 중)") // 완주 못했을 경우
+                "AI 완주: " + String.format("%.2f", engine.getAiFinishTimeSec()) + "s" +
+                (engine.aiFinished() ? "" : " (진행 중)") // 완주 못했을 경우
         );
 
-        // 시간 기준 승자 계산 및 표시
-        String winner = decideWinnerByTime();
-        System.out.println("승자: " + winner);
-
-        /*
-         * 랭킹 등록 조건:
-         * - 플레이어가 완주했고(playerFinishTimeSec >= 0)
-         * - AI보다 같거나 빠른 시간(동시 골인은 플레이어 우선)으로 완주한 경우
-         */
-        boolean playerWon = (playerFinishTimeSec >= 0 && playerFinishTimeSec <= aiFinishTimeSec);
-        if (playerWon) {
-            RankingManager.saveVsAiModeRanking(playerName, playerFinishTimeSec, difficulty.toString());
-        } else if (playerFinishTimeSec >= 0) {
+        // 시간 기준 승자 표시(동시 골인은 플레이어 우선, 미완주면 AI 승)
+        System.out.println("승자: " + (engine.playerWon() ? playerName : "AI"));
+
+        // 랭킹 등록 조건: 플레이어가 완주했고 AI보다 같거나 빠른 시간으로 완주한 경우
+        if (engine.rankEligible()) {
+            RankingManager.saveVsAiModeRanking(playerName, engine.getPlayerFinishTimeSec(), difficulty);
+        } else if (engine.playerFinished()) {
             System.out.println("완주했지만 AI를 이기지 못해 랭킹에 등록되지 않았습니다.");
         } else {
             System.out.println("미완주로 인해 랭킹에 등록되지 않았습니다.");
         }
+        FlightEvents.endGame(engine.playerWon() ? playerName : "AI");
+        Metrics.endGame();
     }
 
-    // 한 프레임의 레이스 상황(트랙/거리/시간)을 콘솔로 출력
-    private void drawFrame(double elapsedSec) {
-        System.out.println();
-        System.out.println("----------------------------------------------");
-        System.out.println("t=" + String.format("%.2f", elapsedSec) + "s  목표: "
-                + (int) Settings.VSAI_TRACK_LENGTH_M + "m  (← 왼쪽 결승선)");
-
-        // 플레이어/AI 각각의 트랙을 출력
-        System.out.println(buildLaneRightToLeft(
-                playerName, playerDistance,
-                Settings.VSAI_USE_EMOJI ? Settings.VSAI_PLAYER_MARK_EMOJI : Settings.VSAI_PLAYER_MARK_ASCII
-        ));
-        System.out.println(buildLaneRightToLeft(
-                "AI", aiDistance,
-                Settings.VSAI_USE_EMOJI ? Settings.VSAI_AI_MARK_EMOJI : Settings.VSAI_AI_MARK_ASCII
-        ));
+    // 경기 시작(시작 신호 도착 시각 기준)
+    void begin(long startNs) {
+        engine.start(startNs);
+        this.startNs = startNs;
+        previousTapNs = startNs;
+        publishedPlayerDistance = 0;
+    }
+
+    // 탭 1회 반영(게임 스레드). 계측 → 판정 → 렌더 스레드에 거리 발행. 플레이어가 전진했으면 true
+    boolean onTap(long tapNs) {
+        long intervalNs = tapNs - previousTapNs;
+        Metrics.record(Metrics.Kind.TAP_INTERVAL, intervalNs);
+        previousTapNs = tapNs;
+        boolean accepted = engine.tap(tapNs); // quiet gap 미달이면 false
+        FlightEvents.tap(Metrics.Mode.VSAI, accepted, intervalNs);
+        // 여러 탭이 한 프레임 사이에 오면 마지막 거리만 그려짐
+        publishedPlayerDistance = engine.getPlayerDistance();
+        return accepted;
+    }
+
+    boolean isOver() {
+        return engine.isOver();
+    }
+
+    // VSAI_RENDER_FPS 주기로 최신 상태를 그리는 렌더 스레드 시작
+    // - 탭이 없어도 프레임이 계속 나오도록, 마지막 탭 이후 흐른 시간만큼 AI 위치를 앞당겨 그린다
+    private ScheduledExecutorService startRenderer() {
+        ScheduledExecutorService renderer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "vsai-render");
+            t.setDaemon(true);
+            return t;
+        });
+        long periodNs = 1_000_000_000L / Math.max(1, Settings.VSAI_RENDER_FPS);
+        renderer.scheduleAtFixedRate(() -> drawAt(System.nanoTime()), 0, periodNs, TimeUnit.NANOSECONDS);
+        return renderer;
+    }
+
+    // nowNs 시점의 한 프레임: 플레이어는 마지막으로 발행된 거리, AI는 경과 시간으로 앞당긴 위치
+    void drawAt(long nowNs) {
+        double nowSec = Math.min(engine.getAiFinishTimeSec(), (nowNs - startNs) / 1_000_000_000.0);
+        drawFrame(nowSec, publishedPlayerDistance, engine.aiDistanceAt(nowSec));
+    }
+
+    // 렌더 스레드를 멈추고, 그리던 프레임이 있으면 끝날 때까지 기다린다(결과 출력과 섞이지 않게)
+    private static void stopRenderer(ScheduledExecutorService renderer) {
+        renderer.shutdownNow();
+        try {
+            renderer.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 한 프레임의 레이스 상황(트랙/거리/시간)을 콘솔로 출력(직전 프레임과 달라진 줄만 실제로 쓰임)
+    // - 숫자 줄은 text에 조립해 그대로 넘긴다(렌더러가 내용을 복사하므로 문자열을 만들 필요 없음)
+    private void drawFrame(double elapsedSec, double playerDistance, double aiDistance) {
+        screen.line(0, "");
+        screen.line(1, "----------------------------------------------");
+        text.setLength(0);
+        Utils.appendFixed(text.append("t="), elapsedSec, 2).append(goalSuffix);
+        screen.line(2, text);
+
+        // 플레이어/AI 각각의 트랙(미리 만든 레인 중 하나를 고름)
+        screen.line(3, playerLanes[laneIndex(playerDistance)]);
+        screen.line(4, aiLanes[laneIndex(aiDistance)]);
 
         // 수치 요약(거리)
-        System.out.println(playerName + ": " + String.format("%.2f", playerDistance) + "m");
-        System.out.println("AI: " + String.format("%.2f", aiDistance) + "m");
-        System.out.println("----------------------------------------------");
+        screen.line(5, distanceLine(playerName, playerDistance));
+        screen.line(6, distanceLine("AI", aiDistance));
+        screen.line(7, "----------------------------------------------");
+        screen.present();
     }
 
-    private String buildLaneRightToLeft(String label, double distanceM, String marker) {
+    // "이름: 12.34m" 한 줄(text 버퍼에 조립, 다음 조립 전까지만 유효)
+    private StringBuilder distanceLine(String label, double distanceM) {
+        text.setLength(0);
+        return Utils.appendFixed(text.append(label).append(": "), distanceM, 2).append('m');
+    }
+
+    // 거리 → 레인 캐시 인덱스. 0 ~ COLS-1은 마커 위치(오른쪽→왼쪽 진행), COLS는 완주(FINISH!)
+    private static int laneIndex(double distanceM) {
+        if (distanceM >= Settings.VSAI_TRACK_LENGTH_M) return Settings.VSAI_TRACK_COLS;
         double ratio = distanceM / Settings.VSAI_TRACK_LENGTH_M;
         if (ratio < 0) ratio = 0; // 최소 도착점 - 도착지점을 넘어가지 않도록
-        if (ratio > 1) ratio = 1; // 최대 출발점
 
         // 오른쪽에서 왼쪽으로 갈수록 인덱스가 작아지도록 위치 계산 (오른쪽→왼쪽 진행 트랙)
         // 진행 비율(ratio)에 따라 현재 위치 인덱스(pos) 계산
-        int pos = (int)((1.0 - ratio) * (Settings.VSAI_TRACK_COLS - 1));
+        return (int)((1.0 - ratio) * (Settings.VSAI_TRACK_COLS - 1));
+    }
+
+    // 한 레인이 가질 수 있는 모든 모양(마커 위치 COLS가지 + 완주)을 경기 시작 전에 한 번 만들어 둔다
+    private static String[] buildLanes(String label, String marker) {
+        String[] lanes = new String[Settings.VSAI_TRACK_COLS + 1];
+        for (int pos = 0; pos < Settings.VSAI_TRACK_COLS; pos++) {
+            lanes[pos] = buildLaneRightToLeft(label, pos, marker, false);
+        }
+        lanes[Settings.VSAI_TRACK_COLS] = buildLaneRightToLeft(label, 0, marker, true);
+        return lanes;
+    }
 
+    static String buildLaneRightToLeft(String label, int pos, String marker, boolean finished) {
         // 트랙 생성
         String[] lane = new String[Settings.VSAI_TRACK_COLS];
         for (int i = 0; i < Settings.VSAI_TRACK_COLS; i++) lane[i] = Settings.VSAI_CELL_FILL;
@@ -172,19 +255,10 @@ public class VsAiMode {
         StringBuilder sb = new StringBuilder();
         sb.append(String.format("%-7s", label)).append(" |");
         for (int i = 0; i < Settings.VSAI_TRACK_COLS; i++) sb.append(lane[i]);
-        sb.append("| ").append(distanceM >= Settings.VSAI_TRACK_LENGTH_M ? "FINISH!" : "");
+        sb.append("| ").append(finished ? "FINISH!" : "");
         return sb.toString();
     }
 
-    // 플레이어가 완주했다면 AI 이론 완주 시간과 비교(동시 골인은 플레이어 우선), 미완주면 AI 승
-    private String decideWinnerByTime() {
-        if (playerFinishTimeSec >= 0) {
-            if (playerFinishTimeSec < aiFinishTimeSec) return playerName;
-            if (playerFinishTimeSec > aiFinishTimeSec) return "AI";
-            return playerName; // 동시 골인 - 플레이어 승
-        }
-        return "AI"; // 플레이어 미완주 - AI 승
-    }
     public Difficulty getDifficulty() {
         return difficulty;
     }
@@ -0,0 +1,198 @@
+package taprun.modes;
+
+import java.io.BufferedOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import taprun.core.ConsoleInput;
+import taprun.core.ConsoleRenderer;
+import taprun.core.ConsoleWriter;
+import taprun.core.Difficulty;
+import taprun.core.FlightEvents;
+import taprun.core.Metrics;
+import taprun.core.Settings;
+import taprun.engine.RaceEngine;
+
+/*
+ * JIT 예열. 실행 직후 첫 게임의 탭들이 인터프리터/C1 코드로 처리되어 이후 게임보다 느려지지 않도록(랭킹 공정성),
+ * 시작할 때 백그라운드 스레드에서 실제 탭 처리/화면 조립/출력 코드를 합성 탭으로 미리 돌린다.
+ * - 경로: 입력 스레드 → 링 버퍼 → nextTap/pollTap → RaceMode/VsAiMode/MonsterMode.Battle의 탭 처리 → ConsoleRenderer/ConsoleWriter
+ *   출력은 System.out과 같은 구조(PrintStream → BufferedOutputStream)의 버리는 스트림으로, 화면 방식(ANSI 여부)은 게임과 같게
+ * - 경로별 Settings.WARMUP_TAPS번, 전체는 WARMUP_MAX_MS 안에서. 시각은 합성 간격이라 판정 결과(인정/거부, 처치/완주)가 고루 섞인다.
+ * - 예열 중 계측은 Metrics의 예열 칸으로 모이고, 걸린 시간과 그동안의 JIT 컴파일 시간은 계측 보기와 JFR(taprun.Warmup)에 남는다.
+ * - 메뉴에서 게임을 고르면 awaitFinished()로 예열이 끝날 때까지 기다린 뒤 시작한다(타이밍이 예열과 겹치지 않게).
+ */
+public class Warmup {
+
+    // 탭 간격(ns): quiet gap(60ms) 미만/이상이 섞인 연타
+    private static final long[] GAPS_NS = {
+        40_000_000L, 90_000_000L, 55_000_000L, 120_000_000L, 61_000_000L, 30_000_000L, 75_000_000L, 100_000_000L
+    };
+
+    private static Thread thread; // 예열 스레드(한 번만 시작)
+
+    // 탭 1회를 처리하는 경로. begin은 판이 끝날 때마다 다시 불린다
+    private abstract static class TapPath {
+        abstract void begin(long startNs);
+
+        // 탭 1회. 판이 끝났으면 true
+        abstract boolean tap(ConsoleInput input, long tapNs);
+    }
+
+    // 백그라운드 예열 시작(설정이 꺼져 있거나 이미 시작했으면 무시)
+    public static synchronized void start() {
+        if (!Settings.WARMUP_ENABLED || thread != null) return;
+        thread = new Thread(Warmup::run, "jit-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // 예열이 끝날 때까지 기다린다(최대 WARMUP_MAX_MS)
+    public static void awaitFinished() {
+        Thread t;
+        synchronized (Warmup.class) {
+            t = thread;
+        }
+        if (t == null) return;
+        try {
+            t.join(Settings.WARMUP_MAX_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void run() {
+        long startNs = System.nanoTime();
+        long deadline = startNs + Settings.WARMUP_MAX_MS * 1_000_000L;
+        long compileStart = compileMs();
+        FlightEvents.WarmupEvent event = FlightEvents.beginWarmup();
+        Metrics.beginWarmup();
+
+        PrintStream sink = new PrintStream(new BufferedOutputStream(OutputStream.nullOutputStream()), false,
+                ConsoleWriter.consoleCharset());
+        SyntheticTaps source = new SyntheticTaps();
+        ConsoleInput input = new ConsoleInput(source);
+        TapPath[] paths = { race(sink), vsAi(sink), monster(sink) };
+        int taps = 0;
+        try {
+            for (TapPath path : paths) {
+                long now = System.nanoTime();
+                path.begin(now);
+                for (int i = 0; i < Settings.WARMUP_TAPS && System.nanoTime() < deadline; i++) {
+                    now += GAPS_NS[i & (GAPS_NS.length - 1)];
+                    if (path.tap(input, now)) {
+                        now += GAPS_NS[0];
+                        path.begin(now);
+                    }
+                    taps++;
+                }
+            }
+        } catch (RuntimeException e) {
+            System.err.println("JIT 예열 실패: " + e.getMessage());
+        } finally {
+            source.stop(input);
+            long compile = compileStart < 0 ? -1 : compileMs() - compileStart;
+            Metrics.endWarmup(System.nanoTime() - startNs, taps, compile);
+            FlightEvents.finish(event, taps, compile);
+        }
+    }
+
+    // 달리기: 게임처럼 nextTap으로 기다리고, 유효 탭마다 트랙 줄을 다시 그린다
+    private static TapPath race(PrintStream sink) {
+        RaceEngine race = new RaceEngine(Settings.RACE_TAP_COUNT);
+        String[] tracks = RaceMode.buildTracks(Settings.RACE_TAP_COUNT);
+        ConsoleRenderer screen = new ConsoleRenderer(sink, 1);
+        return new TapPath() {
+            long previousTapNs;
+
+            @Override
+            void begin(long startNs) {
+                screen.line(0, tracks[0]); // 게임처럼 화면 하나로 여러 차례를 이어 그린다
+                screen.present();
+                race.start(startNs);
+                previousTapNs = startNs;
+            }
+
+            @Override
+            boolean tap(ConsoleInput input, long tapNs) {
+                input.nextTap();
+                RaceMode.onTap(race, screen, tracks, tapNs, tapNs - previousTapNs, input.lastLineEmpty());
+                previousTapNs = tapNs;
+                return race.isFinished();
+            }
+        };
+    }
+
+    // 대전: pollTap + 탭 반영, 렌더 스레드가 그리는 프레임은 탭마다 같은 스레드에서
+    private static TapPath vsAi(PrintStream sink) {
+        VsAiMode mode = new VsAiMode("Player", Difficulty.NORMAL,
+                new ConsoleRenderer(sink, VsAiMode.FRAME_ROWS));
+        return new TapPath() {
+            @Override
+            void begin(long startNs) {
+                mode.begin(startNs);
+            }
+
+            @Override
+            boolean tap(ConsoleInput input, long tapNs) {
+                if (!input.pollTap(1, TimeUnit.SECONDS)) throw new IllegalStateException("예열 입력이 끊겼습니다.");
+                mode.onTap(tapNs);
+                mode.drawAt(tapNs);
+                return mode.isOver();
+            }
+        };
+    }
+
+    // 몬스터: pollTap + 타격 판정 + 상태 줄 출력
+    private static TapPath monster(PrintStream sink) {
+        MonsterMode.Battle battle = new MonsterMode.Battle(null, 0, sink);
+        MonsterMode.Monster monster = MonsterMode.Monster.of(0);
+        return new TapPath() {
+            @Override
+            void begin(long startNs) {
+                battle.begin(monster, startNs);
+            }
+
+            @Override
+            boolean tap(ConsoleInput input, long tapNs) {
+                if (!input.pollTap(1, TimeUnit.SECONDS)) throw new IllegalStateException("예열 입력이 끊겼습니다.");
+                return battle.onTap(monster, tapNs, input.lastLineEmpty());
+            }
+        };
+    }
+
+    // JIT 컴파일 누적 시간(ms). 측정할 수 없으면 -1
+    private static long compileMs() {
+        CompilationMXBean jit = ManagementFactory.getCompilationMXBean();
+        if (jit == null || !jit.isCompilationTimeMonitoringSupported()) return -1;
+        return jit.getTotalCompilationTime();
+    }
+
+    // 읽을 때마다 빈 줄("\n")로 버퍼를 채워 주는 입력(끝없는 연타). stop() 이후에는 끝(-1)
+    private static class SyntheticTaps extends InputStream {
+        private volatile boolean stopped;
+
+        @Override
+        public int read() {
+            return stopped ? -1 : '\n';
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (stopped) return -1;
+            Arrays.fill(b, off, off + len, (byte) '\n');
+            return len;
+        }
+
+        // 입력을 끝내고, 가득 찬 링 버퍼에 막혀 있는 입력 스레드를 남은 줄을 비워 풀어 준다
+        void stop(ConsoleInput input) {
+            stopped = true;
+            while (!input.isClosed()) input.pollTap(100, TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package taprun.sim;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import taprun.core.Difficulty;
+import taprun.engine.MonsterEngine;
+import taprun.engine.VsAiEngine;
+import taprun.modes.VsAiMode;
+
+/*
+ * 난이도 밸런싱용 시뮬레이터(콘솔 게임 없이 규칙 엔진만 돌림).
+ * - 탭 간격 분포(합성 또는 기록 파일)로 가상의 플레이어를 만들어 VsAI 난이도별, 몬스터별로 수많은 판을 돌리고
+ *   승률/완주율과 완주(처치) 시간 분위수를 표로 출력한다.
+ * - 모든 코어에서 병렬로 돌리되 결과는 결정적이다: 판들을 고정 크기 묶음(chunk)으로 나누고 묶음마다
+ *   (시드, 시나리오, 묶음 번호)로 난수를 정하므로, 스레드 수와 관계없이 같은 시드면 같은 결과가 나온다.
+ *
+ * 사용법: java taprun.sim.BalanceSimulator [옵션]
+ *   --runs N        시나리오당 판 수(기본 200000)
+ *   --seed S        난수 시드(기본 1)
+ *   --tps A,B,..    합성 플레이어 평균 TPS 목록(기본 6,8,10)
+ *   --cv C          합성 플레이어 탭 간격 변동계수(기본 0.3)
+ *   --trace FILE    기록된 탭 간격(ms) 파일. 여러 번 지정 가능, 지정하면 합성 플레이어 대신 사용
+ *   --ai-tps A,B,.. VsAI 난이도 대신 시험할 AI TPS 후보
+ *   --hp A,B,..     몬스터 표 대신 시험할 HP 후보
+ *   --threads N     작업 스레드 수(기본: 코어 수)
+ */
+public class BalanceSimulator {
+
+    private static final int CHUNK_RUNS = 20_000; // 묶음 하나의 판 수(결정성의 단위)
+
+    // 시나리오: 입력 분포 하나 × 대상(난이도/몬스터) 하나
+    private static class Scenario {
+        final TapIntervalModel model;
+        final String target; // 표에 찍을 대상 이름
+        final boolean monster; // true면 몬스터 전투, false면 VsAI
+        final double value; // VsAI: AI TPS, 몬스터: HP
+        final ScenarioStats stats = new ScenarioStats();
+
+        Scenario(TapIntervalModel model, String target, boolean monster, double value) {
+            this.model = model;
+            this.target = target;
+            this.monster = monster;
+            this.value = value;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int runs = 200_000;
+        long seed = 1;
+        double[] tps = {6, 8, 10};
+        double cv = 0.3;
+        List<String> traces = new ArrayList<>();
+        double[] aiTps = null;
+        double[] hps = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : "";
+            switch (args[i]) {
+                case "--runs": runs = Integer.parseInt(value); i++; break;
+                case "--seed": seed = Long.parseLong(value); i++; break;
+                case "--tps": tps = parseList(value); i++; break;
+                case "--cv": cv = Double.parseDouble(value); i++; break;
+                case "--trace": traces.add(value); i++; break;
+                case "--ai-tps": aiTps = parseList(value); i++; break;
+                case "--hp": hps = parseList(value); i++; break;
+                case "--threads": threads = Integer.parseInt(value); i++; break;
+                default:
+                    System.err.println("알 수 없는 옵션: " + args[i]);
+                    return;
+            }
+        }
+
+        // 입력 분포 목록
+        List<TapIntervalModel> models = new ArrayList<>();
+        if (traces.isEmpty()) {
+            for (double t : tps) models.add(TapIntervalModel.synthetic(t, cv));
+        } else {
+            for (String trace : traces) models.add(TapIntervalModel.recorded(Paths.get(trace)));
+        }
+
+        // 시나리오 목록: 분포마다 VsAI 대상 전부 + 몬스터 대상 전부
+        List<Scenario> scenarios = new ArrayList<>();
+        for (TapIntervalModel model : models) {
+            if (aiTps == null) {
+                for (Difficulty d : Difficulty.values()) {
+                    scenarios.add(new Scenario(model, d.toString(), false, VsAiMode.aiTpsOf(d)));
+                }
+            } else {
+                for (double t : aiTps) scenarios.add(new Scenario(model, String.format("AI %.1f TPS", t), false, t));
+            }
+            if (hps == null) {
+                for (int m = 0; m < MonsterEngine.monsterCount(); m++) {
+                    scenarios.add(new Scenario(model, MonsterEngine.monsterName(m), true, MonsterEngine.monsterHp(m)));
+                }
+            } else {
+                for (double hp : hps) scenarios.add(new Scenario(model, String.format("HP %d", (int) hp), true, hp));
+            }
+        }
+
+        long started = System.nanoTime();
+        runAll(scenarios, runs, seed, threads);
+        double elapsedSec = (System.nanoTime() - started) / 1_000_000_000.0;
+
+        printReport(models, scenarios);
+        long total = (long) runs * scenarios.size();
+        System.out.printf("%n총 %,d판, %.2f초 (초당 %,.0f판, 스레드 %d, 시드 %d)%n",
+                total, elapsedSec, total / elapsedSec, threads, seed);
+    }
+
+    // 모든 시나리오의 묶음들을 풀에 넣고, 시나리오별로 묶음 순서대로 합친다
+    private static void runAll(List<Scenario> scenarios, int runs, long seed, int threads)
+            throws InterruptedException, ExecutionException {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            List<List<Future<ScenarioStats>>> futures = new ArrayList<>();
+            for (int s = 0; s < scenarios.size(); s++) {
+                Scenario scenario = scenarios.get(s);
+                List<Future<ScenarioStats>> chunks = new ArrayList<>();
+                for (int start = 0, chunk = 0; start < runs; start += CHUNK_RUNS, chunk++) {
+                    int count = Math.min(CHUNK_RUNS, runs - start);
+                    SplittableRandom random = new SplittableRandom(chunkSeed(seed, s, chunk));
+                    Callable<ScenarioStats> task = scenario.monster
+                            ? () -> simulateMonster(scenario.model, (int) scenario.value, count, random)
+                            : () -> simulateVsAi(scenario.model, scenario.value, count, random);
+                    chunks.add(pool.submit(task));
+                }
+                futures.add(chunks);
+            }
+            for (int s = 0; s < scenarios.size(); s++) {
+                for (Future<ScenarioStats> f : futures.get(s)) scenarios.get(s).stats.merge(f.get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // (시드, 시나리오, 묶음) → 묶음 전용 시드. 이웃한 번호끼리 난수열이 겹치지 않도록 섞는다
+    private static long chunkSeed(long seed, int scenario, int chunk) {
+        long z = seed * 0x9E3779B97F4A7C15L + ((long) scenario << 32) + chunk;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // VsAI 한 묶음: 시작 탭(0초) 이후 분포에서 뽑은 간격으로 탭을 넣다가, AI 완주 시각이 지나면 종료
+    static ScenarioStats simulateVsAi(TapIntervalModel model, double aiTps, int runs, SplittableRandom random) {
+        ScenarioStats stats = new ScenarioStats();
+        VsAiEngine engine = new VsAiEngine(aiTps);
+        for (int i = 0; i < runs; i++) {
+            engine.start(0);
+            long deadline = engine.deadlineNs();
+            long t = 0;
+            while (!engine.isOver()) {
+                t += model.nextIntervalNs(random);
+                if (t >= deadline) engine.expire();
+                else engine.tap(t);
+            }
+            stats.record(engine.playerWon(), engine.playerFinished(), engine.getPlayerFinishTimeSec());
+        }
+        return stats;
+    }
+
+    // 몬스터 한 묶음: 모든 탭은 빈 Enter(유효 타격)로 가정
+    static ScenarioStats simulateMonster(TapIntervalModel model, int hp, int runs, SplittableRandom random) {
+        ScenarioStats stats = new ScenarioStats();
+        MonsterEngine.Battle battle = new MonsterEngine.Battle();
+        for (int i = 0; i < runs; i++) {
+            battle.start(hp, 0);
+            long deadline = battle.deadlineNs();
+            long t = 0;
+            while (!battle.isOver()) {
+                t += model.nextIntervalNs(random);
+                if (t >= deadline) battle.expire();
+                else battle.tap(t, true);
+            }
+            stats.record(battle.killed(), battle.killed(), battle.getTimeSec());
+        }
+        return stats;
+    }
+
+    private static void printReport(List<TapIntervalModel> models, List<Scenario> scenarios) {
+        for (TapIntervalModel model : models) {
+            System.out.println();
+            System.out.println("=== 플레이어: " + model + " ===");
+            // 한글 이름은 칸 폭이 달라 대상 이름을 맨 끝 열에 둔다
+            System.out.printf("%7s %7s  %-32s  %s%n", "승률", "완주율", "완주 시간 p10 / p50 / p90 / p99", "대상");
+            for (Scenario s : scenarios) {
+                if (s.model != model) continue;
+                ScenarioStats st = s.stats;
+                System.out.printf("%8.1f%% %8.1f%%  %-32s  %s%n",
+                        st.winRate() * 100, st.finishRate() * 100,
+                        st.finishRate() == 0 ? "-" : String.format("%5.2f / %5.2f / %5.2f / %5.2f초",
+                                st.percentile(0.10), st.percentile(0.50), st.percentile(0.90), st.percentile(0.99)),
+                        (s.monster ? "몬스터 " : "VsAI ") + s.target);
+            }
+        }
+    }
+
+    private static double[] parseList(String text) {
+        String[] parts = text.split(",");
+        double[] values = new double[parts.length];
+        for (int i = 0; i < parts.length; i++) values[i] = Double.parseDouble(parts[i].trim());
+        return values;
+    }
+}
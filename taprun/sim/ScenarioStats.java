@@ -0,0 +1,51 @@
+package taprun.sim;
+
+/*
+ * 시뮬레이션 한 시나리오(입력 분포 × 난이도/몬스터)의 누적 결과.
+ * - 승리(처치) 수, 완주 수, 완주(처치) 시간 히스토그램(10ms 구간, 최대 60초)
+ * - 정수 카운트만 더하므로 합치는 순서와 관계없이 결과가 같다(스레드 수가 달라도 재현 가능).
+ */
+public class ScenarioStats {
+
+    private static final double BUCKET_SEC = 0.01; // 히스토그램 구간 폭(초)
+    private static final int BUCKETS = 6000; // 0 ~ 60초(넘으면 마지막 구간)
+
+    private long runs;
+    private long wins; // VsAI: 플레이어 승리, 몬스터: 제한 시간 내 처치
+    private long finishes; // VsAI: 플레이어 완주(승패 무관), 몬스터: 처치(= wins)
+    private final long[] histogram = new long[BUCKETS]; // 완주(처치) 시간 분포
+
+    public void record(boolean won, boolean finished, double finishSec) {
+        runs++;
+        if (won) wins++;
+        if (finished) {
+            finishes++;
+            int bucket = (int) (finishSec / BUCKET_SEC);
+            histogram[Math.min(BUCKETS - 1, Math.max(0, bucket))]++;
+        }
+    }
+
+    public void merge(ScenarioStats other) {
+        runs += other.runs;
+        wins += other.wins;
+        finishes += other.finishes;
+        for (int i = 0; i < BUCKETS; i++) histogram[i] += other.histogram[i];
+    }
+
+    public long getRuns() { return runs; }
+    public double winRate() { return runs == 0 ? 0 : (double) wins / runs; }
+    public double finishRate() { return runs == 0 ? 0 : (double) finishes / runs; }
+
+    // 완주 시간의 q 분위수(0~1, 구간 중앙값). 완주가 없으면 NaN
+    public double percentile(double q) {
+        if (finishes == 0) return Double.NaN;
+        long rank = (long) Math.ceil(q * finishes);
+        if (rank < 1) rank = 1;
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += histogram[i];
+            if (seen >= rank) return (i + 0.5) * BUCKET_SEC;
+        }
+        return BUCKETS * BUCKET_SEC;
+    }
+}
@@ -0,0 +1,83 @@
+package taprun.sim;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/*
+ * 사람의 탭 간격(연속된 Enter 사이 시간) 분포.
+ * - 합성: 로그정규 분포. 평균 TPS(초당 탭 수)와 변동계수(CV = 표준편차/평균)로 정한다.
+ *   (사람의 연타 간격은 0 아래로 갈 수 없고 오른쪽 꼬리가 긴 분포라 로그정규로 근사)
+ * - 기록: 실제로 잰 간격(ms) 파일을 읽어 그 값들 중에서 무작위로 다시 뽑는다(부트스트랩).
+ *   파일 형식: 공백/줄바꿈으로 구분된 밀리초 값, '#' 뒤는 주석
+ * - 난수는 호출자가 넘기므로(스레드별 SplittableRandom) 모델 자체는 불변이고 여러 스레드가 공유해도 된다.
+ */
+public class TapIntervalModel {
+
+    private final String description;
+    private final double mu; // 로그정규: ln(간격 초)의 평균
+    private final double sigma; // 로그정규: ln(간격 초)의 표준편차
+    private final long[] recordedNs; // 기록 모드의 간격(나노초). 합성 모드면 null
+
+    private TapIntervalModel(String description, double mu, double sigma, long[] recordedNs) {
+        this.description = description;
+        this.mu = mu;
+        this.sigma = sigma;
+        this.recordedNs = recordedNs;
+    }
+
+    // 평균 meanTps회/초, 변동계수 cv인 로그정규 간격
+    public static TapIntervalModel synthetic(double meanTps, double cv) {
+        if (meanTps <= 0 || cv < 0) throw new IllegalArgumentException("TPS는 0보다 크고 CV는 0 이상이어야 합니다.");
+        double meanSec = 1.0 / meanTps;
+        double variance = Math.log(1 + cv * cv);
+        return new TapIntervalModel(
+                String.format("합성 %.1f TPS, CV %.2f", meanTps, cv),
+                Math.log(meanSec) - variance / 2, Math.sqrt(variance), null);
+    }
+
+    // 기록된 간격 파일(ms)을 읽는다
+    public static TapIntervalModel recorded(Path file) throws IOException {
+        long[] values = new long[256];
+        int n = 0;
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            int comment = line.indexOf('#');
+            if (comment >= 0) line = line.substring(0, comment);
+            for (String token : line.trim().split("\\s+")) {
+                if (token.isEmpty()) continue;
+                double ms = Double.parseDouble(token);
+                if (ms <= 0) continue; // 0 이하 간격은 기록 오류로 보고 건너뜀
+                if (n == values.length) values = Arrays.copyOf(values, n * 2);
+                values[n++] = (long) (ms * 1_000_000L);
+            }
+        }
+        if (n == 0) throw new IOException("탭 간격 기록이 비어 있습니다: " + file);
+        values = Arrays.copyOf(values, n);
+        double meanMs = Arrays.stream(values).average().orElse(0) / 1_000_000.0;
+        return new TapIntervalModel(
+                String.format("기록 %s (%d개, 평균 %.1f TPS)", file.getFileName(), n, 1000.0 / meanMs),
+                0, 0, values);
+    }
+
+    // 다음 탭까지의 간격(나노초)
+    public long nextIntervalNs(SplittableRandom random) {
+        if (recordedNs != null) return recordedNs[random.nextInt(recordedNs.length)];
+        double seconds = Math.exp(mu + sigma * gaussian(random));
+        return Math.max(1, (long) (seconds * 1_000_000_000L));
+    }
+
+    // 표준정규 난수(Box-Muller, 할당 없음)
+    private static double gaussian(SplittableRandom random) {
+        double u1 = 1.0 - random.nextDouble(); // (0, 1]
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+}
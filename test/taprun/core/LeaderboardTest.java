@@ -0,0 +1,94 @@
+package taprun.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+// 상주 랭킹 보드: 같은 이름의 기록 갱신 규칙, 순위, 난이도 파티션
+class LeaderboardTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2024, 12, 22, 14, 30, 52);
+
+    private static RankingManager.RankingEntry entry(String name, double time) {
+        return new RankingManager.RankingEntry(name, time, DATE);
+    }
+
+    private static RankingManager.RankingEntry entry(String name, double time, Difficulty difficulty) {
+        return new RankingManager.RankingEntry(name, time, difficulty, DATE);
+    }
+
+    private static Leaderboard board(RankingManager.RankingEntry... initial) {
+        return new Leaderboard("Ranking_RaceMode.txt", false, Arrays.asList(initial));
+    }
+
+    private static List<String> names(List<RankingManager.RankingEntry> entries) {
+        List<String> names = new ArrayList<>();
+        for (RankingManager.RankingEntry e : entries) names.add(e.getPlayerName() + "=" + e.getTime());
+        return names;
+    }
+
+    @Test
+    void improvingRecordReplacesAndMovesUp() {
+        Leaderboard board = board(entry("kim", 12), entry("lee", 10), entry("park", 11));
+        assertEquals(3, board.rankOf("kim", null));
+
+        assertTrue(board.upsert(entry("kim", 9)));
+        assertEquals(Arrays.asList("kim=9.0", "lee=10.0", "park=11.0"), names(board.top(10)));
+        assertEquals(1, board.rankOf("kim", null));
+        assertEquals(3, board.size());
+    }
+
+    @Test
+    void regressingRecordIsIgnored() {
+        Leaderboard board = board(entry("kim", 9), entry("lee", 10));
+
+        assertFalse(board.upsert(entry("kim", 15)));
+        assertEquals(Arrays.asList("kim=9.0", "lee=10.0"), names(board.top(10)));
+        assertEquals(1, board.rankOf("kim", null));
+        assertEquals(null, board.takeDirtySnapshot(), "변경이 없으면 저장할 것도 없다");
+    }
+
+    @Test
+    void equalTimesKeepArrivalOrder() {
+        Leaderboard board = board(entry("a", 10), entry("b", 10));
+        board.upsert(entry("c", 10));
+
+        assertEquals(Arrays.asList("a=10.0", "b=10.0", "c=10.0"), names(board.top(10)));
+        assertEquals(3, board.rankOf("c", null));
+        assertEquals(-1, board.rankOf("nobody", null));
+    }
+
+    @Test
+    void initialDuplicatesKeepTheBestRecord() {
+        Leaderboard board = board(entry("kim", 12), entry("kim", 9), entry("kim", 10));
+
+        assertEquals(Collections.singletonList("kim=9.0"), names(board.snapshot()));
+    }
+
+    @Test
+    void vsAiPartitionsAreIndependentAndListedInEnumOrder() {
+        Leaderboard board = new Leaderboard("Ranking_VsAiMode.txt", true, Arrays.asList(
+                entry("kim", 20, Difficulty.HARD), entry("kim", 10, Difficulty.EASY), entry("lee", 15, Difficulty.HARD)));
+
+        assertTrue(board.upsert(entry("lee", 8, Difficulty.NORMAL)));
+        assertFalse(board.upsert(entry("kim", 25, Difficulty.HARD)));
+        assertFalse(board.upsert(entry("nobody", 1, null)), "난이도 없는 기록은 VsAI 보드에 들어가지 않는다");
+
+        List<RankingManager.RankingEntry> top = board.top(10);
+        assertEquals(Arrays.asList("kim=10.0", "lee=8.0", "lee=15.0", "kim=20.0"), names(top));
+        assertEquals(Arrays.asList(Difficulty.EASY, Difficulty.NORMAL, Difficulty.HARD, Difficulty.HARD),
+                Arrays.asList(top.get(0).getDifficulty(), top.get(1).getDifficulty(),
+                        top.get(2).getDifficulty(), top.get(3).getDifficulty()));
+        assertEquals(2, board.rankOf("kim", Difficulty.HARD));
+        assertEquals(1, board.rankOf("kim", Difficulty.EASY));
+        assertEquals(-1, board.rankOf("kim", Difficulty.NORMAL));
+    }
+}
@@ -0,0 +1,92 @@
+package taprun.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+// 순위 인덱스: 삽입/삭제/값 변경을 섞은 뒤 rankOf/select/top을 정렬 리스트(오라클)와 비교
+class RankIndexTest {
+
+    private static final int ROWS = 500;
+
+    private final double[] values = new double[ROWS];
+    // 같은 값이면 행 번호로 동률을 끊는다(RowOrder 계약)
+    private final RankIndex.RowOrder order = (a, b) -> {
+        int c = Double.compare(values[a], values[b]);
+        return c != 0 ? c : Integer.compare(a, b);
+    };
+    private final Comparator<Integer> oracleOrder = (a, b) -> order.compare(a, b);
+
+    @Test
+    void matchesSortedListUnderRandomUpdates() {
+        SplittableRandom random = new SplittableRandom(7);
+        RankIndex index = new RankIndex(order);
+        List<Integer> oracle = new ArrayList<>();
+
+        for (int step = 0; step < 5_000; step++) {
+            int row = random.nextInt(ROWS);
+            if (!index.contains(row)) {
+                values[row] = random.nextInt(50); // 좁은 범위: 같은 값이 자주 나온다
+                index.insert(row);
+                oracle.add(row);
+            } else if (random.nextBoolean()) {
+                index.remove(row);
+                oracle.remove(Integer.valueOf(row));
+            } else {
+                index.remove(row); // 값이 바뀌기 전에 빼고 다시 넣는다(Leaderboard.upsert와 같은 순서)
+                values[row] = random.nextInt(50);
+                index.insert(row);
+            }
+            if (step % 250 == 0) assertMatches(index, oracle);
+        }
+        assertMatches(index, oracle);
+    }
+
+    @Test
+    void buildFromSortedMatchesInsertsAndStaysUpdatable() {
+        SplittableRandom random = new SplittableRandom(11);
+        List<Integer> oracle = new ArrayList<>();
+        for (int row = 0; row < ROWS; row++) {
+            values[row] = random.nextInt(100);
+            oracle.add(row);
+        }
+        oracle.sort(oracleOrder);
+        int[] sorted = new int[ROWS];
+        for (int i = 0; i < ROWS; i++) sorted[i] = oracle.get(i);
+
+        RankIndex index = new RankIndex(order);
+        index.buildFromSorted(sorted, ROWS);
+        assertMatches(index, oracle);
+
+        for (int row = 0; row < ROWS; row += 3) {
+            index.remove(row);
+            values[row] = -row; // 앞쪽으로 옮긴다
+            index.insert(row);
+        }
+        assertMatches(index, oracle);
+    }
+
+    private void assertMatches(RankIndex index, List<Integer> oracle) {
+        oracle.sort(oracleOrder);
+        assertEquals(oracle.size(), index.size());
+        for (int k = 0; k < oracle.size(); k++) {
+            int row = oracle.get(k);
+            assertEquals(k, index.rankOf(row), "rankOf " + row);
+            assertEquals(row, index.select(k), "select " + k);
+        }
+        for (int limit : new int[] {0, 1, 20, oracle.size(), oracle.size() + 5}) {
+            int[] out = new int[Math.max(limit, 1)];
+            int n = index.top(out, limit);
+            assertEquals(Math.min(limit, oracle.size()), n);
+            int[] expected = new int[n];
+            for (int i = 0; i < n; i++) expected[i] = oracle.get(i);
+            assertEquals(Arrays.toString(expected), Arrays.toString(Arrays.copyOf(out, n)), "top " + limit);
+        }
+    }
+}
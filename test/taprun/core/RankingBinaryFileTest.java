@@ -0,0 +1,98 @@
+package taprun.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// 바이너리 랭킹 스냅샷: 왕복, 잘리거나 손상된 파일은 IOException(호출자가 텍스트 파일로 대체할 수 있게)
+class RankingBinaryFileTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2024, 12, 22, 14, 30, 52);
+
+    @TempDir
+    Path dir;
+
+    private static List<RankingManager.RankingEntry> sample() {
+        return Arrays.asList(
+                new RankingManager.RankingEntry("kim - 1", 10.25, Difficulty.EASY, DATE),
+                new RankingManager.RankingEntry("lee", 11.5, Difficulty.HARD, DATE.plusSeconds(1)),
+                new RankingManager.RankingEntry("kim - 1", 12.0, Difficulty.HARD, DATE.plusSeconds(2)));
+    }
+
+    @Test
+    void roundTripsEntriesAndNamesWithSeparators() throws IOException {
+        Path path = dir.resolve("Ranking_VsAiMode.bin");
+        RankingBinaryFile.write(path, sample());
+
+        List<RankingManager.RankingEntry> read = RankingBinaryFile.read(path, true);
+        assertEquals(3, read.size());
+        for (int i = 0; i < read.size(); i++) {
+            assertEquals(sample().get(i).getPlayerName(), read.get(i).getPlayerName());
+            assertEquals(sample().get(i).getTime(), read.get(i).getTime());
+            assertEquals(sample().get(i).getDifficulty(), read.get(i).getDifficulty());
+            assertEquals(sample().get(i).getDateTime(), read.get(i).getDateTime());
+        }
+    }
+
+    @Test
+    void readsVersion1DifficultyCodes() throws IOException {
+        Path path = dir.resolve("Ranking_VsAiMode.bin");
+        RankingBinaryFile.write(path, sample());
+        ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.LITTLE_ENDIAN);
+        buf.putInt(4, 1); // VERSION 1: 난이도 코드 = ordinal + 1
+        for (int i = 0; i < 3; i++) buf.put(32 + i * 24 + 20, (byte) (buf.get(32 + i * 24 + 20) + 1));
+        Files.write(path, buf.array());
+
+        List<RankingManager.RankingEntry> read = RankingBinaryFile.read(path, true);
+        for (int i = 0; i < read.size(); i++) {
+            assertEquals(sample().get(i).getDifficulty(), read.get(i).getDifficulty());
+        }
+    }
+
+    @Test
+    void unknownDifficultyIsReportedAsIOException() throws IOException {
+        Path path = dir.resolve("Ranking_VsAiMode.bin");
+        RankingBinaryFile.write(path, sample());
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[32 + 20] = (byte) Difficulty.count();
+        Files.write(path, bytes);
+
+        assertThrows(IOException.class, () -> RankingBinaryFile.read(path, true));
+    }
+
+    @Test
+    void everyTruncationIsReportedAsIOException() throws IOException {
+        Path path = dir.resolve("Ranking_VsAiMode.bin");
+        RankingBinaryFile.write(path, sample());
+        byte[] full = Files.readAllBytes(path);
+
+        Path cut = dir.resolve("cut.bin");
+        for (int length = 0; length < full.length; length++) {
+            Files.write(cut, Arrays.copyOf(full, length));
+            assertThrows(IOException.class, () -> RankingBinaryFile.read(cut, true), "길이 " + length);
+        }
+    }
+
+    @Test
+    void hugeNameLengthIsReportedAsIOException() throws IOException {
+        Path path = dir.resolve("Ranking_VsAiMode.bin");
+        RankingBinaryFile.write(path, sample());
+        ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.LITTLE_ENDIAN);
+        int nameTable = (int) buf.getLong(16);
+        buf.putInt(nameTable, Integer.MAX_VALUE - 2); // pos + len이 int로 넘치는 길이
+        Files.write(path, buf.array());
+
+        assertThrows(IOException.class, () -> RankingBinaryFile.read(path, true));
+    }
+}
@@ -0,0 +1,87 @@
+package taprun.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+// group commit 스레드: 배치 반영 결과 전달, 인터럽트로 멈췄을 때 남은 요청 정리
+class RankingCommitterTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2024, 12, 22, 14, 30, 52);
+
+    private static RankingManager.RankingEntry entry(String name) {
+        return entry(name, 10);
+    }
+
+    private static RankingManager.RankingEntry entry(String name, double time) {
+        return new RankingManager.RankingEntry(name, time, DATE);
+    }
+
+    @Test
+    void completesEachRequestWithItsBatchResult() throws Exception {
+        RankingCommitter committer = new RankingCommitter((fileName, hasDifficulty, batch) -> {
+            boolean[] updated = new boolean[batch.size()];
+            for (int i = 0; i < updated.length; i++) updated[i] = batch.get(i).getPlayerName().startsWith("new");
+            return updated;
+        });
+        CompletableFuture<Boolean> a = committer.submit("Ranking_RaceMode.txt", false, entry("new-a"));
+        CompletableFuture<Boolean> b = committer.submit("Ranking_RaceMode.txt", false, entry("old-b"));
+
+        assertTrue(a.get(5, TimeUnit.SECONDS));
+        assertEquals(false, b.get(5, TimeUnit.SECONDS));
+        assertTrue(committer.awaitIdle(1000));
+    }
+
+    @Test
+    void sameNameImprovingAndRegressingInOneBatchFollowsUpsertOrder() throws Exception {
+        Leaderboard board = new Leaderboard("Ranking_RaceMode.txt", false, Collections.emptyList());
+        RankingCommitter committer = new RankingCommitter((fileName, hasDifficulty, batch) -> {
+            boolean[] updated = new boolean[batch.size()];
+            for (int i = 0; i < updated.length; i++) updated[i] = board.upsert(batch.get(i));
+            return updated;
+        });
+        // 한 창(window) 안에 몰린 요청: 배치로 묶여도 요청 순서대로 업서트된다
+        CompletableFuture<Boolean> first = committer.submit("Ranking_RaceMode.txt", false, entry("kim", 10));
+        CompletableFuture<Boolean> worse = committer.submit("Ranking_RaceMode.txt", false, entry("kim", 12));
+        CompletableFuture<Boolean> better = committer.submit("Ranking_RaceMode.txt", false, entry("kim", 9));
+        CompletableFuture<Boolean> other = committer.submit("Ranking_RaceMode.txt", false, entry("lee", 9.5));
+
+        assertEquals(Arrays.asList(true, false, true, true), Arrays.asList(first.get(5, TimeUnit.SECONDS),
+                worse.get(5, TimeUnit.SECONDS), better.get(5, TimeUnit.SECONDS), other.get(5, TimeUnit.SECONDS)));
+        assertEquals(2, board.size(), "이름당 기록은 하나");
+        assertEquals(9.0, board.top(1).get(0).getTime());
+        assertEquals(2, board.rankOf("lee", null));
+    }
+
+    @Test
+    void interruptFailsPendingRequestsInsteadOfHanging() throws Exception {
+        AtomicReference<Thread> worker = new AtomicReference<>();
+        RankingCommitter committer = new RankingCommitter((fileName, hasDifficulty, batch) -> {
+            worker.set(Thread.currentThread());
+            return new boolean[batch.size()];
+        });
+        committer.submit("Ranking_RaceMode.txt", false, entry("first")).get(5, TimeUnit.SECONDS);
+
+        // 다음 요청을 넣자마자 인터럽트: 모으는 중이든 큐에 남아 있든 예외로 끝나야 한다
+        CompletableFuture<Boolean> gathered = committer.submit("Ranking_RaceMode.txt", false, entry("second"));
+        worker.get().interrupt();
+        worker.get().join(5000);
+
+        ExecutionException failed = assertThrows(ExecutionException.class, () -> gathered.get(5, TimeUnit.SECONDS));
+        assertTrue(failed.getCause() instanceof IllegalStateException);
+        assertTrue(committer.awaitIdle(1000), "대기 수가 줄지 않아 awaitIdle이 시간 초과");
+
+        CompletableFuture<Boolean> late = committer.submit("Ranking_RaceMode.txt", false, entry("third"));
+        assertTrue(late.isCompletedExceptionally(), "멈춘 뒤의 요청은 바로 예외로 끝나야 한다");
+    }
+}
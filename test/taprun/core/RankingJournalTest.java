@@ -0,0 +1,132 @@
+package taprun.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/*
+ * 저널 컴팩션 도중 종료(crash) 복구.
+ * - 컴팩션 = rotate(저널 → .old) → 스냅샷 쓰기 → completeCompaction(.old 삭제)
+ * - 종료 뒤 새 프로세스는 (남아 있는 스냅샷) + .old + 저널을 재적용해 같은 보드를 복원해야 한다.
+ * 스냅샷 파일 대신 takeDirtySnapshot이 돌려준 목록을 다음 보드의 초기 목록으로 쓴다(디스크에 반영된 스냅샷 역할).
+ */
+class RankingJournalTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2024, 12, 22, 14, 30, 52);
+
+    @TempDir
+    Path dir;
+
+    private static RankingManager.RankingEntry entry(String name, double time) {
+        return new RankingManager.RankingEntry(name, time, DATE);
+    }
+
+    private Path journalPath() {
+        return dir.resolve("Ranking_RaceMode.journal");
+    }
+
+    private Path rotatedPath() {
+        return dir.resolve("Ranking_RaceMode.journal.old");
+    }
+
+    // 프로세스 시작: 스냅샷 목록 위에 .old + 저널을 재적용한 보드
+    private Leaderboard open(List<RankingManager.RankingEntry> snapshot) {
+        Leaderboard board = new Leaderboard("Ranking_RaceMode.txt", false, snapshot);
+        board.attachJournal(new RankingJournal(journalPath()));
+        return board;
+    }
+
+    // commitBatch와 같은 순서: 메모리 업서트 후 갱신분만 저널에 덧붙인다
+    private static void save(Leaderboard board, RankingManager.RankingEntry... entries) {
+        List<RankingManager.RankingEntry> changed = new ArrayList<>();
+        for (RankingManager.RankingEntry e : entries) {
+            if (board.upsert(e)) changed.add(e);
+        }
+        assertTrue(board.getJournal().appendAll(changed));
+    }
+
+    private static List<String> names(List<RankingManager.RankingEntry> entries) {
+        List<String> names = new ArrayList<>();
+        for (RankingManager.RankingEntry e : entries) names.add(e.getPlayerName() + "=" + e.getTime());
+        return names;
+    }
+
+    @Test
+    void crashBetweenRotateAndSnapshotReplaysOldAndNewJournal() {
+        Leaderboard board = open(Collections.emptyList());
+        save(board, entry("kim", 10), entry("lee", 11));
+        assertNotNull(board.takeDirtySnapshot()); // rotate: 저널 → .old
+        save(board, entry("park", 9), entry("kim", 8)); // 회전 뒤의 저장은 새 저널로
+        // 스냅샷을 쓰기 전에 종료: 디스크에는 (빈) 이전 스냅샷 + .old + 새 저널
+        assertTrue(Files.exists(rotatedPath()));
+        assertTrue(Files.exists(journalPath()));
+
+        Leaderboard restarted = open(Collections.emptyList());
+        assertEquals(Arrays.asList("kim=8.0", "park=9.0", "lee=11.0"), names(restarted.top(10)));
+    }
+
+    @Test
+    void crashAfterSnapshotBeforeCompletionReplaysHarmlessly() {
+        Leaderboard board = open(Collections.emptyList());
+        save(board, entry("kim", 10), entry("lee", 11));
+        List<RankingManager.RankingEntry> snapshot = board.takeDirtySnapshot(); // 이 목록이 디스크에 반영됨
+        save(board, entry("lee", 7));
+        // completeCompaction 전에 종료: .old의 기록은 이미 스냅샷에 있다
+
+        Leaderboard restarted = open(snapshot);
+        assertEquals(Arrays.asList("lee=7.0", "kim=10.0"), names(restarted.top(10)));
+        assertEquals(1, restarted.rankOf("lee", null));
+    }
+
+    @Test
+    void otherProcessCompactionIsReReadFromTheStart() {
+        // 같은 저널을 공유하는 두 프로세스(각자 RankingJournal 인스턴스와 읽은 위치를 가진다)
+        Leaderboard a = open(Collections.emptyList());
+        Leaderboard b = open(Collections.emptyList());
+        save(a, entry("kim", 10), entry("lee", 11));
+        b.merge(b.getJournal().readNew(false), true); // b는 a의 저널 끝까지 따라잡음
+
+        // a가 컴팩션을 끝내고, 새 저널에 b가 읽은 위치보다 길게 덧붙인다
+        List<RankingManager.RankingEntry> snapshot = a.takeDirtySnapshot();
+        a.snapshotPersisted();
+        save(a, entry("park-with-a-long-name-so-the-new-journal-outgrows-the-old-offset", 9),
+                entry("choi", 12), entry("jung", 13));
+
+        List<RankingManager.RankingEntry> tail = b.getJournal().readNew(false);
+        assertEquals(3, tail.size(), "새 저널은 옛 읽기 위치가 아니라 처음부터 읽어야 한다");
+        b.merge(tail, true);
+        assertEquals(names(a.top(10)), names(b.top(10)));
+        assertEquals(2, snapshot.size());
+    }
+
+    @Test
+    void nextCompactionFoldsTheUnfinishedOneAndCleansUp() {
+        Leaderboard board = open(Collections.emptyList());
+        save(board, entry("kim", 10));
+        board.takeDirtySnapshot();
+        save(board, entry("lee", 11));
+        // 종료 → 재시작 후 다음 컴팩션: 남은 .old와 새 저널을 .old 하나로 합쳐 회전
+        Leaderboard restarted = open(Collections.emptyList());
+        List<RankingManager.RankingEntry> snapshot = restarted.takeDirtySnapshot();
+        assertFalse(Files.exists(journalPath()));
+        assertTrue(Files.exists(rotatedPath()));
+        restarted.snapshotPersisted();
+        assertFalse(Files.exists(rotatedPath()));
+
+        assertEquals(Arrays.asList("kim=10.0", "lee=11.0"), names(snapshot));
+        assertEquals(0, new RankingJournal(journalPath()).readAll(false).size());
+        assertEquals(names(snapshot), names(open(snapshot).top(10)));
+    }
+}
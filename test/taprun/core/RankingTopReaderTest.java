@@ -0,0 +1,118 @@
+package taprun.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// 스트리밍 Top-K 리더: 정렬이 어긋난 섹션과 중복 이름이 있어도 전체 로드 후 정리한 결과와 같아야 한다
+class RankingTopReaderTest {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final LocalDateTime DATE = LocalDateTime.of(2024, 12, 22, 14, 30, 52);
+
+    @TempDir
+    Path dir;
+
+    private static String line(int rank, String name, double time) {
+        return String.format(Locale.ROOT, "[%d위] %s - %.2f초 (%s)", rank, name, time, DATE.format(DATE_FORMAT));
+    }
+
+    private static List<String> names(List<RankingManager.RankingEntry> entries) {
+        List<String> names = new ArrayList<>();
+        for (RankingManager.RankingEntry e : entries) {
+            names.add((e.getDifficulty() == null ? "" : e.getDifficulty() + ":") + e.getPlayerName() + "=" + e.getTime());
+        }
+        return names;
+    }
+
+    @Test
+    void unsortedSectionWithDuplicateNamesAfterTheSectionFills() throws IOException {
+        Path path = dir.resolve("Ranking_VsAiMode.txt");
+        Files.write(path, Arrays.asList(
+                "=== EASY 난이도 랭킹 ===",
+                line(1, "a", 10), line(2, "b", 11), line(3, "c", 12),
+                line(4, "a", 13), // 정렬된 중복(더 나쁜 기록)
+                line(5, "d", 9), // K개가 찬 뒤 순서가 어긋남 → 힙으로 전환
+                line(6, "b", 8), // 힙에서의 중복(더 좋은 기록)
+                line(7, "d", 9.5), // 힙에서의 중복(더 나쁜 기록)
+                "",
+                "=== HARD 난이도 랭킹 ===",
+                line(1, "x", 5), line(2, "x", 6), line(3, "y", 7), line(4, "z", 8)),
+                StandardCharsets.UTF_8);
+
+        List<RankingManager.RankingEntry> top = RankingTopReader.read(path, true, 3);
+        assertEquals(Arrays.asList("EASY:b=8.0", "EASY:d=9.0", "EASY:a=10.0", "HARD:x=5.0", "HARD:y=7.0", "HARD:z=8.0"),
+                names(top));
+    }
+
+    @Test
+    void matchesFullLoadOnRandomFiles() throws IOException {
+        SplittableRandom random = new SplittableRandom(3);
+        for (int round = 0; round < 200; round++) {
+            boolean hasDifficulty = random.nextBoolean();
+            int k = 1 + random.nextInt(6);
+            Path path = dir.resolve("Ranking_" + round + ".txt");
+            Files.write(path, randomFile(random, hasDifficulty), StandardCharsets.UTF_8);
+
+            assertEquals(names(oracle(RankingManager.loadRankings(path, hasDifficulty), k)),
+                    names(RankingTopReader.read(path, hasDifficulty, k)), "round " + round);
+        }
+    }
+
+    // 섹션마다 서로 다른 기록(동률 없음)에 적은 수의 이름을 돌려 써서 중복을 만든다.
+    // 대부분 정렬된 채로 두고, 일부 섹션은 몇 줄을 뒤섞는다
+    private static List<String> randomFile(SplittableRandom random, boolean hasDifficulty) {
+        List<String> lines = new ArrayList<>();
+        int sections = hasDifficulty ? Difficulty.count() : 1;
+        for (int s = 0; s < sections; s++) {
+            if (hasDifficulty) lines.add("=== " + Difficulty.ofOrdinal(s) + " 난이도 랭킹 ===");
+            int n = random.nextInt(15);
+            List<Integer> hundredths = new ArrayList<>();
+            for (int i = 0; i < n; i++) hundredths.add(1000 + i * 7 + random.nextInt(7));
+            int swaps = random.nextInt(3) == 0 ? random.nextInt(4) : 0;
+            for (int i = 0; i < swaps && n > 1; i++) Collections.swap(hundredths, random.nextInt(n), random.nextInt(n));
+            for (int i = 0; i < n; i++) {
+                lines.add(line(i + 1, "p" + random.nextInt(6), hundredths.get(i) / 100.0));
+            }
+            if (hasDifficulty) lines.add("");
+        }
+        return lines;
+    }
+
+    // 전체 로드 결과에서 (섹션, 이름)별 최고 기록만 남기고 섹션별 시간순 상위 k개
+    private static List<RankingManager.RankingEntry> oracle(List<RankingManager.RankingEntry> all, int k) {
+        Map<String, RankingManager.RankingEntry> best = new LinkedHashMap<>();
+        for (RankingManager.RankingEntry e : all) {
+            String key = e.getDifficulty() + "/" + e.getPlayerName();
+            RankingManager.RankingEntry prev = best.get(key);
+            if (prev == null || e.getTime() < prev.getTime()) best.put(key, e);
+        }
+        List<RankingManager.RankingEntry> sorted = new ArrayList<>(best.values());
+        sorted.sort(Comparator.comparing((RankingManager.RankingEntry e) ->
+                e.getDifficulty() == null ? -1 : e.getDifficulty().ordinal())
+                .thenComparingDouble(RankingManager.RankingEntry::getTime));
+        List<RankingManager.RankingEntry> top = new ArrayList<>();
+        Map<String, Integer> perSection = new LinkedHashMap<>();
+        for (RankingManager.RankingEntry e : sorted) {
+            if (perSection.merge(String.valueOf(e.getDifficulty()), 1, Integer::sum) <= k) top.add(e);
+        }
+        return top;
+    }
+}
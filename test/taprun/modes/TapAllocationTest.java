@@ -0,0 +1,177 @@
+package taprun.modes;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import taprun.core.ConsoleInput;
+import taprun.core.ConsoleRenderer;
+import taprun.core.Difficulty;
+
+/*
+ * 연타 루프 할당 예산 테스트(회귀 방지). 탭당 할당이 예산을 넘으면 실패한다.
+ * - 게임과 같은 경로로 탭을 흘린다: 입력 스레드 → 링 버퍼 → pollTap → 모드의 탭 처리 → 화면 출력
+ *   vsai / vsai.ansi: VsAiMode.onTap + drawAt(렌더 스레드가 그리는 프레임을 탭마다 같은 스레드에서), 전체 다시 그리기/ANSI 부분 갱신
+ *   monster: MonsterMode.Battle.onTap(판정 + 상태 줄 출력)
+ * - 줄 내용(빈 줄 여부)은 실제 입력에서 읽고, 탭 시각은 합성 간격(quiet gap 앞뒤가 섞임)으로 만들어 판정 결과가 고르게 섞이게 한다.
+ * - 예열 뒤 이 스레드의 할당 바이트(ThreadMXBean.getThreadAllocatedBytes)를 재서 탭당 예산과 비교한다.
+ *   입력 스레드의 할당은 포함되지 않는다. 화면 출력은 버리는 스트림으로 돌린다.
+ */
+class TapAllocationTest {
+
+    private static final int WARMUP_TAPS = 50_000;
+    private static final int TAPS = 200_000;
+    private static final double BUDGET_BYTES_PER_TAP = 1.0; // 측정 자체의 잡음만 허용
+
+    // 탭 간격(ns): quiet gap(60ms) 미만/이상이 섞인 연타(TapBenchmarks와 같은 모양)
+    private static final long[] GAPS_NS = {
+        40_000_000L, 90_000_000L, 55_000_000L, 120_000_000L, 61_000_000L, 30_000_000L, 75_000_000L, 100_000_000L
+    };
+
+    private static PrintStream console;
+    private static PrintStream discard;
+    private static EndlessTaps source;
+    private static ConsoleInput input;
+
+    // 탭 1회를 처리하는 경로. begin은 판이 끝날 때마다 다시 불린다
+    private interface TapPath {
+        void begin(long startNs);
+
+        // 탭 1회. 판이 끝났으면 true
+        boolean tap(long tapNs, boolean emptyLine);
+    }
+
+    @BeforeAll
+    static void setUp() {
+        console = System.out;
+        discard = new PrintStream(OutputStream.nullOutputStream(), false, StandardCharsets.UTF_8);
+        System.setOut(discard); // 모드가 만드는 화면/상태 줄 출력기가 버리는 스트림을 잡도록 먼저 바꾼다
+        source = new EndlessTaps();
+        input = new ConsoleInput(source);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        source.stop(input);
+        System.setOut(console);
+    }
+
+    @Test
+    void vsAiFullRedrawDoesNotAllocatePerTap() {
+        assertWithinBudget("vsai", vsAi(new ConsoleRenderer(discard, VsAiMode.FRAME_ROWS, false)));
+    }
+
+    @Test
+    void vsAiAnsiDoesNotAllocatePerTap() {
+        assertWithinBudget("vsai.ansi", vsAi(new ConsoleRenderer(discard, VsAiMode.FRAME_ROWS, true)));
+    }
+
+    @Test
+    void monsterDoesNotAllocatePerTap() {
+        MonsterMode.Battle battle = new MonsterMode.Battle(null, 1);
+        MonsterMode.Monster golem = MonsterMode.Monster.of(9); // HP가 가장 많은 몬스터(판 하나에 탭이 많음)
+        assertWithinBudget("monster", new TapPath() {
+            @Override
+            public void begin(long startNs) {
+                battle.begin(golem, startNs);
+            }
+
+            @Override
+            public boolean tap(long tapNs, boolean emptyLine) {
+                return battle.onTap(golem, tapNs, emptyLine);
+            }
+        });
+    }
+
+    private static TapPath vsAi(ConsoleRenderer screen) {
+        VsAiMode mode = new VsAiMode("Player", Difficulty.NORMAL, screen);
+        return new TapPath() {
+            @Override
+            public void begin(long startNs) {
+                mode.begin(startNs);
+            }
+
+            @Override
+            public boolean tap(long tapNs, boolean emptyLine) {
+                mode.onTap(tapNs);
+                mode.drawAt(tapNs);
+                return mode.isOver();
+            }
+        };
+    }
+
+    private static void assertWithinBudget(String name, TapPath path) {
+        com.sun.management.ThreadMXBean threads = threadBean();
+        assumeTrue(threads != null, "이 JVM은 스레드별 할당량 측정을 지원하지 않습니다.");
+        long thread = Thread.currentThread().getId();
+
+        run(path, WARMUP_TAPS);
+        long before = threads.getThreadAllocatedBytes(thread);
+        run(path, TAPS);
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+        double perTap = (double) allocated / TAPS;
+        assertTrue(perTap <= BUDGET_BYTES_PER_TAP, String.format(Locale.ROOT,
+                "%s: 탭 %d회에 %d B 할당(%.3f B/탭, 예산 %.3f B)", name, TAPS, allocated, perTap, BUDGET_BYTES_PER_TAP));
+    }
+
+    // 입력에서 탭을 count번 꺼내 path로 흘린다(시각은 합성 간격)
+    private static void run(TapPath path, int count) {
+        long now = System.nanoTime();
+        path.begin(now);
+        for (int i = 0; i < count; i++) {
+            if (!input.pollTap(1, TimeUnit.SECONDS)) throw new IllegalStateException("입력이 끊겼습니다.");
+            now += GAPS_NS[i & (GAPS_NS.length - 1)];
+            if (path.tap(now, input.lastLineEmpty())) {
+                now += GAPS_NS[0];
+                path.begin(now);
+            }
+        }
+    }
+
+    // 스레드별 할당 바이트를 잴 수 있으면 켜서 돌려준다(아니면 null)
+    private static com.sun.management.ThreadMXBean threadBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) return null;
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        if (!threads.isThreadAllocatedMemorySupported()) return null;
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return threads;
+    }
+
+    // 읽을 때마다 빈 줄("\n")로 버퍼를 채워 주는 입력(끝없는 연타). stop() 이후에는 끝(-1)
+    private static class EndlessTaps extends InputStream {
+        private volatile boolean stopped;
+
+        @Override
+        public int read() {
+            return stopped ? -1 : '\n';
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (stopped) return -1;
+            Arrays.fill(b, off, off + len, (byte) '\n');
+            return len;
+        }
+
+        // 입력을 끝내고, 가득 찬 링 버퍼에 막혀 있는 입력 스레드를 남은 줄을 비워 풀어 준다
+        void stop(ConsoleInput input) {
+            stopped = true;
+            while (!input.isClosed()) input.pollTap(100, TimeUnit.MILLISECONDS);
+        }
+    }
+}